@@ -0,0 +1,85 @@
+package com.zendoge.taskmanagement.security;
+
+import com.zendoge.taskmanagement.domain.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * One pass through {@link JwtAuthenticationFilter} with a chain that does nothing, for a request carrying
+ * claims ({@code principal=claims}), one whose user changed role since the token was issued and has to be
+ * loaded ({@code principal=loaded}; the stub {@link UserDetailsService} costs nothing, so this measures the
+ * filter, not a database) and one without a token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+	private static final FilterChain CHAIN = (request, response) -> {
+	};
+
+	@Param({ "false", "true" })
+	public boolean cache;
+
+	@Param({ "claims", "loaded" })
+	public String principal;
+
+	private JwtAuthenticationFilter filter;
+	private MockHttpServletRequest authenticated;
+	private MockHttpServletRequest anonymous;
+
+	@Setup
+	public void setUp() {
+		AuthenticatedUser user = new AuthenticatedUser(42L, "benchmark@example.com", UserRole.MEMBER, null);
+		JwtService jwtService = new JwtService(JwtServiceBenchmark.SECRET, 3_600_000, cache, 10_000);
+		UserDetailsService userDetailsService = username -> user;
+		RoleChangeRegistry roleChangeRegistry = new RoleChangeRegistry();
+		String token = jwtService.generateToken(user);
+		if ("loaded".equals(principal)) {
+			roleChangeRegistry.markChanged(user.id(), Instant.now());
+		}
+		filter = new JwtAuthenticationFilter(jwtService, userDetailsService, roleChangeRegistry, new SimpleMeterRegistry());
+		authenticated = new MockHttpServletRequest("GET", "/api/tasks");
+		authenticated.addHeader("Authorization", "Bearer " + token);
+		anonymous = new MockHttpServletRequest("GET", "/api/tasks");
+	}
+
+	@Benchmark
+	public Authentication bearerToken() throws Exception {
+		return filter(authenticated);
+	}
+
+	@Benchmark
+	public Authentication noToken() throws Exception {
+		return filter(anonymous);
+	}
+
+	private Authentication filter(MockHttpServletRequest request) throws Exception {
+		try {
+			filter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+			return SecurityContextHolder.getContext().getAuthentication();
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.zendoge.taskmanagement.security;
+
+import com.zendoge.taskmanagement.domain.UserRole;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Token issue and verification. With {@code cache=true} the verify path is a digest and a map lookup
+ * once the token has been seen, which is what a client repeating its token hits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+	static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+	@Param({ "false", "true" })
+	public boolean cache;
+
+	private JwtService jwtService;
+	private AuthenticatedUser user;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtService = new JwtService(SECRET, 3_600_000, cache, 10_000);
+		user = new AuthenticatedUser(42L, "benchmark@example.com", UserRole.MEMBER, null);
+		token = jwtService.generateToken(user);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtService.generateToken(user);
+	}
+
+	@Benchmark
+	public String extractUsername() {
+		return jwtService.extractUsername(token);
+	}
+
+	@Benchmark
+	public boolean isTokenValid() {
+		return jwtService.isTokenValid(token, user);
+	}
+}
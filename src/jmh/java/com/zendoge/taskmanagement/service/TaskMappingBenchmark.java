@@ -0,0 +1,102 @@
+package com.zendoge.taskmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.AuditDataFormat;
+import com.zendoge.taskmanagement.domain.Task;
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.AuditLogRow;
+import com.zendoge.taskmanagement.web.dto.AuditLogResponse;
+import com.zendoge.taskmanagement.web.dto.TaskResponse;
+import com.zendoge.taskmanagement.web.dto.UserResponse;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * The per-task work of a write outside the database: the audit snapshot and its JSON, as
+ * {@link AuditService} stores it, and the entity-to-response mappings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskMappingBenchmark {
+	private static final String DESCRIPTION = "Steps to reproduce, expected and actual behaviour, and notes. ".repeat(4);
+
+	// Configured like the application's mapper: Java time support, ISO dates.
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private Task task;
+	private User user;
+	private Map<String, Object> snapshot;
+	private AuditLogRow auditRow;
+
+	@Setup
+	public void setUp() throws JsonProcessingException {
+		user = new User();
+		user.setId(7L);
+		user.setEmail("benchmark@example.com");
+		user.setRole(UserRole.MEMBER);
+		user.setCreatedAt(Instant.now());
+
+		task = new Task();
+		task.setId(42L);
+		task.setTitle("Benchmark task");
+		task.setDescription(DESCRIPTION);
+		task.setStatus(TaskStatus.DOING);
+		task.setAssignee(user);
+		task.setCreatedBy(user);
+		task.setCreatedAt(Instant.now());
+		task.setUpdatedAt(Instant.now());
+		task.setVersion(3L);
+
+		snapshot = TaskService.snapshot(task);
+		String json = objectMapper.writeValueAsString(snapshot);
+		auditRow = new AuditLogRow(1L, 7L, "UPDATE", "TASK", 42L, AuditDataFormat.FULL, json, json, null, Instant.now());
+	}
+
+	@Benchmark
+	public Map<String, Object> snapshot() {
+		return TaskService.snapshot(task);
+	}
+
+	@Benchmark
+	public String snapshotJson() throws JsonProcessingException {
+		return objectMapper.writeValueAsString(TaskService.snapshot(task));
+	}
+
+	@Benchmark
+	public String serializeSnapshot() throws JsonProcessingException {
+		return objectMapper.writeValueAsString(snapshot);
+	}
+
+	@Benchmark
+	public TaskResponse taskResponse() {
+		return TaskService.toResponse(task);
+	}
+
+	@Benchmark
+	public UserResponse userResponse() {
+		return UserService.toResponse(user);
+	}
+
+	@Benchmark
+	public AuditLogResponse auditLogResponse() {
+		return auditRow.toResponse();
+	}
+}
@@ -0,0 +1,33 @@
+package com.zendoge.taskmanagement.config;
+
+import com.zendoge.taskmanagement.service.AuditPartitionManager;
+import java.time.Clock;
+import java.time.temporal.ChronoUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class AuditPartitionConfig {
+	/**
+	 * Created after the migrations, which create the partitioned table.
+	 */
+	@Bean
+	@DependsOnDatabaseInitialization
+	public AuditPartitionManager auditPartitionManager(
+		JdbcTemplate jdbcTemplate,
+		@Value("${audit.partitions.unit:MONTHS}") ChronoUnit unit,
+		@Value("${audit.partitions.premake:3}") int premake,
+		@Value("${audit.partitions.retain:12}") int retain,
+		@Value("${audit.partitions.expire-action:detach}") String expireAction
+	) {
+		boolean drop = switch (expireAction) {
+			case "drop" -> true;
+			case "detach" -> false;
+			default -> throw new IllegalArgumentException("Unknown audit.partitions.expire-action: " + expireAction);
+		};
+		return new AuditPartitionManager(jdbcTemplate, unit, premake, retain, drop, Clock.systemUTC());
+	}
+}
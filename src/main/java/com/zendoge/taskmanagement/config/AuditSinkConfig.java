@@ -0,0 +1,53 @@
+package com.zendoge.taskmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.repository.AuditLogRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.service.AuditSink;
+import com.zendoge.taskmanagement.service.BatchingAuditSink;
+import com.zendoge.taskmanagement.service.RepositoryAuditSink;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class AuditSinkConfig {
+	@Bean
+	public AuditSink auditSink(
+		@Value("${audit.mode:sync}") String mode,
+		@Value("${audit.queue-capacity:10000}") int queueCapacity,
+		@Value("${audit.batch-size:200}") int batchSize,
+		@Value("${audit.flush-interval:PT0.2S}") Duration flushInterval,
+		@Value("${audit.spill-file:audit-spill.ndjson}") Path spillFile,
+		AuditLogRepository auditLogRepository,
+		UserRepository userRepository,
+		JdbcTemplate jdbcTemplate,
+		ObjectMapper objectMapper,
+		Environment environment
+	) {
+		return switch (mode) {
+			case "sync" -> new RepositoryAuditSink(auditLogRepository, userRepository);
+			case "async", "async-spill" -> {
+				BatchingAuditSink sink = new BatchingAuditSink(
+					jdbcTemplate,
+					objectMapper,
+					queueCapacity,
+					batchSize,
+					flushInterval,
+					mode.equals("async-spill") ? spillFile : null,
+					Threading.VIRTUAL.isActive(environment)
+						? Thread.ofVirtual().name("audit-writer").factory()
+						: Thread.ofPlatform().name("audit-writer").daemon().factory()
+				);
+				sink.start();
+				yield sink;
+			}
+			default -> throw new IllegalArgumentException("Unknown audit.mode: " + mode);
+		};
+	}
+}
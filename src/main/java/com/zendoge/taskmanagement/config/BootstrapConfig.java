@@ -3,6 +3,12 @@ package com.zendoge.taskmanagement.config;
 import com.zendoge.taskmanagement.domain.User;
 import com.zendoge.taskmanagement.domain.UserRole;
 import com.zendoge.taskmanagement.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,30 +17,34 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class BootstrapConfig {
+	/**
+	 * Seeds one {@code <role>@task.local} user per role. Runs before the application reports ready, so
+	 * it costs one query once the users exist; passwords are only hashed for users that are missing.
+	 */
 	@Bean
 	@Profile("!test")
 	public ApplicationRunner bootstrapUsers(UserRepository userRepository, PasswordEncoder passwordEncoder) {
 		return args -> {
-			ensureUser(userRepository, passwordEncoder, "admin@task.local", UserRole.ADMIN);
-			ensureUser(userRepository, passwordEncoder, "manager@task.local", UserRole.MANAGER);
-			ensureUser(userRepository, passwordEncoder, "member@task.local", UserRole.MEMBER);
-			ensureUser(userRepository, passwordEncoder, "viewer@task.local", UserRole.VIEWER);
+			List<String> emails = Arrays.stream(UserRole.values())
+				.map(role -> role.name().toLowerCase(Locale.ROOT) + "@task.local")
+				.toList();
+			Set<String> existing = userRepository.findByEmailIn(emails).stream()
+				.map(User::getEmail)
+				.collect(Collectors.toSet());
+			List<User> missing = new ArrayList<>();
+			for (UserRole role : UserRole.values()) {
+				String email = emails.get(role.ordinal());
+				if (!existing.contains(email)) {
+					User user = new User();
+					user.setEmail(email);
+					user.setPasswordHash(passwordEncoder.encode("password123"));
+					user.setRole(role);
+					missing.add(user);
+				}
+			}
+			if (!missing.isEmpty()) {
+				userRepository.saveAll(missing);
+			}
 		};
 	}
-
-	private void ensureUser(
-		UserRepository userRepository,
-		PasswordEncoder passwordEncoder,
-		String email,
-		UserRole role
-	) {
-		if (userRepository.findByEmail(email).isPresent()) {
-			return;
-		}
-		User user = new User();
-		user.setEmail(email);
-		user.setPasswordHash(passwordEncoder.encode("password123"));
-		user.setRole(role);
-		userRepository.save(user);
-	}
 }
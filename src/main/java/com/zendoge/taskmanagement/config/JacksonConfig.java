@@ -0,0 +1,19 @@
+package com.zendoge.taskmanagement.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+	/**
+	 * Response records carry a {@code @JsonFilter} for sparse fieldsets; serialize every property unless a
+	 * request supplies its own filter.
+	 */
+	@Bean
+	public Jackson2ObjectMapperBuilderCustomizer defaultFieldFilter() {
+		return builder -> builder.filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+	}
+}
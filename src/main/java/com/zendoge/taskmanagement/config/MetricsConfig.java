@@ -0,0 +1,64 @@
+package com.zendoge.taskmanagement.config;
+
+import com.zendoge.taskmanagement.security.JwtService;
+import com.zendoge.taskmanagement.service.AuditService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the counters the audit sink and the token cache already keep, so they are scraped with the
+ * rest instead of only being readable through the admin stats endpoints. Read at scrape time.
+ */
+@Configuration
+public class MetricsConfig {
+	@Bean
+	public MeterBinder auditSinkMetrics(AuditService auditService) {
+		return registry -> {
+			Gauge.builder("audit.sink.queue.depth", auditService, service -> service.sinkStats().queueDepth())
+				.description("Entries waiting for the audit writer")
+				.register(registry);
+			FunctionCounter.builder("audit.sink.written", auditService, service -> service.sinkStats().written())
+				.description("Audit entries inserted")
+				.register(registry);
+			FunctionCounter.builder("audit.sink.dropped", auditService, service -> service.sinkStats().dropped())
+				.description("Audit entries lost because the queue was full")
+				.register(registry);
+			FunctionCounter.builder("audit.sink.spilled", auditService, service -> service.sinkStats().spilled())
+				.description("Audit entries written to the spill file")
+				.register(registry);
+			FunctionCounter.builder("audit.sink.failed.batches", auditService, service -> service.sinkStats().failedBatches())
+				.description("Batch inserts the database rejected")
+				.register(registry);
+			TimeGauge.builder("audit.sink.flush.last", auditService, TimeUnit.MILLISECONDS,
+					service -> service.sinkStats().lastFlushMillis())
+				.description("Duration of the latest batch insert")
+				.register(registry);
+			TimeGauge.builder("audit.sink.flush.max", auditService, TimeUnit.MILLISECONDS,
+					service -> service.sinkStats().maxFlushMillis())
+				.description("Longest batch insert since startup")
+				.register(registry);
+		};
+	}
+
+	@Bean
+	public MeterBinder tokenCacheMetrics(JwtService jwtService) {
+		return registry -> {
+			FunctionCounter.builder("auth.token.cache", jwtService, service -> service.cacheStats().hits())
+				.description("Token verifications by cache result")
+				.tag("result", "hit")
+				.register(registry);
+			FunctionCounter.builder("auth.token.cache", jwtService, service -> service.cacheStats().misses())
+				.description("Token verifications by cache result")
+				.tag("result", "miss")
+				.register(registry);
+			Gauge.builder("auth.token.cache.size", jwtService, service -> service.cacheStats().size())
+				.description("Verified tokens held in the cache")
+				.register(registry);
+		};
+	}
+}
@@ -0,0 +1,31 @@
+package com.zendoge.taskmanagement.config;
+
+import com.zendoge.taskmanagement.service.PostgresTaskChangeBridge;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+public class StartupConfig {
+	/**
+	 * With {@code spring.main.lazy-initialization=true} (the {@code fast-startup} profile) beans are
+	 * created on first use. Beans that work in the background have no first use to wait for: scheduled
+	 * jobs would never be registered and the {@code LISTEN} bridge would never connect. Keep them eager.
+	 */
+	@Bean
+	public static LazyInitializationExcludeFilter eagerBackgroundBeans() {
+		return (beanName, beanDefinition, beanType) -> beanType != null
+			&& (PostgresTaskChangeBridge.class.isAssignableFrom(beanType) || hasScheduledMethods(beanType));
+	}
+
+	private static boolean hasScheduledMethods(Class<?> beanType) {
+		return !MethodIntrospector.selectMethods(
+			beanType,
+			(MethodIntrospector.MetadataLookup<Scheduled>) method ->
+				AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)
+		).isEmpty();
+	}
+}
@@ -0,0 +1,48 @@
+package com.zendoge.taskmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.service.PostgresTaskChangeBridge;
+import com.zendoge.taskmanagement.service.TaskChangeFeed;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class TaskChangeFeedConfig {
+	@Bean
+	public TaskChangeFeed taskChangeFeed(
+		ObjectMapper objectMapper,
+		@Value("${task.stream.dispatch-threads:4}") int dispatchThreads,
+		@Value("${task.stream.buffer-size:256}") int bufferSize,
+		@Value("${task.stream.timeout:PT30M}") Duration timeout,
+		@Value("${task.stream.write-timeout:PT10S}") Duration writeTimeout,
+		@Value("${task.stream.bulk-threshold:100}") int bulkThreshold,
+		Environment environment
+	) {
+		// A virtual thread per drain: a subscriber stuck in a socket write no longer occupies a pool thread.
+		ExecutorService dispatcher = Threading.VIRTUAL.isActive(environment)
+			? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-feed-", 1).factory())
+			: Executors.newFixedThreadPool(dispatchThreads, Thread.ofPlatform().name("task-feed-", 1).daemon().factory());
+		return new TaskChangeFeed(objectMapper, dispatcher, bufferSize, timeout, writeTimeout, bulkThreshold);
+	}
+
+	@Bean
+	public PostgresTaskChangeBridge taskChangeBridge(
+		DataSource dataSource,
+		JdbcTemplate jdbcTemplate,
+		TaskRepository taskRepository,
+		TaskChangeFeed taskChangeFeed,
+		ObjectMapper objectMapper,
+		@Value("${task.stream.notify-channel:task_changes}") String channel
+	) {
+		return new PostgresTaskChangeBridge(dataSource, jdbcTemplate, taskRepository, taskChangeFeed, objectMapper, channel);
+	}
+}
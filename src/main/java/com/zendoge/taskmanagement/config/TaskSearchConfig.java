@@ -0,0 +1,30 @@
+package com.zendoge.taskmanagement.config;
+
+import com.zendoge.taskmanagement.service.InMemoryTaskSearchEngine;
+import com.zendoge.taskmanagement.service.PostgresTaskSearchEngine;
+import com.zendoge.taskmanagement.service.TaskSearchEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class TaskSearchConfig {
+	/**
+	 * Created after JPA, and so after the migrations: the in-memory engine reads {@code tasks} on startup.
+	 */
+	@Bean
+	@DependsOn("entityManagerFactory")
+	public TaskSearchEngine taskSearchEngine(JdbcTemplate jdbcTemplate, @Value("${task.search.engine:auto}") String engine) {
+		boolean postgres = switch (engine) {
+			case "auto" -> "PostgreSQL".equals(jdbcTemplate.execute(
+				(ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+			case "postgres" -> true;
+			case "memory" -> false;
+			default -> throw new IllegalArgumentException("Unknown task.search.engine: " + engine);
+		};
+		return postgres ? new PostgresTaskSearchEngine(jdbcTemplate) : new InMemoryTaskSearchEngine(jdbcTemplate);
+	}
+}
@@ -0,0 +1,32 @@
+package com.zendoge.taskmanagement.config;
+
+import com.zendoge.taskmanagement.web.ConcurrencyLimitFilter;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Active with {@code spring.threads.virtual.enabled=true}, which moves Tomcat, scheduling, the audit
+ * writer and the task feed onto virtual threads.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+	@Bean
+	public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+		@Value("${api.concurrency.max-requests:100}") int maxRequests,
+		@Value("${api.concurrency.acquire-timeout:PT1S}") Duration acquireTimeout
+	) {
+		FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+			new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxRequests, acquireTimeout));
+		registration.addUrlPatterns("/api/*");
+		// Ahead of security, so rejected requests do not even verify their token.
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+		return registration;
+	}
+}
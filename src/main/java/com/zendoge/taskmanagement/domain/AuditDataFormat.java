@@ -0,0 +1,15 @@
+package com.zendoge.taskmanagement.domain;
+
+/**
+ * How an audit entry's {@code oldData}/{@code newData} are stored. Entries written before the
+ * column existed have no format and are full snapshots.
+ */
+public enum AuditDataFormat {
+	/** Both payloads hold every field of the entity. */
+	FULL,
+	/**
+	 * {@code oldData} holds the previous values of the fields this change touched; {@code newData}
+	 * holds every field that differs from the full entry at {@code snapshotAt}.
+	 */
+	DELTA
+}
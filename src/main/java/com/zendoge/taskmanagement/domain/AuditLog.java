@@ -2,13 +2,17 @@ package com.zendoge.taskmanagement.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.Instant;
 import lombok.Getter;
@@ -16,13 +20,24 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(
+	name = "audit_logs",
+	indexes = {
+		@Index(name = "idx_audit_logs_entity_timestamp", columnList = "entity, entity_id, timestamp, id"),
+		@Index(name = "idx_audit_logs_user_timestamp", columnList = "user_id, timestamp, id"),
+		@Index(name = "idx_audit_logs_timestamp", columnList = "timestamp, id")
+	}
+)
 @Getter
 @Setter
 @NoArgsConstructor
 public class AuditLog {
+	public static final String SEQUENCE = "audit_logs_seq";
+	public static final int ID_ALLOCATION_SIZE = 50;
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_logs_id")
+	@SequenceGenerator(name = "audit_logs_id", sequenceName = SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
 	private Long id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -44,6 +59,14 @@ public class AuditLog {
 	@Column(name = "new_data", columnDefinition = "text")
 	private String newData;
 
+	@Enumerated(EnumType.STRING)
+	@Column(name = "data_format", length = 10)
+	private AuditDataFormat format;
+
+	/** For delta entries, the timestamp of the same entity's full entry the delta is relative to. */
+	@Column(name = "snapshot_at")
+	private Instant snapshotAt;
+
 	@Column(nullable = false)
 	private Instant timestamp;
 
@@ -0,0 +1,77 @@
+package com.zendoge.taskmanagement.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One refresh token of a login. Only the SHA-256 of the token is stored. Every refresh marks the
+ * presented token used and issues a successor in the same {@code family}. A used token that comes back
+ * means it was copied, and the whole family is revoked.
+ */
+@Entity
+@Table(
+	name = "refresh_tokens",
+	indexes = {
+		@Index(name = "idx_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+		@Index(name = "idx_refresh_tokens_family", columnList = "family"),
+		@Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
+		@Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+	}
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class RefreshToken {
+	public static final String SEQUENCE = "refresh_tokens_seq";
+	public static final int ID_ALLOCATION_SIZE = 50;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_id")
+	@SequenceGenerator(name = "refresh_tokens_id", sequenceName = SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
+	private Long id;
+
+	@Column(name = "token_hash", nullable = false, length = 64)
+	private String tokenHash;
+
+	/** Shared by a token and all of its successors, so that reuse revokes the whole chain. */
+	@Column(nullable = false, length = 36)
+	private String family;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "user_id", nullable = false)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	private User user;
+
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
+
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+
+	/** Set when the token is exchanged for a successor; a token is accepted only while this is null. */
+	@Column(name = "used_at")
+	private Instant usedAt;
+
+	@PrePersist
+	void onCreate() {
+		if (createdAt == null) {
+			createdAt = Instant.now();
+		}
+	}
+}
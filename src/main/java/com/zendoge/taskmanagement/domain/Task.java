@@ -1,5 +1,6 @@
 package com.zendoge.taskmanagement.domain;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -8,23 +9,54 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.Instant;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
+/**
+ * Task list filters compare the leading columns of an index for equality and page through the rest,
+ * so each index ends in the sort key and {@code id}. Each single filter column has an index per sort
+ * key; combinations read through one of them in order and check the other filters row by row.
+ */
 @Entity
-@Table(name = "tasks")
+@Table(
+	name = "tasks",
+	indexes = {
+		@Index(name = "idx_tasks_created_at", columnList = "created_at, id"),
+		@Index(name = "idx_tasks_updated_at", columnList = "updated_at, id"),
+		@Index(name = "idx_tasks_assignee_created_at", columnList = "assignee_id, created_at, id"),
+		@Index(name = "idx_tasks_assignee_updated_at", columnList = "assignee_id, updated_at, id"),
+		@Index(name = "idx_tasks_status_created_at", columnList = "status, created_at, id"),
+		@Index(name = "idx_tasks_status_updated_at", columnList = "status, updated_at, id"),
+		@Index(name = "idx_tasks_status_assignee_created_at", columnList = "status, assignee_id, created_at, id"),
+		@Index(name = "idx_tasks_created_by_created_at", columnList = "created_by, created_at, id"),
+		@Index(name = "idx_tasks_created_by_updated_at", columnList = "created_by, updated_at, id")
+	}
+)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 public class Task {
+	public static final String CACHE_REGION = "tasks";
+	public static final String SEQUENCE = "tasks_seq";
+	public static final int ID_ALLOCATION_SIZE = 50;
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id")
+	@SequenceGenerator(name = "tasks_id", sequenceName = SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
 	private Long id;
 
 	@Column(nullable = false, length = 200)
@@ -48,6 +80,21 @@ public class Task {
 	@Column(name = "created_at", nullable = false)
 	private Instant createdAt;
 
+	/**
+	 * Set whenever the row is written; {@code GET /api/tasks/changes} reads tasks in
+	 * {@code (updatedAt, id)} order. Existing rows got the time of the V1.1 upgrade.
+	 */
+	@UpdateTimestamp
+	@Column(name = "updated_at", nullable = false)
+	private Instant updatedAt;
+
+	/**
+	 * Incremented on every update; stale writes fail at flush. Exposed to clients as the task's ETag.
+	 */
+	@Version
+	@Column(nullable = false)
+	private Long version;
+
 	@PrePersist
 	void onCreate() {
 		if (createdAt == null) {
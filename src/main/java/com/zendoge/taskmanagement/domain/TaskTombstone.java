@@ -0,0 +1,70 @@
+package com.zendoge.taskmanagement.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Records that a task left a view, so that {@code GET /api/tasks/changes} can report removals of rows
+ * that no longer exist or are no longer visible. Ids are plain columns rather than foreign keys: the
+ * task is gone and the user may be deleted later. Kept for {@code task.changes.tombstone-retention}.
+ */
+@Entity
+@Table(
+	name = "task_tombstones",
+	indexes = {
+		@Index(name = "idx_task_tombstones_removed_at", columnList = "removed_at"),
+		@Index(name = "idx_task_tombstones_assignee_removed_at", columnList = "assignee_id, removed_at")
+	}
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskTombstone {
+	public static final String SEQUENCE = "task_tombstones_seq";
+	public static final int ID_ALLOCATION_SIZE = 50;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_tombstones_id")
+	@SequenceGenerator(name = "task_tombstones_id", sequenceName = SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
+	private Long id;
+
+	@Column(name = "task_id", nullable = false)
+	private Long taskId;
+
+	/** The member who lost the task: its assignee when deleted, its previous assignee when reassigned. */
+	@Column(name = "assignee_id")
+	private Long assigneeId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private TaskTombstoneReason reason;
+
+	@Column(name = "removed_at", nullable = false)
+	private Instant removedAt;
+
+	public TaskTombstone(Long taskId, Long assigneeId, TaskTombstoneReason reason) {
+		this.taskId = taskId;
+		this.assigneeId = assigneeId;
+		this.reason = reason;
+	}
+
+	@PrePersist
+	void onCreate() {
+		if (removedAt == null) {
+			removedAt = Instant.now();
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package com.zendoge.taskmanagement.domain;
+
+/**
+ * Why a task left someone's view; see {@link TaskTombstone}.
+ */
+public enum TaskTombstoneReason {
+	/** The task was deleted; it is gone for everyone. */
+	DELETED,
+	/** The task was reassigned; it is gone only for the member it was assigned to before. */
+	UNASSIGNED
+}
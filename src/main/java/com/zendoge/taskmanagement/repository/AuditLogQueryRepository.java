@@ -0,0 +1,19 @@
+package com.zendoge.taskmanagement.repository;
+
+import com.zendoge.taskmanagement.web.dto.AuditLogFilter;
+import java.time.Instant;
+import java.util.List;
+
+public interface AuditLogQueryRepository {
+	/**
+	 * Returns up to {@code limit} entries matching {@code filter}, newest first, strictly after the
+	 * keyset position {@code (beforeTimestamp, beforeId)} when one is given.
+	 */
+	List<AuditLogRow> findPage(
+		AuditLogFilter filter,
+		Instant beforeTimestamp,
+		Long beforeId,
+		boolean withPayload,
+		int limit
+	);
+}
@@ -0,0 +1,77 @@
+package com.zendoge.taskmanagement.repository;
+
+import com.zendoge.taskmanagement.web.dto.AuditLogFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Builds the query from the criteria actually supplied instead of {@code (:p is null or ...)} guards,
+ * so every combination keeps plain predicates the planner can match to the composite indexes and to
+ * the {@code timestamp} partition bounds.
+ */
+class AuditLogQueryRepositoryImpl implements AuditLogQueryRepository {
+	private final EntityManager entityManager;
+
+	AuditLogQueryRepositoryImpl(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<AuditLogRow> findPage(
+		AuditLogFilter filter,
+		Instant beforeTimestamp,
+		Long beforeId,
+		boolean withPayload,
+		int limit
+	) {
+		List<String> predicates = new ArrayList<>();
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("withPayload", withPayload);
+		if (filter.entity() != null) {
+			predicates.add("a.entity = :entity");
+			parameters.put("entity", filter.entity());
+		}
+		if (filter.entityId() != null) {
+			predicates.add("a.entityId = :entityId");
+			parameters.put("entityId", filter.entityId());
+		}
+		if (filter.action() != null) {
+			predicates.add("a.action = :action");
+			parameters.put("action", filter.action());
+		}
+		if (filter.userId() != null) {
+			predicates.add("a.user.id = :userId");
+			parameters.put("userId", filter.userId());
+		}
+		if (filter.from() != null) {
+			predicates.add("a.timestamp >= :from");
+			parameters.put("from", filter.from());
+		}
+		if (filter.to() != null) {
+			predicates.add("a.timestamp < :to");
+			parameters.put("to", filter.to());
+		}
+		if (beforeTimestamp != null) {
+			predicates.add("(a.timestamp < :beforeTimestamp or (a.timestamp = :beforeTimestamp and a.id < :beforeId))");
+			parameters.put("beforeTimestamp", beforeTimestamp);
+			parameters.put("beforeId", beforeId);
+		}
+
+		StringBuilder jpql = new StringBuilder(AuditLogRepository.ROW_PROJECTION);
+		if (!predicates.isEmpty()) {
+			jpql.append("where ").append(String.join(" and ", predicates)).append('\n');
+		}
+		jpql.append("order by a.timestamp desc, a.id desc");
+
+		TypedQuery<AuditLogRow> query = entityManager.createQuery(jpql.toString(), AuditLogRow.class);
+		parameters.forEach(query::setParameter);
+		return query.setMaxResults(limit).getResultList();
+	}
+}
@@ -1,9 +1,53 @@
 package com.zendoge.taskmanagement.repository;
 
 import com.zendoge.taskmanagement.domain.AuditLog;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogQueryRepository {
+	String ROW_PROJECTION = """
+		select new com.zendoge.taskmanagement.repository.AuditLogRow(
+			a.id,
+			a.user.id,
+			a.action,
+			a.entity,
+			a.entityId,
+			a.format,
+			case when :withPayload = true then a.oldData else null end,
+			case when :withPayload = true then a.newData else null end,
+			a.snapshotAt,
+			a.timestamp
+		)
+		from AuditLog a
+		""";
 
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 	List<AuditLog> findByUserId(Long userId);
+
+	@Query(ROW_PROJECTION + "order by a.id")
+	List<AuditLogRow> findAllRows(@Param("withPayload") boolean withPayload);
+
+	@Query(ROW_PROJECTION + "where a.user.id = :userId order by a.id")
+	List<AuditLogRow> findRowsByUserId(
+		@Param("userId") Long userId,
+		@Param("withPayload") boolean withPayload
+	);
+
+	/**
+	 * Full entries of {@code entity} written at any of {@code timestamps}: the snapshots delta entries
+	 * refer to. Each timestamp is a point lookup on the (timestamp, id) index, in its own partition.
+	 */
+	@Query("""
+		select new com.zendoge.taskmanagement.repository.AuditLogRow(
+			a.id, a.user.id, a.action, a.entity, a.entityId, a.format, a.oldData, a.newData, a.snapshotAt, a.timestamp
+		)
+		from AuditLog a
+		where a.timestamp in :timestamps
+			and a.entity = :entity
+			and (a.format is null or a.format <> com.zendoge.taskmanagement.domain.AuditDataFormat.DELTA)
+		""")
+	List<AuditLogRow> findSnapshots(@Param("entity") String entity, @Param("timestamps") Collection<Instant> timestamps);
 }
@@ -0,0 +1,41 @@
+package com.zendoge.taskmanagement.repository;
+
+import com.zendoge.taskmanagement.domain.AuditDataFormat;
+import com.zendoge.taskmanagement.web.dto.AuditLogResponse;
+import java.time.Instant;
+
+/**
+ * An audit entry as stored, including its payload format. Delta entries are turned into full
+ * responses by {@link com.zendoge.taskmanagement.service.AuditHistoryRehydrator}.
+ */
+public record AuditLogRow(
+	Long id,
+	Long userId,
+	String action,
+	String entity,
+	Long entityId,
+	AuditDataFormat format,
+	String oldData,
+	String newData,
+	Instant snapshotAt,
+	Instant timestamp
+) {
+	public boolean isDelta() {
+		return format == AuditDataFormat.DELTA;
+	}
+
+	public AuditLogResponse toResponse() {
+		return toResponse(oldData, newData);
+	}
+
+	public AuditLogResponse toResponse(String oldView, String newView) {
+		return new AuditLogResponse(id, userId, action, entity, entityId, oldView, newView, timestamp, false);
+	}
+
+	/**
+	 * The stored payloads, flagged as not the complete views; for delta entries that cannot be rehydrated.
+	 */
+	public AuditLogResponse toPartialResponse() {
+		return new AuditLogResponse(id, userId, action, entity, entityId, oldData, newData, timestamp, true);
+	}
+}
@@ -0,0 +1,28 @@
+package com.zendoge.taskmanagement.repository;
+
+import com.zendoge.taskmanagement.domain.RefreshToken;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+	Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+	/**
+	 * Claims the token for one rotation. Returns 0 when a concurrent refresh got there first.
+	 */
+	@Modifying
+	@Query("update RefreshToken t set t.usedAt = :now where t.id = :id and t.usedAt is null")
+	int markUsed(@Param("id") Long id, @Param("now") Instant now);
+
+	@Modifying
+	@Query("delete from RefreshToken t where t.family = :family")
+	int deleteByFamily(@Param("family") String family);
+
+	@Modifying
+	@Query("delete from RefreshToken t where t.expiresAt < :cutoff")
+	int deleteExpiredBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,9 @@
+package com.zendoge.taskmanagement.repository;
+
+import java.time.Instant;
+
+public interface RoleChangeRow {
+	Long getId();
+
+	Instant getRoleChangedAt();
+}
@@ -0,0 +1,11 @@
+package com.zendoge.taskmanagement.repository;
+
+import com.zendoge.taskmanagement.domain.TaskStatus;
+
+public interface TaskCountRow {
+	Long getAssigneeId();
+
+	TaskStatus getStatus();
+
+	long getTotal();
+}
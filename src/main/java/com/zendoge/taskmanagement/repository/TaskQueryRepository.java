@@ -0,0 +1,29 @@
+package com.zendoge.taskmanagement.repository;
+
+import com.zendoge.taskmanagement.web.dto.TaskFilter;
+import com.zendoge.taskmanagement.web.dto.TaskResponse;
+import com.zendoge.taskmanagement.web.dto.TaskSort;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TaskQueryRepository {
+	/**
+	 * Returns up to {@code limit} tasks matching {@code filter} in {@code sort} order, strictly after the
+	 * keyset position {@code (afterKey, afterId)} when one is given. A {@code null} limit returns all.
+	 */
+	List<TaskResponse> findMatching(
+		TaskFilter filter,
+		TaskSort sort,
+		Instant afterKey,
+		Long afterId,
+		boolean withDescription,
+		Integer limit
+	);
+
+	/**
+	 * Every task matching {@code filter} in {@code sort} order, read through a forward-only cursor.
+	 * Close the stream.
+	 */
+	Stream<TaskResponse> streamMatching(TaskFilter filter, TaskSort sort, boolean withDescription);
+}
@@ -0,0 +1,105 @@
+package com.zendoge.taskmanagement.repository;
+
+import com.zendoge.taskmanagement.web.dto.TaskFilter;
+import com.zendoge.taskmanagement.web.dto.TaskResponse;
+import com.zendoge.taskmanagement.web.dto.TaskSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Builds the query from the criteria actually supplied, like {@link AuditLogQueryRepositoryImpl}, so
+ * every combination keeps plain predicates that match a composite index on {@code tasks}: the equality
+ * columns first, then the sort key and id.
+ */
+class TaskQueryRepositoryImpl implements TaskQueryRepository {
+	private final EntityManager entityManager;
+
+	TaskQueryRepositoryImpl(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<TaskResponse> findMatching(
+		TaskFilter filter,
+		TaskSort sort,
+		Instant afterKey,
+		Long afterId,
+		boolean withDescription,
+		Integer limit
+	) {
+		TypedQuery<TaskResponse> query = createQuery(filter, sort, afterKey, afterId, withDescription);
+		if (limit != null) {
+			query.setMaxResults(limit);
+		}
+		return query.getResultList();
+	}
+
+	@Override
+	public Stream<TaskResponse> streamMatching(TaskFilter filter, TaskSort sort, boolean withDescription) {
+		return createQuery(filter, sort, null, null, withDescription)
+			.setHint(HibernateHints.HINT_FETCH_SIZE, TaskRepository.STREAM_FETCH_SIZE)
+			.setHint(HibernateHints.HINT_READ_ONLY, true)
+			.getResultStream();
+	}
+
+	private TypedQuery<TaskResponse> createQuery(
+		TaskFilter filter,
+		TaskSort sort,
+		Instant afterKey,
+		Long afterId,
+		boolean withDescription
+	) {
+		List<String> predicates = new ArrayList<>();
+		Map<String, Object> parameters = new HashMap<>();
+		parameters.put("withDescription", withDescription);
+		if (filter.status() != null && !filter.status().isEmpty()) {
+			predicates.add(filter.status().size() == 1 ? "t.status = :status" : "t.status in :status");
+			parameters.put("status", filter.status().size() == 1 ? filter.status().iterator().next() : filter.status());
+		}
+		if (filter.unassigned()) {
+			predicates.add("t.assignee.id is null");
+		} else if (filter.assigneeId() != null) {
+			predicates.add("t.assignee.id = :assigneeId");
+			parameters.put("assigneeId", filter.assigneeId());
+		}
+		if (filter.createdBy() != null) {
+			predicates.add("t.createdBy.id = :createdBy");
+			parameters.put("createdBy", filter.createdBy());
+		}
+		if (filter.createdFrom() != null) {
+			predicates.add("t.createdAt >= :createdFrom");
+			parameters.put("createdFrom", filter.createdFrom());
+		}
+		if (filter.createdTo() != null) {
+			predicates.add("t.createdAt < :createdTo");
+			parameters.put("createdTo", filter.createdTo());
+		}
+		String key = "t." + sort.attribute();
+		String direction = sort.descending() ? "desc" : "asc";
+		if (afterKey != null) {
+			String beyond = sort.descending() ? "<" : ">";
+			predicates.add("(" + key + " " + beyond + " :afterKey or (" + key + " = :afterKey and t.id " + beyond + " :afterId))");
+			parameters.put("afterKey", afterKey);
+			parameters.put("afterId", afterId);
+		}
+
+		StringBuilder jpql = new StringBuilder(TaskRepository.RESPONSE_PROJECTION);
+		if (!predicates.isEmpty()) {
+			jpql.append("where ").append(String.join(" and ", predicates)).append('\n');
+		}
+		jpql.append("order by ").append(key).append(' ').append(direction).append(", t.id ").append(direction);
+
+		TypedQuery<TaskResponse> query = entityManager.createQuery(jpql.toString(), TaskResponse.class);
+		parameters.forEach(query::setParameter);
+		return query;
+	}
+}
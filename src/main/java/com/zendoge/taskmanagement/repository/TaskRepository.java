@@ -1,9 +1,142 @@
 package com.zendoge.taskmanagement.repository;
 
 import com.zendoge.taskmanagement.domain.Task;
+import com.zendoge.taskmanagement.web.dto.TaskResponse;
+import com.zendoge.taskmanagement.web.dto.TaskTransferRow;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Read queries project straight into {@link TaskResponse}, so list endpoints never hydrate or snapshot
+ * {@link Task} entities. {@code withDescription = false} leaves the unbounded description column unread.
+ */
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskQueryRepository {
+	int STREAM_FETCH_SIZE = 500;
+
+	String RESPONSE_PROJECTION = """
+		select new com.zendoge.taskmanagement.web.dto.TaskResponse(
+			t.id,
+			t.title,
+			case when :withDescription = true then t.description else null end,
+			t.status,
+			t.assignee.id,
+			t.createdBy.id,
+			t.createdAt,
+			t.updatedAt,
+			t.version
+		)
+		from Task t
+		""";
+
+	String EXPORT_PROJECTION = """
+		select new com.zendoge.taskmanagement.web.dto.TaskTransferRow(
+			t.id,
+			t.title,
+			t.description,
+			t.status,
+			a.email,
+			t.createdAt
+		)
+		from Task t
+		left join t.assignee a
+		""";
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
 	List<Task> findByAssigneeId(Long assigneeId);
+
+	@Query(RESPONSE_PROJECTION + "where t.id = :id")
+	Optional<TaskResponse> findResponseById(@Param("id") Long id, @Param("withDescription") boolean withDescription);
+
+	@Query(RESPONSE_PROJECTION + "where t.id in :ids")
+	List<TaskResponse> findResponsesByIdIn(
+		@Param("ids") Collection<Long> ids,
+		@Param("withDescription") boolean withDescription
+	);
+
+	@Query(RESPONSE_PROJECTION + """
+		where t.updatedAt > :updatedAt or (t.updatedAt = :updatedAt and t.id > :id)
+		order by t.updatedAt, t.id
+		""")
+	List<TaskResponse> findChangedAfter(
+		@Param("updatedAt") Instant updatedAt,
+		@Param("id") Long id,
+		@Param("withDescription") boolean withDescription,
+		Limit limit
+	);
+
+	@Query(RESPONSE_PROJECTION + """
+		where t.assignee.id = :assigneeId
+		and (t.updatedAt > :updatedAt or (t.updatedAt = :updatedAt and t.id > :id))
+		order by t.updatedAt, t.id
+		""")
+	List<TaskResponse> findChangedByAssigneeAfter(
+		@Param("assigneeId") Long assigneeId,
+		@Param("updatedAt") Instant updatedAt,
+		@Param("id") Long id,
+		@Param("withDescription") boolean withDescription,
+		Limit limit
+	);
+
+	@Query(EXPORT_PROJECTION + "order by t.createdAt, t.id")
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	Stream<TaskTransferRow> streamExport();
+
+	@Query(EXPORT_PROJECTION + "where a.id = :assigneeId order by t.createdAt, t.id")
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	Stream<TaskTransferRow> streamExportByAssigneeId(@Param("assigneeId") Long assigneeId);
+
+	/**
+	 * Reads only the ends of the {@code updated_at} and {@code removed_at} indexes, and the entries
+	 * written since {@code settledAt}.
+	 */
+	@Query("""
+		select
+			(select max(t.updatedAt) from Task t) as lastUpdatedAt,
+			(select count(t) from Task t where t.updatedAt >= :settledAt) as recentUpdates,
+			(select coalesce(sum(t.version), 0) from Task t where t.updatedAt >= :settledAt) as recentVersionSum,
+			(select max(r.removedAt) from TaskTombstone r) as lastRemovedAt,
+			(select count(r) from TaskTombstone r where r.removedAt >= :settledAt) as recentRemovals
+		""")
+	TaskWatermarkRow findWatermark(@Param("settledAt") Instant settledAt);
+
+	/**
+	 * {@link #findWatermark} of the tasks assigned to {@code assigneeId}, on the assignee indexes.
+	 */
+	@Query("""
+		select
+			(select max(t.updatedAt) from Task t where t.assignee.id = :assigneeId) as lastUpdatedAt,
+			(select count(t) from Task t
+				where t.assignee.id = :assigneeId and t.updatedAt >= :settledAt) as recentUpdates,
+			(select coalesce(sum(t.version), 0) from Task t
+				where t.assignee.id = :assigneeId and t.updatedAt >= :settledAt) as recentVersionSum,
+			(select max(r.removedAt) from TaskTombstone r where r.assigneeId = :assigneeId) as lastRemovedAt,
+			(select count(r) from TaskTombstone r
+				where r.assigneeId = :assigneeId and r.removedAt >= :settledAt) as recentRemovals
+		""")
+	TaskWatermarkRow findWatermarkByAssigneeId(
+		@Param("assigneeId") Long assigneeId,
+		@Param("settledAt") Instant settledAt
+	);
+
+	@Query("""
+		select t.assignee.id as assigneeId, t.status as status, count(t) as total
+		from Task t
+		group by t.assignee.id, t.status
+		""")
+	List<TaskCountRow> countByAssigneeAndStatus();
 }
@@ -0,0 +1,39 @@
+package com.zendoge.taskmanagement.repository;
+
+import com.zendoge.taskmanagement.domain.TaskTombstone;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+	/**
+	 * Ids of tasks deleted in {@code (after, until]}.
+	 */
+	@Query("""
+		select distinct t.taskId from TaskTombstone t
+		where t.reason = com.zendoge.taskmanagement.domain.TaskTombstoneReason.DELETED
+		and t.removedAt > :after and t.removedAt <= :until
+		""")
+	List<Long> findDeletedTaskIds(@Param("after") Instant after, @Param("until") Instant until);
+
+	/**
+	 * Ids of tasks that were deleted or reassigned away from {@code assigneeId} in {@code (after, until]}.
+	 */
+	@Query("""
+		select distinct t.taskId from TaskTombstone t
+		where t.assigneeId = :assigneeId
+		and t.removedAt > :after and t.removedAt <= :until
+		""")
+	List<Long> findRemovedTaskIds(
+		@Param("assigneeId") Long assigneeId,
+		@Param("after") Instant after,
+		@Param("until") Instant until
+	);
+
+	@Modifying
+	@Query("delete from TaskTombstone t where t.removedAt < :cutoff")
+	int deleteRemovedBefore(@Param("cutoff") Instant cutoff);
+}
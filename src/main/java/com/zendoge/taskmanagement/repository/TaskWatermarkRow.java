@@ -0,0 +1,24 @@
+package com.zendoge.taskmanagement.repository;
+
+import java.time.Instant;
+
+/**
+ * Changes whenever a set of tasks does, read from indexes rather than by aggregating every task:
+ * updates and creates move the latest {@code updatedAt}, deletes (and, for a set scoped by assignee,
+ * reassignments away) write a tombstone that moves the latest {@code removedAt}. A write that commits
+ * after a later one can leave both maxima where they were, so the entries of the last settle window
+ * are counted as well, as {@code GET /api/tasks/changes} does.
+ */
+public interface TaskWatermarkRow {
+	/** {@code null} for an empty set. */
+	Instant getLastUpdatedAt();
+
+	long getRecentUpdates();
+
+	long getRecentVersionSum();
+
+	/** {@code null} without tombstones. */
+	Instant getLastRemovedAt();
+
+	long getRecentRemovals();
+}
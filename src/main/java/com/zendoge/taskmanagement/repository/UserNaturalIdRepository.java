@@ -0,0 +1,11 @@
+package com.zendoge.taskmanagement.repository;
+
+import com.zendoge.taskmanagement.domain.User;
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+	/**
+	 * Resolves a user by the {@code email} natural id, served from the second-level cache when present.
+	 */
+	Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,23 @@
+package com.zendoge.taskmanagement.repository;
+
+import com.zendoge.taskmanagement.domain.User;
+import jakarta.persistence.EntityManager;
+import java.util.Optional;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+	private final EntityManager entityManager;
+
+	UserNaturalIdRepositoryImpl(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<User> findByEmail(String email) {
+		return entityManager.unwrap(Session.class)
+			.bySimpleNaturalId(User.class)
+			.loadOptional(email);
+	}
+}
@@ -1,9 +1,24 @@
 package com.zendoge.taskmanagement.repository;
 
 import com.zendoge.taskmanagement.domain.User;
-import java.util.Optional;
+import com.zendoge.taskmanagement.web.dto.UserResponse;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-	Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
+	@Query("""
+		select new com.zendoge.taskmanagement.web.dto.UserResponse(u.id, u.email, u.role, u.createdAt)
+		from User u
+		order by u.id
+		""")
+	List<UserResponse> findAllResponses();
+
+	List<User> findByEmailIn(Collection<String> emails);
+
+	@Query("select u.id as id, u.roleChangedAt as roleChangedAt from User u where u.roleChangedAt > :since")
+	List<RoleChangeRow> findRoleChangesSince(@Param("since") Instant since);
 }
@@ -0,0 +1,40 @@
+package com.zendoge.taskmanagement.security;
+
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Principal carrying the user id and role, so services can identify the caller without a query.
+ * Built from the database on login and from token claims on every authenticated request, in which
+ * case {@code passwordHash} is {@code null}.
+ */
+public record AuthenticatedUser(Long id, String email, UserRole role, String passwordHash) implements UserDetails {
+	public static AuthenticatedUser from(User user) {
+		return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(), user.getPasswordHash());
+	}
+
+	@Override
+	public Collection<? extends GrantedAuthority> getAuthorities() {
+		return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+	}
+
+	@Override
+	public String getPassword() {
+		return passwordHash;
+	}
+
+	@Override
+	public String getUsername() {
+		return email;
+	}
+
+	@Override
+	public String toString() {
+		return "AuthenticatedUser[id=" + id + ", email=" + email + ", role=" + role + "]";
+	}
+}
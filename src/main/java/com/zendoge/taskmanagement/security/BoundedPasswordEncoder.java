@@ -0,0 +1,97 @@
+package com.zendoge.taskmanagement.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs hashing and verification on a small pool of its own, so that a burst of logins cannot tie up
+ * every request thread in BCrypt and starve the rest of the API. At most {@code threads} hashes run at
+ * once and up to {@code queueCapacity} callers wait for one; further callers get
+ * {@link PasswordHashingBusyException} straight away instead of joining an unbounded queue.
+ *
+ * <p>The pool is published as the {@code password.hashing} executor: queue wait shows up as
+ * {@code executor.idle}, hashing as {@code executor.execution}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor pool;
+	private final ExecutorService executor;
+	private final Counter rejected;
+
+	public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+		if (threads < 1 || queueCapacity < 1) {
+			throw new IllegalArgumentException("security.password.hashing.threads and queue-capacity must be >= 1");
+		}
+		this.delegate = delegate;
+		// Hashing is CPU-bound, so these stay platform threads even when requests run on virtual ones.
+		this.pool = new ThreadPoolExecutor(
+			threads,
+			threads,
+			0,
+			TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(queueCapacity),
+			Thread.ofPlatform().name("password-hash-", 1).daemon().factory()
+		);
+		this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing");
+		this.rejected = Counter.builder("auth.password.rejected")
+			.description("Hashing requests turned away because the pool and its queue were full")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return run(() -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return run(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	public int queued() {
+		return pool.getQueue().size();
+	}
+
+	@Override
+	public void destroy() {
+		pool.shutdownNow();
+	}
+
+	private <T> T run(Callable<T> hashing) {
+		Future<T> future;
+		try {
+			future = executor.submit(hashing);
+		} catch (RejectedExecutionException ex) {
+			rejected.increment();
+			throw new PasswordHashingBusyException();
+		}
+		try {
+			return future.get();
+		} catch (InterruptedException ex) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new PasswordHashingBusyException();
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(ex.getCause());
+		}
+	}
+}
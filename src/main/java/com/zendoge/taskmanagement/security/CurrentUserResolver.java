@@ -0,0 +1,34 @@
+package com.zendoge.taskmanagement.security;
+
+import com.zendoge.taskmanagement.repository.UserRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+@Component
+public class CurrentUserResolver {
+	private final UserRepository userRepository;
+
+	public CurrentUserResolver(UserRepository userRepository) {
+		this.userRepository = userRepository;
+	}
+
+	/**
+	 * Returns the caller's principal. Requests authenticated by {@link JwtAuthenticationFilter} already
+	 * carry an {@link AuthenticatedUser}; any other authentication falls back to a lookup by name.
+	 */
+	public AuthenticatedUser require() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || authentication.getName() == null) {
+			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No authenticated user");
+		}
+		if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+			return principal;
+		}
+		return userRepository.findByEmail(authentication.getName())
+			.map(AuthenticatedUser::from)
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+	}
+}
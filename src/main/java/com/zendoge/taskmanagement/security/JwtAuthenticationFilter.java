@@ -1,10 +1,15 @@
 package com.zendoge.taskmanagement.security;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,10 +23,25 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	private final JwtService jwtService;
 	private final UserDetailsService userDetailsService;
+	private final RoleChangeRegistry roleChangeRegistry;
+	private final Timer verifyTime;
+	private final Counter expiredTokens;
+	private final Counter invalidTokens;
 
-	public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+	public JwtAuthenticationFilter(
+		JwtService jwtService,
+		UserDetailsService userDetailsService,
+		RoleChangeRegistry roleChangeRegistry,
+		MeterRegistry meterRegistry
+	) {
 		this.jwtService = jwtService;
 		this.userDetailsService = userDetailsService;
+		this.roleChangeRegistry = roleChangeRegistry;
+		this.verifyTime = Timer.builder("auth.token.verify")
+			.description("Bearer token parsing and signature verification, including cache hits")
+			.register(meterRegistry);
+		this.expiredTokens = failures(meterRegistry, "expired");
+		this.invalidTokens = failures(meterRegistry, "invalid");
 	}
 
 	@Override
@@ -36,28 +56,56 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			return;
 		}
 
-		String token = authHeader.substring(7);
-		String username;
-		try {
-			username = jwtService.extractUsername(token);
-		} catch (Exception ex) {
+		VerifiedToken verified = verify(authHeader.substring(7));
+		if (verified == null) {
 			filterChain.doFilter(request, response);
 			return;
 		}
 
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-			UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-			if (jwtService.isTokenValid(token, userDetails)) {
-				UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-					userDetails,
-					null,
-					userDetails.getAuthorities()
-				);
-				authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-				SecurityContextHolder.getContext().setAuthentication(authentication);
-			}
+		if (verified.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+			UserDetails userDetails = principalFor(verified);
+			UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+				userDetails,
+				null,
+				userDetails.getAuthorities()
+			);
+			authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+			SecurityContextHolder.getContext().setAuthentication(authentication);
 		}
 
 		filterChain.doFilter(request, response);
 	}
+
+	private VerifiedToken verify(String token) {
+		long started = System.nanoTime();
+		try {
+			return jwtService.verify(token);
+		} catch (ExpiredJwtException ex) {
+			expiredTokens.increment();
+			return null;
+		} catch (Exception ex) {
+			invalidTokens.increment();
+			return null;
+		} finally {
+			verifyTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Rebuilds the principal from the token claims. Tokens without embedded claims, or issued before the
+	 * user's role changed, are resolved through the {@link UserDetailsService} instead.
+	 */
+	private UserDetails principalFor(VerifiedToken verified) {
+		if (verified.carriesPrincipal() && !roleChangeRegistry.isStale(verified.userId(), verified.issuedAt())) {
+			return new AuthenticatedUser(verified.userId(), verified.subject(), verified.role(), null);
+		}
+		return userDetailsService.loadUserByUsername(verified.subject());
+	}
+
+	private static Counter failures(MeterRegistry meterRegistry, String reason) {
+		return Counter.builder("auth.token.failures")
+			.description("Bearer tokens rejected by the filter")
+			.tag("reason", reason)
+			.register(meterRegistry);
+	}
 }
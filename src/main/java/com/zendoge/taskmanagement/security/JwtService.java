@@ -1,59 +1,152 @@
 package com.zendoge.taskmanagement.security;
 
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.web.dto.JwtCacheStatsResponse;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 @Service
 public class JwtService {
+	static final String USER_ID_CLAIM = "uid";
+	static final String ROLE_CLAIM = "role";
+
 	private final Key signingKey;
 	private final long expirationMs;
+	private final JwtParser parser;
+	private final boolean cacheEnabled;
+	private final int cacheMaxEntries;
+	private final Map<String, VerifiedToken> verifiedCache = new ConcurrentHashMap<>();
+	private final AtomicLong cacheHits = new AtomicLong();
+	private final AtomicLong cacheMisses = new AtomicLong();
 
 	public JwtService(
 		@Value("${security.jwt.secret}") String secret,
-		@Value("${security.jwt.expiration-ms}") long expirationMs
+		@Value("${security.jwt.expiration-ms}") long expirationMs,
+		@Value("${security.jwt.cache.enabled:false}") boolean cacheEnabled,
+		@Value("${security.jwt.cache.max-entries:10000}") int cacheMaxEntries
 	) {
-		this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+		this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
 		this.expirationMs = expirationMs;
+		this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+		this.cacheEnabled = cacheEnabled;
+		this.cacheMaxEntries = cacheMaxEntries;
 	}
 
+	/**
+	 * Issues an access token. When {@code userDetails} is an {@link AuthenticatedUser}, its id and role are
+	 * embedded so the filter can rebuild the principal without loading the user.
+	 */
 	public String generateToken(UserDetails userDetails) {
 		Instant now = Instant.now();
-		return Jwts.builder()
-			.setSubject(userDetails.getUsername())
+		JwtBuilder builder = Jwts.builder().setSubject(userDetails.getUsername());
+		if (userDetails instanceof AuthenticatedUser user) {
+			builder.claim(USER_ID_CLAIM, user.id()).claim(ROLE_CLAIM, user.role().name());
+		}
+		return builder
 			.setIssuedAt(Date.from(now))
 			.setExpiration(Date.from(now.plusMillis(expirationMs)))
 			.signWith(signingKey, SignatureAlgorithm.HS256)
 			.compact();
 	}
 
+	/**
+	 * Checks the signature and expiry of {@code token} exactly once and returns its claims. When the
+	 * cache is enabled, a token seen before is answered from memory until it expires.
+	 *
+	 * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+	 */
+	public VerifiedToken verify(String token) {
+		if (!cacheEnabled) {
+			return parse(token);
+		}
+		Instant now = Instant.now();
+		String key = digest(token);
+		VerifiedToken cached = verifiedCache.get(key);
+		if (cached != null) {
+			if (!cached.isExpired(now)) {
+				cacheHits.incrementAndGet();
+				return cached;
+			}
+			verifiedCache.remove(key, cached);
+		}
+		cacheMisses.incrementAndGet();
+		VerifiedToken verified = parse(token);
+		if (verifiedCache.size() >= cacheMaxEntries) {
+			verifiedCache.values().removeIf(entry -> entry.isExpired(now));
+		}
+		if (verifiedCache.size() < cacheMaxEntries) {
+			verifiedCache.put(key, verified);
+		}
+		return verified;
+	}
+
 	public String extractUsername(String token) {
-		return parseClaims(token).getSubject();
+		return verify(token).subject();
 	}
 
 	public boolean isTokenValid(String token, UserDetails userDetails) {
-		String username = extractUsername(token);
-		return username.equals(userDetails.getUsername()) && !isExpired(token);
+		try {
+			return verify(token).subject().equals(userDetails.getUsername());
+		} catch (ExpiredJwtException ex) {
+			return false;
+		}
 	}
 
-	private boolean isExpired(String token) {
-		Date expiration = parseClaims(token).getExpiration();
-		return expiration.before(new Date());
+	public long expirationMs() {
+		return expirationMs;
 	}
 
-	private Claims parseClaims(String token) {
-		return Jwts.parserBuilder()
-			.setSigningKey(signingKey)
-			.build()
-			.parseClaimsJws(token)
-			.getBody();
+	public JwtCacheStatsResponse cacheStats() {
+		return new JwtCacheStatsResponse(
+			cacheEnabled,
+			cacheHits.get(),
+			cacheMisses.get(),
+			verifiedCache.size(),
+			cacheMaxEntries
+		);
 	}
 
+	private VerifiedToken parse(String token) {
+		Claims claims = parser.parseClaimsJws(token).getBody();
+		if (claims.getExpiration() == null) {
+			throw new MalformedJwtException("Token has no expiration");
+		}
+		Number userId = claims.get(USER_ID_CLAIM, Number.class);
+		String role = claims.get(ROLE_CLAIM, String.class);
+		return new VerifiedToken(
+			claims.getSubject(),
+			userId != null ? userId.longValue() : null,
+			role != null ? UserRole.valueOf(role) : null,
+			claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+			claims.getExpiration().toInstant()
+		);
+	}
+
+	private static String digest(String token) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(hash);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
 }
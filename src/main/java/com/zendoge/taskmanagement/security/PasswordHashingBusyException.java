@@ -0,0 +1,10 @@
+package com.zendoge.taskmanagement.security;
+
+/**
+ * Thrown when the password hashing pool and its queue are full. Answered with 503 and {@code Retry-After}.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+	public PasswordHashingBusyException() {
+		super("Too many logins in progress; retry shortly");
+	}
+}
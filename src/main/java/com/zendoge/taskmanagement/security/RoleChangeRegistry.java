@@ -0,0 +1,43 @@
+package com.zendoge.taskmanagement.security;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers when a user's role last changed, so that tokens issued before the change stop being trusted
+ * for their embedded role and are re-resolved against the database instead. Changes made through this
+ * instance are recorded at once; {@link RoleChangeSync} adds the ones other instances made.
+ */
+@Component
+public class RoleChangeRegistry {
+	private final Map<Long, Instant> changedAt = new ConcurrentHashMap<>();
+
+	/**
+	 * Records a change at {@code at}; returns {@code false} if the same or a later one was already known.
+	 */
+	public boolean markChanged(Long userId, Instant at) {
+		boolean[] news = { false };
+		changedAt.compute(userId, (id, known) -> {
+			if (known != null && !known.isBefore(at)) {
+				return known;
+			}
+			news[0] = true;
+			return at;
+		});
+		return news[0];
+	}
+
+	public boolean isStale(Long userId, Instant issuedAt) {
+		Instant changed = changedAt.get(userId);
+		return changed != null && (issuedAt == null || !issuedAt.isAfter(changed));
+	}
+
+	/**
+	 * Drops changes before {@code cutoff}; every token issued before then has expired.
+	 */
+	public void forgetBefore(Instant cutoff) {
+		changedAt.values().removeIf(at -> at.isBefore(cutoff));
+	}
+}
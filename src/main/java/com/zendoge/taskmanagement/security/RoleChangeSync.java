@@ -0,0 +1,49 @@
+package com.zendoge.taskmanagement.security;
+
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.repository.RoleChangeRow;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the role changes any instance made from {@code users.role_changed_at} into the
+ * {@link RoleChangeRegistry} and evicts those users from this instance's second-level cache, so that a
+ * demotion applies on every instance within one poll interval, and again after a restart. Only changes
+ * within the access-token lifetime are read; tokens from before then have expired.
+ */
+@Component
+public class RoleChangeSync {
+	private final UserRepository userRepository;
+	private final RoleChangeRegistry roleChangeRegistry;
+	private final Cache entityCache;
+	private final Duration tokenLifetime;
+
+	public RoleChangeSync(
+		UserRepository userRepository,
+		RoleChangeRegistry roleChangeRegistry,
+		EntityManagerFactory entityManagerFactory,
+		@Value("${security.jwt.expiration-ms}") long expirationMs
+	) {
+		this.userRepository = userRepository;
+		this.roleChangeRegistry = roleChangeRegistry;
+		this.entityCache = entityManagerFactory.getCache();
+		this.tokenLifetime = Duration.ofMillis(expirationMs);
+	}
+
+	@Scheduled(fixedDelayString = "${security.role-change.poll-interval:PT5S}")
+	public void poll() {
+		Instant cutoff = Instant.now().minus(tokenLifetime);
+		for (RoleChangeRow change : userRepository.findRoleChangesSince(cutoff)) {
+			if (roleChangeRegistry.markChanged(change.getId(), change.getRoleChangedAt())) {
+				entityCache.evict(User.class, change.getId());
+			}
+		}
+		roleChangeRegistry.forgetBefore(cutoff);
+	}
+}
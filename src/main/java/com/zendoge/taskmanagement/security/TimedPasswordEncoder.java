@@ -0,0 +1,39 @@
+package com.zendoge.taskmanagement.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times hashing on registration and verification on login, which dominate the cost of both.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+	private final PasswordEncoder delegate;
+	private final Timer encodeTime;
+	private final Timer matchesTime;
+
+	public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.encodeTime = Timer.builder("auth.password.encode")
+			.description("Password hashing")
+			.register(meterRegistry);
+		this.matchesTime = Timer.builder("auth.password.matches")
+			.description("Password verification against a stored hash")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return encodeTime.record(() -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return matchesTime.record(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+}
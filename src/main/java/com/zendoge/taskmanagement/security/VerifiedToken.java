@@ -0,0 +1,18 @@
+package com.zendoge.taskmanagement.security;
+
+import com.zendoge.taskmanagement.domain.UserRole;
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked by {@link JwtService#verify}.
+ * {@code userId} and {@code role} are {@code null} for tokens issued before they were embedded.
+ */
+public record VerifiedToken(String subject, Long userId, UserRole role, Instant issuedAt, Instant expiresAt) {
+	public boolean isExpired(Instant now) {
+		return !expiresAt.isAfter(now);
+	}
+
+	public boolean carriesPrincipal() {
+		return userId != null && role != null;
+	}
+}
@@ -0,0 +1,26 @@
+package com.zendoge.taskmanagement.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects of a write (caches, counters, notifications) until its transaction
+ * has committed, so a rollback leaves them untouched. Outside a transaction they run immediately.
+ */
+final class AfterCommit {
+	private AfterCommit() {
+	}
+
+	static void run(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
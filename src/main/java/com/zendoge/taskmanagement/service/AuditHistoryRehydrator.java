@@ -0,0 +1,107 @@
+package com.zendoge.taskmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.repository.AuditLogRepository;
+import com.zendoge.taskmanagement.repository.AuditLogRow;
+import com.zendoge.taskmanagement.web.dto.AuditLogResponse;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns stored audit rows back into the full before/after views clients have always received.
+ *
+ * <p>A delta entry is relative to one full snapshot of the same entity, so its views need only that
+ * snapshot: the new view is the snapshot overlaid with the delta's {@code newData}, the old view is
+ * the new view overlaid with its {@code oldData}. The snapshots for a whole page are read in one
+ * query. When a snapshot does not exist (expired with an older partition, or dropped by the async
+ * sink), the entry carries only the fields stored in the delta itself and is marked partial.
+ */
+@Component
+public class AuditHistoryRehydrator {
+	private static final Logger log = LoggerFactory.getLogger(AuditHistoryRehydrator.class);
+	private static final TypeReference<LinkedHashMap<String, Object>> FIELDS = new TypeReference<>() {
+	};
+
+	private final AuditLogRepository auditLogRepository;
+	private final ObjectMapper objectMapper;
+
+	public AuditHistoryRehydrator(AuditLogRepository auditLogRepository, ObjectMapper objectMapper) {
+		this.auditLogRepository = auditLogRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Must run inside a transaction when the rows contain delta entries with payloads.
+	 */
+	public List<AuditLogResponse> toResponses(List<AuditLogRow> rows, boolean withPayload) {
+		if (!withPayload || rows.stream().noneMatch(AuditLogRow::isDelta)) {
+			return rows.stream().map(AuditLogRow::toResponse).toList();
+		}
+		Map<String, String> snapshots = loadSnapshots(rows);
+		Map<String, Map<String, Object>> parsed = new HashMap<>();
+		return rows.stream()
+			.map(row -> row.isDelta() ? rehydrate(row, snapshots, parsed) : row.toResponse())
+			.toList();
+	}
+
+	private Map<String, String> loadSnapshots(List<AuditLogRow> rows) {
+		Map<String, Set<Instant>> timestamps = new HashMap<>();
+		for (AuditLogRow row : rows) {
+			if (row.isDelta() && row.snapshotAt() != null) {
+				timestamps.computeIfAbsent(row.entity(), entity -> new HashSet<>()).add(row.snapshotAt());
+			}
+		}
+		Map<String, String> snapshots = new HashMap<>();
+		timestamps.forEach((entity, at) -> {
+			// Other entities' entries at the same instants may come back too; lookups are by (entity id, timestamp).
+			for (AuditLogRow snapshot : auditLogRepository.findSnapshots(entity, at)) {
+				snapshots.put(snapshotKey(entity, snapshot.entityId(), snapshot.timestamp()), snapshot.newData());
+			}
+		});
+		return snapshots;
+	}
+
+	private AuditLogResponse rehydrate(
+		AuditLogRow row,
+		Map<String, String> snapshots,
+		Map<String, Map<String, Object>> parsed
+	) {
+		String key = snapshotKey(row.entity(), row.entityId(), row.snapshotAt());
+		if (!snapshots.containsKey(key)) {
+			return row.toPartialResponse();
+		}
+		try {
+			Map<String, Object> snapshot = parsed.get(key);
+			if (snapshot == null) {
+				snapshot = readFields(snapshots.get(key));
+				parsed.put(key, snapshot);
+			}
+			Map<String, Object> after = new LinkedHashMap<>(snapshot);
+			after.putAll(readFields(row.newData()));
+			Map<String, Object> before = new LinkedHashMap<>(after);
+			before.putAll(readFields(row.oldData()));
+			return row.toResponse(objectMapper.writeValueAsString(before), objectMapper.writeValueAsString(after));
+		} catch (JsonProcessingException ex) {
+			log.warn("Could not rehydrate audit entry {}; returning the stored delta", row.id(), ex);
+			return row.toPartialResponse();
+		}
+	}
+
+	private Map<String, Object> readFields(String json) throws JsonProcessingException {
+		return json != null ? objectMapper.readValue(json, FIELDS) : new LinkedHashMap<>();
+	}
+
+	private static String snapshotKey(String entity, Long entityId, Instant timestamp) {
+		return entity + ":" + entityId + "@" + timestamp;
+	}
+}
@@ -0,0 +1,274 @@
+package com.zendoge.taskmanagement.service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Maintains the partitions of {@code audit_logs}, which the PostgreSQL migrations create
+ * range-partitioned by {@code timestamp} with a default partition: keeps {@code premake} partitions
+ * ready ahead of time, and detaches or drops whole partitions once they fall out of the retention
+ * window. Queries bounded on {@code timestamp} then only touch the matching partitions.
+ *
+ * <p>Each run holds a PostgreSQL advisory lock, so of several instances only one changes partitions
+ * at a time and the others skip the run. The statements still tolerate a partition that another
+ * instance already created, detached or dropped.
+ *
+ * <p>Plain tables (other databases, such as the H2 test profile) expire rows with a bounded
+ * {@code DELETE} instead.
+ */
+public class AuditPartitionManager implements InitializingBean {
+	public static final String TABLE = "audit_logs";
+
+	private static final Logger log = LoggerFactory.getLogger(AuditPartitionManager.class);
+	private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+	private static final Set<ChronoUnit> SUPPORTED_UNITS = Set.of(ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS);
+	// Session-level advisory lock key for partition maintenance; any value unique within the database.
+	private static final long MAINTENANCE_LOCK = 0x6175646974L;
+
+	// Bounds come back as text such as FOR VALUES FROM ('2026-01-01 00:00:00+00') TO (...); letting
+	// PostgreSQL cast them avoids parsing its timestamp rendering. MINVALUE/DEFAULT yield null.
+	private static final String PARTITIONS_SQL = """
+		select c.relname as name,
+			cast(substring(pg_get_expr(c.relpartbound, c.oid) from 'FROM \\(''([^'']+)''\\)') as timestamptz) as lower_bound,
+			cast(substring(pg_get_expr(c.relpartbound, c.oid) from 'TO \\(''([^'']+)''\\)') as timestamptz) as upper_bound,
+			pg_get_expr(c.relpartbound, c.oid) = 'DEFAULT' as is_default
+		from pg_inherits i
+		join pg_class c on c.oid = i.inhrelid
+		where i.inhparent = cast(? as regclass)
+		""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ChronoUnit unit;
+	private final int premake;
+	private final int retain;
+	private final boolean dropExpired;
+	private final Clock clock;
+	private boolean partitioned;
+
+	/**
+	 * @param unit partition width: DAYS, WEEKS or MONTHS
+	 * @param premake number of future partitions to keep ready
+	 * @param retain number of past partitions to keep besides the current one; 0 keeps everything
+	 * @param dropExpired drop expired partitions instead of detaching them
+	 */
+	public AuditPartitionManager(
+		JdbcTemplate jdbcTemplate,
+		ChronoUnit unit,
+		int premake,
+		int retain,
+		boolean dropExpired,
+		Clock clock
+	) {
+		if (!SUPPORTED_UNITS.contains(unit)) {
+			throw new IllegalArgumentException("Unsupported audit partition unit: " + unit);
+		}
+		if (premake < 1 || retain < 0) {
+			throw new IllegalArgumentException("audit.partitions.premake must be >= 1 and retain >= 0");
+		}
+		this.jdbcTemplate = jdbcTemplate;
+		this.unit = unit;
+		this.premake = premake;
+		this.retain = retain;
+		this.dropExpired = dropExpired;
+		this.clock = clock;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		String product = jdbcTemplate.execute(
+			(ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+		if (!"PostgreSQL".equals(product)) {
+			return;
+		}
+		String kind = jdbcTemplate.query(
+			"select c.relkind from pg_class c where c.oid = to_regclass(?)",
+			rs -> rs.next() ? rs.getString(1) : null,
+			TABLE
+		);
+		partitioned = "p".equals(kind);
+		if (!partitioned) {
+			log.warn("{} is not partitioned; expired entries are deleted instead of dropped", TABLE);
+			return;
+		}
+		Instant now = clock.instant();
+		withMaintenanceLock(session -> createPartitions(session, now));
+	}
+
+	/**
+	 * Creates upcoming partitions and expires old ones. Safe to run repeatedly and from several
+	 * instances: expiry only touches partitions entirely past the cutoff, and an instance that finds
+	 * another one maintaining skips the run.
+	 */
+	@Scheduled(cron = "${audit.partitions.maintenance-cron:0 15 3 * * *}")
+	public void maintain() {
+		Instant now = clock.instant();
+		if (partitioned) {
+			withMaintenanceLock(session -> {
+				createPartitions(session, now);
+				expirePartitions(session, now);
+			});
+		} else if (retain > 0) {
+			int deleted = jdbcTemplate.update(
+				"delete from " + TABLE + " where timestamp < ?", Timestamp.from(retentionCutoff(now)));
+			if (deleted > 0) {
+				log.info("Deleted {} audit entries older than the retention window", deleted);
+			}
+		}
+	}
+
+	public boolean isPartitioned() {
+		return partitioned;
+	}
+
+	/**
+	 * First instant still inside the retention window; entries strictly before it are expired.
+	 */
+	public Instant retentionCutoff(Instant now) {
+		if (retain == 0) {
+			return Instant.MIN;
+		}
+		return startOf(now).minus(retain, unit).atStartOfDay(ZoneOffset.UTC).toInstant();
+	}
+
+	/**
+	 * Start of the partition the current time falls in. Expiry removes whole partitions, so an entry
+	 * from before this instant can disappear while entries written now are kept.
+	 */
+	public Instant currentPartitionStart() {
+		return startOf(clock.instant()).atStartOfDay(ZoneOffset.UTC).toInstant();
+	}
+
+	LocalDate startOf(Instant instant) {
+		LocalDate day = LocalDate.ofInstant(instant, ZoneOffset.UTC);
+		return switch (unit) {
+			case DAYS -> day;
+			case WEEKS -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+			case MONTHS -> day.withDayOfMonth(1);
+			default -> throw new IllegalStateException("Unsupported unit " + unit);
+		};
+	}
+
+	/**
+	 * Runs {@code work} on one connection while holding the maintenance lock; skips it when another
+	 * session holds the lock.
+	 */
+	private void withMaintenanceLock(Consumer<JdbcTemplate> work) {
+		jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+			if (!Boolean.TRUE.equals(session.queryForObject("select pg_try_advisory_lock(?)", Boolean.class, MAINTENANCE_LOCK))) {
+				log.info("Skipping audit partition maintenance; another instance is running it");
+				return null;
+			}
+			try {
+				work.accept(session);
+			} finally {
+				session.queryForObject("select pg_advisory_unlock(?)", Boolean.class, MAINTENANCE_LOCK);
+			}
+			return null;
+		});
+	}
+
+	private void createPartitions(JdbcTemplate session, Instant now) {
+		List<Partition> existing = partitions(session);
+		LocalDate start = startOf(now);
+		for (int i = 0; i <= premake; i++) {
+			LocalDate from = start.plus(i, unit);
+			LocalDate to = from.plus(1, unit);
+			Instant lower = from.atStartOfDay(ZoneOffset.UTC).toInstant();
+			Instant upper = to.atStartOfDay(ZoneOffset.UTC).toInstant();
+			if (existing.stream().anyMatch(partition -> partition.overlaps(lower, upper))) {
+				continue;
+			}
+			String name = TABLE + "_p" + PARTITION_SUFFIX.format(from);
+			try {
+				session.execute("create table if not exists %s partition of %s for values from ('%s') to ('%s')"
+					.formatted(name, TABLE, lower, upper));
+				log.info("Created audit partition {} [{}, {})", name, lower, upper);
+			} catch (RuntimeException ex) {
+				// Typically rows for this range already sit in the default partition.
+				log.error("Could not create audit partition {} [{}, {})", name, lower, upper, ex);
+			}
+		}
+	}
+
+	private void expirePartitions(JdbcTemplate session, Instant now) {
+		if (retain == 0) {
+			return;
+		}
+		Instant cutoff = retentionCutoff(now);
+		for (Partition partition : partitions(session)) {
+			if (partition.upper() == null || partition.upper().isAfter(cutoff)) {
+				continue;
+			}
+			try {
+				if (dropExpired) {
+					session.execute("drop table if exists " + partition.name());
+					log.info("Dropped expired audit partition {}", partition.name());
+				} else {
+					session.execute("alter table %s detach partition %s".formatted(TABLE, partition.name()));
+					log.info("Detached expired audit partition {}", partition.name());
+				}
+			} catch (DataAccessException ex) {
+				// Already detached or dropped by someone else since it was listed; nothing left to expire.
+				log.warn("Could not expire audit partition {}: {}", partition.name(), ex.getMessage());
+			}
+		}
+	}
+
+	private List<Partition> partitions(JdbcTemplate session) {
+		List<Partition> partitions = new ArrayList<>();
+		for (Map<String, Object> row : session.queryForList(PARTITIONS_SQL, TABLE)) {
+			if (Boolean.TRUE.equals(row.get("is_default"))) {
+				continue;
+			}
+			partitions.add(new Partition(
+				(String) row.get("name"),
+				toInstant(row.get("lower_bound")),
+				toInstant(row.get("upper_bound"))
+			));
+		}
+		return partitions;
+	}
+
+	private static Instant toInstant(Object value) {
+		if (value == null) {
+			return null;
+		}
+		if (value instanceof Timestamp timestamp) {
+			return timestamp.toInstant();
+		}
+		if (value instanceof OffsetDateTime offsetDateTime) {
+			return offsetDateTime.toInstant();
+		}
+		throw new IllegalStateException("Unexpected partition bound type " + value.getClass());
+	}
+
+	private record Partition(String name, Instant lower, Instant upper) {
+		boolean overlaps(Instant from, Instant to) {
+			boolean startsBeforeEnd = lower == null || lower.isBefore(to);
+			boolean endsAfterStart = upper == null || upper.isAfter(from);
+			return startsBeforeEnd && endsAfterStart;
+		}
+	}
+}
@@ -0,0 +1,21 @@
+package com.zendoge.taskmanagement.service;
+
+import com.zendoge.taskmanagement.domain.AuditDataFormat;
+import java.time.Instant;
+
+/**
+ * A fully serialized audit entry, ready to be handed to an {@link AuditSink}. A {@code null}
+ * format (entries spilled by earlier versions) means {@link AuditDataFormat#FULL}.
+ */
+public record AuditRecord(
+	Long userId,
+	String action,
+	String entity,
+	Long entityId,
+	String oldData,
+	String newData,
+	AuditDataFormat format,
+	Instant snapshotAt,
+	Instant timestamp
+) {
+}
@@ -2,89 +2,275 @@ package com.zendoge.taskmanagement.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.zendoge.taskmanagement.domain.AuditLog;
-import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.AuditDataFormat;
+import com.zendoge.taskmanagement.domain.UserRole;
 import com.zendoge.taskmanagement.repository.AuditLogRepository;
-import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.repository.AuditLogRow;
+import com.zendoge.taskmanagement.security.AuthenticatedUser;
+import com.zendoge.taskmanagement.security.CurrentUserResolver;
+import com.zendoge.taskmanagement.web.dto.AuditLogFilter;
 import com.zendoge.taskmanagement.web.dto.AuditLogResponse;
+import com.zendoge.taskmanagement.web.dto.AuditPageResponse;
+import com.zendoge.taskmanagement.web.dto.AuditSinkStatsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class AuditService {
+	public static final int MAX_PAGE_SIZE = 500;
+	private static final int MAX_TRACKED_ENTITIES = 10_000;
+
 	private final AuditLogRepository auditLogRepository;
-	private final UserRepository userRepository;
 	private final ObjectMapper objectMapper;
+	private final AuditSink auditSink;
+	private final AuditHistoryRehydrator rehydrator;
+	private final AuditPartitionManager partitionManager;
+	private final CurrentUserResolver currentUserResolver;
+	private final int snapshotInterval;
+	private final Timer serializeTime;
+	private final Timer writeTime;
+	// Latest committed full entry per entity, which new deltas are written against. An entity missing
+	// here (first change since startup, or dropped when the map filled up) gets a full entry on its
+	// next change, as does one whose full entry lies in an earlier partition than the change.
+	private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
 
 	public AuditService(
 		AuditLogRepository auditLogRepository,
-		UserRepository userRepository,
-		ObjectMapper objectMapper
+		ObjectMapper objectMapper,
+		AuditSink auditSink,
+		AuditHistoryRehydrator rehydrator,
+		AuditPartitionManager partitionManager,
+		CurrentUserResolver currentUserResolver,
+		@Value("${audit.snapshot-interval:20}") int snapshotInterval,
+		MeterRegistry meterRegistry
 	) {
+		if (snapshotInterval < 1) {
+			throw new IllegalArgumentException("audit.snapshot-interval must be >= 1");
+		}
 		this.auditLogRepository = auditLogRepository;
-		this.userRepository = userRepository;
 		this.objectMapper = objectMapper;
+		this.auditSink = auditSink;
+		this.rehydrator = rehydrator;
+		this.partitionManager = partitionManager;
+		this.currentUserResolver = currentUserResolver;
+		this.snapshotInterval = snapshotInterval;
+		this.serializeTime = Timer.builder("audit.serialize")
+			.description("JSON encoding of audit payloads")
+			.register(meterRegistry);
+		// In async mode this is the hand-off to the queue; the batch inserts show up in the audit.sink.* meters.
+		this.writeTime = Timer.builder("audit.write")
+			.description("Writing entries to the audit sink")
+			.register(meterRegistry);
 	}
 
-	public void log(User user, String action, String entity, Long entityId, Object oldData, Object newData) {
-		AuditLog log = new AuditLog();
-		log.setUser(user);
-		log.setAction(action);
-		log.setEntity(entity);
-		log.setEntityId(entityId);
-		log.setOldData(writeJson(oldData));
-		log.setNewData(writeJson(newData));
-		auditLogRepository.save(log);
+	public void log(Long userId, String action, String entity, Long entityId, Object oldData, Object newData) {
+		AuditRecord record = record(userId, action, entity, entityId, oldData, newData);
+		writeTime.record(() -> auditSink.write(record));
 	}
 
-	public List<AuditLogResponse> listAll() {
-		return auditLogRepository.findAll().stream().map(this::toResponse).toList();
+	/**
+	 * Logs a change between two field snapshots of one entity. Unless a full entry is due, only a delta
+	 * against the entity's last full entry is stored: the previous values of the fields this change
+	 * touched, and the current values of every field that differs from that full entry. Every
+	 * {@code audit.snapshot-interval}-th change is stored in full; an interval of 1 stores every
+	 * change in full. So is the first change in each audit partition: retention expires whole
+	 * partitions, and a delta must not outlive the full entry it refers to.
+	 */
+	public void logChange(
+		Long userId,
+		String action,
+		String entity,
+		Long entityId,
+		Map<String, Object> before,
+		Map<String, Object> after
+	) {
+		Snapshot base = snapshotInterval > 1 ? snapshots.get(key(entity, entityId)) : null;
+		if (base == null
+			|| base.deltas() + 1 >= snapshotInterval
+			|| base.at().isBefore(partitionManager.currentPartitionStart())) {
+			log(userId, action, entity, entityId, before, after);
+			return;
+		}
+		snapshots.computeIfPresent(key(entity, entityId), (key, current) -> current.at().equals(base.at())
+			? new Snapshot(current.at(), current.fields(), current.deltas() + 1)
+			: current);
+		AuditRecord delta = new AuditRecord(
+			userId,
+			action,
+			entity,
+			entityId,
+			writeJson(changedFields(before, after)),
+			writeJson(changedFields(after, base.fields())),
+			AuditDataFormat.DELTA,
+			base.at(),
+			now()
+		);
+		writeTime.record(() -> auditSink.write(delta));
 	}
 
-	public List<AuditLogResponse> listForCurrentUser() {
-		User user = requireCurrentUser();
-		return listByUser(user.getId());
+	/**
+	 * Builds an entry without writing it, for callers that collect a group and hand it to {@link #logAll}.
+	 * The payloads are stored in full; once committed, a map {@code newData} becomes the entity's
+	 * snapshot for later deltas.
+	 */
+	public AuditRecord record(Long userId, String action, String entity, Long entityId, Object oldData, Object newData) {
+		AuditRecord record = new AuditRecord(
+			userId,
+			action,
+			entity,
+			entityId,
+			writeJson(oldData),
+			writeJson(newData),
+			AuditDataFormat.FULL,
+			null,
+			now()
+		);
+		String key = key(entity, entityId);
+		if (newData instanceof Map<?, ?> fields && snapshotInterval > 1) {
+			Snapshot snapshot = new Snapshot(record.timestamp(), copyFields(fields), 0);
+			AfterCommit.run(() -> {
+				if (snapshots.size() >= MAX_TRACKED_ENTITIES && !snapshots.containsKey(key)) {
+					snapshots.clear();
+				}
+				snapshots.put(key, snapshot);
+			});
+		} else {
+			AfterCommit.run(() -> snapshots.remove(key));
+		}
+		return record;
+	}
+
+	public void logAll(List<AuditRecord> records) {
+		if (!records.isEmpty()) {
+			writeTime.record(() -> auditSink.writeAll(records));
+		}
+	}
+
+	public AuditSinkStatsResponse sinkStats() {
+		return auditSink.stats();
+	}
+
+	/**
+	 * Keyset-paginated audit query, newest first. Non-admins are limited to their own actions, as in
+	 * {@link #listForCurrentUser(boolean)}; asking for another user's entries is forbidden.
+	 */
+	@Transactional(readOnly = true)
+	public AuditPageResponse query(AuditLogFilter filter, String cursor, int limit, boolean withPayload) {
+		if (limit < 1 || limit > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+			throw new IllegalArgumentException("from must be before to");
+		}
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		AuditLogFilter scoped = filter;
+		if (currentUser.role() != UserRole.ADMIN) {
+			if (filter.userId() != null && !filter.userId().equals(currentUser.id())) {
+				throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admins can view other users' activity");
+			}
+			scoped = new AuditLogFilter(
+				filter.entity(), filter.entityId(), filter.action(), currentUser.id(), filter.from(), filter.to());
+		}
+
+		KeysetCursor after = KeysetCursor.decode(cursor);
+		List<AuditLogRow> entries = auditLogRepository.findPage(
+			scoped,
+			after != null ? after.at() : null,
+			after != null ? after.id() : null,
+			withPayload,
+			limit + 1
+		);
+		boolean hasMore = entries.size() > limit;
+		List<AuditLogRow> page = hasMore ? entries.subList(0, limit) : entries;
+		String next = null;
+		if (hasMore) {
+			AuditLogRow last = page.get(page.size() - 1);
+			next = new KeysetCursor(last.timestamp(), last.id()).encode();
+		}
+		return new AuditPageResponse(rehydrator.toResponses(page, withPayload), next);
 	}
 
-	public List<AuditLogResponse> listByUser(Long userId) {
-		return auditLogRepository.findByUserId(userId).stream().map(this::toResponse).toList();
+	@Transactional(readOnly = true)
+	public List<AuditLogResponse> listAll(boolean withPayload) {
+		return rehydrator.toResponses(auditLogRepository.findAllRows(withPayload), withPayload);
+	}
+
+	@Transactional(readOnly = true)
+	public List<AuditLogResponse> listForCurrentUser(boolean withPayload) {
+		return listByUser(currentUserResolver.require().id(), withPayload);
+	}
+
+	@Transactional(readOnly = true)
+	public List<AuditLogResponse> listByUser(Long userId, boolean withPayload) {
+		return rehydrator.toResponses(auditLogRepository.findRowsByUserId(userId, withPayload), withPayload);
+	}
+
+	/**
+	 * The fields whose values differ between the two maps (a missing field counts as null), with
+	 * their values in {@code reference}.
+	 */
+	private static Map<String, Object> changedFields(Map<String, Object> reference, Map<String, Object> target) {
+		Map<String, Object> changed = new LinkedHashMap<>();
+		target.forEach((field, value) -> {
+			Object referenceValue = reference.get(field);
+			if (!Objects.equals(referenceValue, value)) {
+				changed.put(field, referenceValue);
+			}
+		});
+		reference.forEach((field, value) -> {
+			if (!target.containsKey(field)) {
+				changed.put(field, value);
+			}
+		});
+		return changed;
+	}
+
+	private static Map<String, Object> copyFields(Map<?, ?> fields) {
+		Map<String, Object> copy = new HashMap<>();
+		fields.forEach((field, value) -> copy.put(String.valueOf(field), value));
+		return copy;
+	}
+
+	/**
+	 * Truncated to the column's precision so a delta's {@code snapshotAt} matches the stored timestamp
+	 * of its snapshot exactly.
+	 */
+	private static Instant now() {
+		return Instant.now().truncatedTo(ChronoUnit.MICROS);
+	}
+
+	private static String key(String entity, Long entityId) {
+		return entity + ":" + entityId;
+	}
+
+	private record Snapshot(Instant at, Map<String, Object> fields, int deltas) {
 	}
 
 	private String writeJson(Object value) {
 		if (value == null) {
 			return null;
 		}
+		long started = System.nanoTime();
 		try {
 			return objectMapper.writeValueAsString(value);
 		} catch (JsonProcessingException ex) {
 			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to serialize audit payload");
+		} finally {
+			serializeTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
 		}
 	}
-
-	private AuditLogResponse toResponse(AuditLog log) {
-		return new AuditLogResponse(
-			log.getId(),
-			log.getUser().getId(),
-			log.getAction(),
-			log.getEntity(),
-			log.getEntityId(),
-			log.getOldData(),
-			log.getNewData(),
-			log.getTimestamp()
-		);
-	}
-
-	private User requireCurrentUser() {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		if (authentication == null || authentication.getName() == null) {
-			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No authenticated user");
-		}
-		return userRepository.findByEmail(authentication.getName())
-			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-	}
 }
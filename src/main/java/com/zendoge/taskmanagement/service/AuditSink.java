@@ -0,0 +1,25 @@
+package com.zendoge.taskmanagement.service;
+
+import com.zendoge.taskmanagement.web.dto.AuditSinkStatsResponse;
+import java.util.List;
+
+/**
+ * Destination for audit entries produced by {@link AuditService}. Selected by {@code audit.mode}.
+ */
+public interface AuditSink {
+	void write(AuditRecord record);
+
+	/**
+	 * Writes a group of entries produced by one operation, such as an import chunk.
+	 */
+	default void writeAll(List<AuditRecord> records) {
+		records.forEach(this::write);
+	}
+
+	/**
+	 * Blocks until every entry accepted so far has been handed to the database (or spilled).
+	 */
+	void flush();
+
+	AuditSinkStatsResponse stats();
+}
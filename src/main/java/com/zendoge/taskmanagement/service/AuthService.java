@@ -3,9 +3,11 @@ package com.zendoge.taskmanagement.service;
 import com.zendoge.taskmanagement.domain.User;
 import com.zendoge.taskmanagement.domain.UserRole;
 import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.security.AuthenticatedUser;
 import com.zendoge.taskmanagement.security.JwtService;
 import com.zendoge.taskmanagement.web.dto.AuthResponse;
 import com.zendoge.taskmanagement.web.dto.LoginRequest;
+import com.zendoge.taskmanagement.web.dto.RefreshRequest;
 import com.zendoge.taskmanagement.web.dto.RegisterRequest;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.http.HttpStatus;
@@ -21,17 +23,20 @@ public class AuthService {
 	private final PasswordEncoder passwordEncoder;
 	private final AuthenticationManager authenticationManager;
 	private final JwtService jwtService;
+	private final RefreshTokenService refreshTokenService;
 
 	public AuthService(
 		UserRepository userRepository,
 		PasswordEncoder passwordEncoder,
 		AuthenticationManager authenticationManager,
-		JwtService jwtService
+		JwtService jwtService,
+		RefreshTokenService refreshTokenService
 	) {
 		this.userRepository = userRepository;
 		this.passwordEncoder = passwordEncoder;
 		this.authenticationManager = authenticationManager;
 		this.jwtService = jwtService;
+		this.refreshTokenService = refreshTokenService;
 	}
 
 	public AuthResponse register(RegisterRequest request) {
@@ -45,21 +50,30 @@ public class AuthService {
 		user.setRole(UserRole.MEMBER);
 
 		userRepository.save(user);
-		String token = jwtService.generateToken(
-			new org.springframework.security.core.userdetails.User(
-				user.getEmail(),
-				user.getPasswordHash(),
-				java.util.List.of(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-			)
-		);
-		return new AuthResponse(token);
+		return respond(AuthenticatedUser.from(user), refreshTokenService.issue(user.getId()));
 	}
 
 	public AuthResponse login(LoginRequest request) {
 		Authentication authentication = authenticationManager.authenticate(
 			new UsernamePasswordAuthenticationToken(request.email(), request.password())
 		);
-		String token = jwtService.generateToken((org.springframework.security.core.userdetails.UserDetails) authentication.getPrincipal());
-		return new AuthResponse(token);
+		AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+		return respond(principal, refreshTokenService.issue(principal.id()));
+	}
+
+	/**
+	 * Swaps a refresh token for a new access token and a new refresh token, without a password check.
+	 */
+	public AuthResponse refresh(RefreshRequest request) {
+		RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.refreshToken());
+		return respond(rotation.user(), rotation.refreshToken());
+	}
+
+	public void logout(RefreshRequest request) {
+		refreshTokenService.revoke(request.refreshToken());
+	}
+
+	private AuthResponse respond(AuthenticatedUser user, String refreshToken) {
+		return new AuthResponse(jwtService.generateToken(user), jwtService.expirationMs() / 1000, refreshToken);
 	}
 }
@@ -0,0 +1,313 @@
+package com.zendoge.taskmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.AuditLog;
+import com.zendoge.taskmanagement.web.dto.AuditSinkStatsResponse;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Asynchronous sink: entries go into a bounded queue and a background writer inserts them as JDBC
+ * batches once {@code batchSize} entries are waiting or {@code flushInterval} has elapsed.
+ *
+ * <p>When a spill file is configured, entries that do not fit in the queue or belong to a batch the
+ * database rejected are appended to it as NDJSON and replayed after the next successful flush.
+ * Without a spill file those entries are dropped and counted.
+ */
+public class BatchingAuditSink implements AuditSink, AutoCloseable {
+	private static final Logger log = LoggerFactory.getLogger(BatchingAuditSink.class);
+	private static final String INSERT_SQL = "insert into audit_logs "
+		+ "(id, user_id, action, entity, entity_id, old_data, new_data, data_format, snapshot_at, timestamp) "
+		+ "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String NEXT_ID_BLOCK_SQL = "select nextval('" + AuditLog.SEQUENCE + "')";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ObjectMapper objectMapper;
+	private final BlockingQueue<AuditRecord> queue;
+	private final int queueCapacity;
+	private final int batchSize;
+	private final Duration flushInterval;
+	private final Path spillFile;
+	private final Thread writer;
+	private final ReentrantLock flushLock = new ReentrantLock();
+	// A lock rather than synchronized: spilling does file I/O, which would pin a virtual thread.
+	private final ReentrantLock spillLock = new ReentrantLock();
+
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong spilled = new AtomicLong();
+	private final AtomicLong replayed = new AtomicLong();
+	private final AtomicLong failedBatches = new AtomicLong();
+	// Ids are allocated the way Hibernate's pooled optimizer allocates them for AuditLog: each nextval
+	// reserves the block of ID_ALLOCATION_SIZE ids that ends at the returned value. Guarded by flushLock.
+	private long nextId;
+	private long lastId = -1;
+	private volatile long lastFlushNanos;
+	private volatile long maxFlushNanos;
+	private volatile boolean spillPending;
+	private volatile boolean running = true;
+
+	public BatchingAuditSink(
+		JdbcTemplate jdbcTemplate,
+		ObjectMapper objectMapper,
+		int queueCapacity,
+		int batchSize,
+		Duration flushInterval,
+		Path spillFile,
+		ThreadFactory writerThreads
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.objectMapper = objectMapper;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.queueCapacity = queueCapacity;
+		this.batchSize = batchSize;
+		this.flushInterval = flushInterval;
+		this.spillFile = spillFile;
+		this.spillPending = spillFile != null && (Files.exists(spillFile) || Files.exists(replayFile()));
+		this.writer = writerThreads.newThread(this::runWriter);
+	}
+
+	public void start() {
+		writer.start();
+	}
+
+	@Override
+	public void write(AuditRecord record) {
+		AfterCommit.run(() -> enqueue(record));
+	}
+
+	@Override
+	public void writeAll(List<AuditRecord> records) {
+		AfterCommit.run(() -> records.forEach(this::enqueue));
+	}
+
+	@Override
+	public void flush() {
+		List<AuditRecord> batch = new ArrayList<>(batchSize);
+		while (queue.drainTo(batch, batchSize) > 0) {
+			insert(batch);
+			batch.clear();
+		}
+		// Wait out a batch the writer thread may have drained just before us.
+		flushLock.lock();
+		flushLock.unlock();
+	}
+
+	@Override
+	public AuditSinkStatsResponse stats() {
+		return new AuditSinkStatsResponse(
+			spillFile != null ? "async-spill" : "async",
+			queue.size(),
+			queueCapacity,
+			written.get(),
+			dropped.get(),
+			spilled.get(),
+			replayed.get(),
+			failedBatches.get(),
+			lastFlushNanos / 1_000_000.0,
+			maxFlushNanos / 1_000_000.0
+		);
+	}
+
+	@Override
+	public void close() {
+		running = false;
+		writer.interrupt();
+		try {
+			writer.join(flushInterval.toMillis() * 2 + 1000);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		flush();
+	}
+
+	private void enqueue(AuditRecord record) {
+		if (queue.offer(record)) {
+			return;
+		}
+		if (spillFile != null) {
+			spill(List.of(record));
+		} else {
+			dropped.incrementAndGet();
+		}
+	}
+
+	private void runWriter() {
+		List<AuditRecord> batch = new ArrayList<>(batchSize);
+		while (running) {
+			try {
+				AuditRecord first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+				if (first != null) {
+					batch.add(first);
+					queue.drainTo(batch, batchSize - 1);
+					insert(batch);
+					batch.clear();
+				}
+				if (spillPending && queue.isEmpty()) {
+					replaySpill();
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException ex) {
+				log.error("Audit writer iteration failed", ex);
+			}
+		}
+	}
+
+	private void insert(List<AuditRecord> batch) {
+		flushLock.lock();
+		try {
+			long started = System.nanoTime();
+			try {
+				insertBatch(batch);
+				written.addAndGet(batch.size());
+			} catch (RuntimeException ex) {
+				failedBatches.incrementAndGet();
+				log.warn("Audit batch of {} entries failed", batch.size(), ex);
+				if (spillFile != null) {
+					spill(batch);
+				} else {
+					dropped.addAndGet(batch.size());
+				}
+			}
+			long elapsed = System.nanoTime() - started;
+			lastFlushNanos = elapsed;
+			if (elapsed > maxFlushNanos) {
+				maxFlushNanos = elapsed;
+			}
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	private void insertBatch(List<AuditRecord> batch) {
+		Iterator<Long> ids = allocateIds(batch.size()).iterator();
+		jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, record) -> {
+			ps.setLong(1, ids.next());
+			ps.setLong(2, record.userId());
+			ps.setString(3, record.action());
+			ps.setString(4, record.entity());
+			ps.setLong(5, record.entityId());
+			ps.setString(6, record.oldData());
+			ps.setString(7, record.newData());
+			ps.setString(8, record.format() != null ? record.format().name() : null);
+			ps.setTimestamp(9, record.snapshotAt() != null ? Timestamp.from(record.snapshotAt()) : null);
+			ps.setTimestamp(10, Timestamp.from(record.timestamp()));
+		});
+	}
+
+	/**
+	 * One sequence call per {@link AuditLog#ID_ALLOCATION_SIZE} rows. The first value of a fresh
+	 * sequence is 1, which leaves a block of one.
+	 */
+	private List<Long> allocateIds(int count) {
+		List<Long> ids = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			if (nextId > lastId) {
+				lastId = jdbcTemplate.queryForObject(NEXT_ID_BLOCK_SQL, Long.class);
+				nextId = Math.max(lastId - AuditLog.ID_ALLOCATION_SIZE + 1, 1);
+			}
+			ids.add(nextId++);
+		}
+		return ids;
+	}
+
+	private void spill(List<AuditRecord> records) {
+		spillLock.lock();
+		try (BufferedWriter out = Files.newBufferedWriter(
+			spillFile,
+			StandardCharsets.UTF_8,
+			StandardOpenOption.CREATE,
+			StandardOpenOption.APPEND
+		)) {
+			for (AuditRecord record : records) {
+				out.write(objectMapper.writeValueAsString(record));
+				out.newLine();
+			}
+			spilled.addAndGet(records.size());
+			spillPending = true;
+		} catch (IOException ex) {
+			log.error("Failed to spill {} audit entries to {}", records.size(), spillFile, ex);
+			dropped.addAndGet(records.size());
+		} finally {
+			spillLock.unlock();
+		}
+	}
+
+	/**
+	 * Moves the spill file aside and inserts its contents. A batch that fails again is re-spilled
+	 * by {@link #insert(List)}, so nothing is lost if the database is still unhealthy.
+	 */
+	private void replaySpill() {
+		Path replay = replayFile();
+		spillLock.lock();
+		try {
+			if (Files.exists(replay)) {
+				// Left behind by an interrupted replay; finish it before rotating the live file.
+				spillPending = Files.exists(spillFile);
+			} else if (Files.exists(spillFile)) {
+				Files.move(spillFile, replay, StandardCopyOption.REPLACE_EXISTING);
+				spillPending = false;
+			} else {
+				spillPending = false;
+				return;
+			}
+		} catch (IOException ex) {
+			log.error("Failed to rotate audit spill file {}", spillFile, ex);
+			return;
+		} finally {
+			spillLock.unlock();
+		}
+		try (BufferedReader in = Files.newBufferedReader(replay, StandardCharsets.UTF_8)) {
+			List<AuditRecord> batch = new ArrayList<>(batchSize);
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (line.isBlank()) {
+					continue;
+				}
+				batch.add(objectMapper.readValue(line, AuditRecord.class));
+				if (batch.size() == batchSize) {
+					replayBatch(batch);
+				}
+			}
+			if (!batch.isEmpty()) {
+				replayBatch(batch);
+			}
+			Files.delete(replay);
+		} catch (IOException ex) {
+			log.error("Failed to replay audit spill file {}", replay, ex);
+		}
+	}
+
+	private Path replayFile() {
+		return spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+	}
+
+	private void replayBatch(List<AuditRecord> batch) {
+		long before = written.get();
+		insert(batch);
+		replayed.addAndGet(written.get() - before);
+		batch.clear();
+	}
+}
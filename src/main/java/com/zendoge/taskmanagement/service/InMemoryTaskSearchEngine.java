@@ -0,0 +1,189 @@
+package com.zendoge.taskmanagement.service;
+
+import com.zendoge.taskmanagement.domain.Task;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Inverted index held in memory, for databases without full-text search (the H2 test profile). Built
+ * from {@code tasks} at startup and kept current from {@link TaskService} writes, which are applied
+ * after their transaction commits. Scores are BM25 over term counts in which a title occurrence counts
+ * twice. No stemming.
+ *
+ * <p>Each instance sees only the writes made through it.
+ */
+public class InMemoryTaskSearchEngine implements TaskSearchEngine, InitializingBean {
+	private static final Logger log = LoggerFactory.getLogger(InMemoryTaskSearchEngine.class);
+	private static final int TITLE_WEIGHT = 2;
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	/** term -> task id -> weighted count of the term in that task */
+	private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+	private final Map<Long, Document> documents = new HashMap<>();
+	private long totalLength;
+
+	private record Document(Long assigneeId, Map<String, Integer> terms, int length) {
+	}
+
+	private record Hit(long id, double score) {
+	}
+
+	public InMemoryTaskSearchEngine(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		lock.writeLock().lock();
+		try {
+			jdbcTemplate.query("select id, title, description, assignee_id from tasks", rs -> {
+				long assigneeId = rs.getLong("assignee_id");
+				put(rs.getLong("id"), rs.getString("title"), rs.getString("description"), rs.wasNull() ? null : assigneeId);
+			});
+		} finally {
+			lock.writeLock().unlock();
+		}
+		log.info("Indexed {} tasks for search in memory", documents.size());
+	}
+
+	@Override
+	public List<Long> search(String query, Long assigneeId, int limit) {
+		List<String> terms = SearchTerms.ofQuery(query);
+		if (terms.isEmpty()) {
+			return List.of();
+		}
+		lock.readLock().lock();
+		try {
+			List<Map<Long, Integer>> matches = new ArrayList<>(terms.size());
+			for (int i = 0; i < terms.size(); i++) {
+				Map<Long, Integer> match = i == terms.size() - 1 ? prefixMatches(terms.get(i)) : postings.get(terms.get(i));
+				if (match == null || match.isEmpty()) {
+					return List.of();
+				}
+				matches.add(match);
+			}
+			matches.sort(Comparator.comparingInt(Map::size));
+
+			double averageLength = documents.isEmpty() ? 1 : (double) totalLength / documents.size();
+			double[] idf = new double[matches.size()];
+			for (int i = 0; i < matches.size(); i++) {
+				int df = matches.get(i).size();
+				idf[i] = Math.log(1 + (documents.size() - df + 0.5) / (df + 0.5));
+			}
+			Comparator<Hit> worstFirst = Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::id);
+			PriorityQueue<Hit> best = new PriorityQueue<>(worstFirst);
+			// Walk the rarest term's tasks and look the others up, so the cost follows the smallest list.
+			candidates:
+			for (Long id : matches.get(0).keySet()) {
+				Document document = documents.get(id);
+				if (assigneeId != null && !assigneeId.equals(document.assigneeId())) {
+					continue;
+				}
+				double norm = K1 * (1 - B + B * document.length() / averageLength);
+				double score = 0;
+				for (int i = 0; i < matches.size(); i++) {
+					Integer count = matches.get(i).get(id);
+					if (count == null) {
+						continue candidates;
+					}
+					score += idf[i] * count * (K1 + 1) / (count + norm);
+				}
+				Hit hit = new Hit(id, score);
+				if (best.size() < limit) {
+					best.add(hit);
+				} else if (worstFirst.compare(hit, best.peek()) > 0) {
+					best.poll();
+					best.add(hit);
+				}
+			}
+			List<Long> ids = new ArrayList<>(best.size());
+			while (!best.isEmpty()) {
+				ids.add(best.poll().id());
+			}
+			return ids.reversed();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void indexed(Task task) {
+		Long id = task.getId();
+		String title = task.getTitle();
+		String description = task.getDescription();
+		Long assigneeId = task.getAssignee() != null ? task.getAssignee().getId() : null;
+		AfterCommit.run(() -> write(() -> put(id, title, description, assigneeId)));
+	}
+
+	@Override
+	public void removed(Long taskId) {
+		AfterCommit.run(() -> write(() -> remove(taskId)));
+	}
+
+	@Override
+	public String name() {
+		return "memory";
+	}
+
+	/**
+	 * Counts of every indexed term starting with {@code prefix}, summed per task.
+	 */
+	private Map<Long, Integer> prefixMatches(String prefix) {
+		NavigableMap<String, Map<Long, Integer>> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+		if (range.size() == 1) {
+			return range.firstEntry().getValue();
+		}
+		Map<Long, Integer> merged = new HashMap<>();
+		range.values().forEach(counts -> counts.forEach((id, count) -> merged.merge(id, count, Integer::sum)));
+		return merged;
+	}
+
+	private void put(Long id, String title, String description, Long assigneeId) {
+		remove(id);
+		Map<String, Integer> terms = new HashMap<>();
+		SearchTerms.of(title).forEach(term -> terms.merge(term, TITLE_WEIGHT, Integer::sum));
+		SearchTerms.of(description).forEach(term -> terms.merge(term, 1, Integer::sum));
+		int length = terms.values().stream().mapToInt(Integer::intValue).sum();
+		documents.put(id, new Document(assigneeId, terms, length));
+		totalLength += length;
+		terms.forEach((term, count) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, count));
+	}
+
+	private void remove(Long id) {
+		Document document = documents.remove(id);
+		if (document == null) {
+			return;
+		}
+		totalLength -= document.length();
+		document.terms().keySet().forEach(term -> {
+			Map<Long, Integer> counts = postings.get(term);
+			counts.remove(id);
+			if (counts.isEmpty()) {
+				postings.remove(term);
+			}
+		});
+	}
+
+	private void write(Runnable change) {
+		lock.writeLock().lock();
+		try {
+			change.run();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.zendoge.taskmanagement.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the {@code (instant, id)} of the last row on a page, e.g. a task's
+ * {@code (createdAt, id)} or {@code (updatedAt, id)}, or an audit entry's {@code (timestamp, id)}.
+ */
+record KeysetCursor(Instant at, Long id) {
+	String encode() {
+		String raw = at.getEpochSecond() + ":" + at.getNano() + ":" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns {@code null} for a missing cursor so callers can pick their own starting point.
+	 */
+	static KeysetCursor decode(String value) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+			String[] parts = raw.split(":");
+			if (parts.length != 3) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			Instant at = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+			return new KeysetCursor(at, Long.parseLong(parts[2]));
+		} catch (IllegalArgumentException | java.time.DateTimeException ex) {
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package com.zendoge.taskmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.web.dto.TaskChangeType;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Relays task changes between application instances through PostgreSQL {@code LISTEN/NOTIFY}, so
+ * board viewers connected to one node see changes made on another. Notifications carry ids only and
+ * the receiving node reads the task itself, which keeps them far below the 8000-byte payload limit.
+ *
+ * <p>The listener holds one connection from the pool for its lifetime. After losing it, it
+ * reconnects and tells local subscribers to resync, since notifications sent in between are lost.
+ * Inactive on other databases.
+ */
+public class PostgresTaskChangeBridge implements InitializingBean, DisposableBean {
+	private static final Logger log = LoggerFactory.getLogger(PostgresTaskChangeBridge.class);
+	private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+	private static final int POLL_MILLIS = 10_000;
+	private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+	private final DataSource dataSource;
+	private final JdbcTemplate jdbcTemplate;
+	private final TaskRepository taskRepository;
+	private final TaskChangeFeed feed;
+	private final ObjectMapper objectMapper;
+	private final String channel;
+	private final String node = UUID.randomUUID().toString();
+	private volatile boolean running;
+	private Thread listener;
+
+	public PostgresTaskChangeBridge(
+		DataSource dataSource,
+		JdbcTemplate jdbcTemplate,
+		TaskRepository taskRepository,
+		TaskChangeFeed feed,
+		ObjectMapper objectMapper,
+		String channel
+	) {
+		if (!CHANNEL.matcher(channel).matches()) {
+			throw new IllegalArgumentException("task.stream.notify-channel must be a lower-case SQL identifier");
+		}
+		this.dataSource = dataSource;
+		this.jdbcTemplate = jdbcTemplate;
+		this.taskRepository = taskRepository;
+		this.feed = feed;
+		this.objectMapper = objectMapper;
+		this.channel = channel;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		String product = jdbcTemplate.execute(
+			(ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+		if (!"PostgreSQL".equals(product)) {
+			return;
+		}
+		running = true;
+		feed.relayTo(this::notifyOthers);
+		listener = new Thread(this::listen, "task-change-listener");
+		listener.setDaemon(true);
+		listener.start();
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		running = false;
+		if (listener != null) {
+			listener.interrupt();
+			listener.join(POLL_MILLIS);
+		}
+	}
+
+	public boolean isActive() {
+		return running;
+	}
+
+	private void notifyOthers(TaskChange change) {
+		try {
+			String payload = objectMapper.writeValueAsString(new Notification(
+				node, change.type(), change.taskId(), change.assigneeId(), change.previousAssigneeId()));
+			jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, channel, payload);
+		} catch (JsonProcessingException | RuntimeException ex) {
+			// The change is committed and delivered locally; other nodes catch up on their next reload.
+			log.warn("Could not relay task change {} {} to other instances", change.type(), change.taskId(), ex);
+		}
+	}
+
+	private void listen() {
+		boolean reconnecting = false;
+		while (running) {
+			try (Connection connection = dataSource.getConnection()) {
+				PGConnection pgConnection = connection.unwrap(PGConnection.class);
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("listen " + channel);
+				}
+				log.info("Listening for task changes from other instances on channel {}", channel);
+				if (reconnecting) {
+					feed.dispatch(TaskChange.resync());
+				}
+				while (running) {
+					PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+					if (notifications != null) {
+						for (PGNotification notification : notifications) {
+							receive(notification.getParameter());
+						}
+					}
+				}
+			} catch (SQLException | RuntimeException ex) {
+				if (!running) {
+					return;
+				}
+				log.warn("Task change listener lost its connection; reconnecting in {} ms", RECONNECT_DELAY_MILLIS, ex);
+				reconnecting = true;
+				try {
+					Thread.sleep(RECONNECT_DELAY_MILLIS);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	private void receive(String payload) {
+		Notification notification;
+		try {
+			notification = objectMapper.readValue(payload, Notification.class);
+		} catch (JsonProcessingException ex) {
+			log.warn("Ignoring malformed task change notification {}", payload);
+			return;
+		}
+		if (node.equals(notification.node())) {
+			return;
+		}
+		TaskChange change = switch (notification.type()) {
+			case CREATED, UPDATED -> taskRepository.findResponseById(notification.taskId(), true)
+				.map(task -> new TaskChange(notification.type(), task.id(), task.assigneeId(),
+					notification.previousAssigneeId(), task))
+				// Deleted since; its own notification follows.
+				.orElse(null);
+			case DELETED -> TaskChange.deleted(notification.taskId(), notification.assigneeId());
+			case RESYNC -> TaskChange.resync();
+		};
+		if (change != null) {
+			feed.dispatch(change);
+		}
+	}
+
+	private record Notification(
+		String node,
+		TaskChangeType type,
+		Long taskId,
+		Long assigneeId,
+		Long previousAssigneeId
+	) {
+	}
+}
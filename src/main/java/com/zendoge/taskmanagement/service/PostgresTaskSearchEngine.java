@@ -0,0 +1,96 @@
+package com.zendoge.taskmanagement.service;
+
+import com.zendoge.taskmanagement.domain.Task;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Searches {@code tasks.search_vector}, a stored generated {@code tsvector} of the title (weight A)
+ * and description (weight B) with a GIN index. PostgreSQL recomputes the column in the statement that
+ * writes the row, so the index is always as current as the transaction reading it and
+ * {@link #indexed}/{@link #removed} have nothing to do. The column and its index come from migration V2.
+ */
+public class PostgresTaskSearchEngine implements TaskSearchEngine {
+	/** Has to match the configuration {@code search_vector} is generated with. */
+	public static final String TEXT_SEARCH_CONFIG = "english";
+
+	/**
+	 * Matches ranked per query, per tier. Ranking reads every ranked row's vector, so ranking all matches
+	 * of a word found in most tasks takes about a second at a million tasks. Only the newest matches are
+	 * ranked instead: the planner finds rare words through the GIN index and walks the primary key
+	 * backwards for common ones, stopping after this many. The newest title matches are ranked as well
+	 * as the newest matches overall. Title matches outrank the rest, so newer description matches
+	 * cannot push them out of the window.
+	 */
+	static final int RANKED_CANDIDATES = 200;
+
+	private static final String SEARCH_SQL = """
+		select t.id
+		from tasks t
+		where t.id in (
+			(
+				select t.id
+				from tasks t
+				where t.search_vector @@ to_tsquery('%1$s', ?) %2$s
+				order by t.id desc
+				limit ?
+			)
+			union
+			(
+				select t.id
+				from tasks t
+				where t.search_vector @@ to_tsquery('%1$s', ?) %2$s
+				order by t.id desc
+				limit ?
+			)
+		)
+		order by ts_rank_cd(t.search_vector, to_tsquery('%1$s', ?)) desc, t.id desc
+		limit ?
+		""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public PostgresTaskSearchEngine(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public List<Long> search(String query, Long assigneeId, int limit) {
+		List<String> terms = SearchTerms.ofQuery(query);
+		if (terms.isEmpty()) {
+			return List.of();
+		}
+		// Terms are letters and digits only, so they cannot form tsquery operators of their own.
+		String tsquery = terms.stream().collect(Collectors.joining(" & ")) + ":*";
+		// The same words restricted to weight A, the title.
+		String titleQuery = terms.stream().collect(Collectors.joining(":A & ")) + ":*A";
+		int candidates = Math.max(limit, RANKED_CANDIDATES);
+		List<Object> args = new ArrayList<>();
+		for (String candidateQuery : List.of(titleQuery, tsquery)) {
+			args.add(candidateQuery);
+			if (assigneeId != null) {
+				args.add(assigneeId);
+			}
+			args.add(candidates);
+		}
+		args.add(tsquery);
+		args.add(limit);
+		String sql = SEARCH_SQL.formatted(TEXT_SEARCH_CONFIG, assigneeId != null ? "and t.assignee_id = ?" : "");
+		return jdbcTemplate.queryForList(sql, Long.class, args.toArray());
+	}
+
+	@Override
+	public void indexed(Task task) {
+	}
+
+	@Override
+	public void removed(Long taskId) {
+	}
+
+	@Override
+	public String name() {
+		return "postgres";
+	}
+}
@@ -0,0 +1,125 @@
+package com.zendoge.taskmanagement.service;
+
+import com.zendoge.taskmanagement.domain.RefreshToken;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.repository.RefreshTokenRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Opaque refresh tokens that let a client get a new access token without sending the password again,
+ * so an active session costs one indexed lookup per access-token lifetime instead of a BCrypt check.
+ */
+@Service
+public class RefreshTokenService {
+	private static final int TOKEN_BYTES = 32;
+
+	private final RefreshTokenRepository refreshTokenRepository;
+	private final UserRepository userRepository;
+	private final long expirationMs;
+	private final SecureRandom random = new SecureRandom();
+	private final Counter reused;
+
+	public RefreshTokenService(
+		RefreshTokenRepository refreshTokenRepository,
+		UserRepository userRepository,
+		@Value("${security.refresh-token.expiration-ms:1209600000}") long expirationMs,
+		MeterRegistry meterRegistry
+	) {
+		this.refreshTokenRepository = refreshTokenRepository;
+		this.userRepository = userRepository;
+		this.expirationMs = expirationMs;
+		this.reused = Counter.builder("auth.refresh.reused")
+			.description("Refresh tokens presented again after rotation; each revokes its family")
+			.register(meterRegistry);
+	}
+
+	public record Rotation(AuthenticatedUser user, String refreshToken) {
+	}
+
+	/**
+	 * Starts a new family for a fresh login and returns its first token.
+	 */
+	@Transactional
+	public String issue(Long userId) {
+		return issue(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+	}
+
+	/**
+	 * Exchanges {@code token} for a successor and returns the user it belongs to. A token that was
+	 * already exchanged revokes every token of its family.
+	 */
+	@Transactional(noRollbackFor = ResponseStatusException.class)
+	public Rotation rotate(String token) {
+		RefreshToken current = refreshTokenRepository.findByTokenHash(digest(token)).orElseThrow(RefreshTokenService::invalid);
+		Instant now = Instant.now();
+		if (!current.getExpiresAt().isAfter(now)) {
+			throw invalid();
+		}
+		if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+			reused.increment();
+			refreshTokenRepository.deleteByFamily(current.getFamily());
+			throw invalid();
+		}
+		User user = current.getUser();
+		return new Rotation(AuthenticatedUser.from(user), issue(user, current.getFamily()));
+	}
+
+	/**
+	 * Ends the session {@code token} belongs to. Unknown tokens are ignored.
+	 */
+	@Transactional
+	public void revoke(String token) {
+		refreshTokenRepository.findByTokenHash(digest(token))
+			.ifPresent(current -> refreshTokenRepository.deleteByFamily(current.getFamily()));
+	}
+
+	@Scheduled(cron = "${security.refresh-token.purge-cron:0 50 3 * * *}")
+	@Transactional
+	public void purgeExpired() {
+		refreshTokenRepository.deleteExpiredBefore(Instant.now());
+	}
+
+	private String issue(User user, String family) {
+		byte[] bytes = new byte[TOKEN_BYTES];
+		random.nextBytes(bytes);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+		RefreshToken refreshToken = new RefreshToken();
+		refreshToken.setTokenHash(digest(token));
+		refreshToken.setFamily(family);
+		refreshToken.setUser(user);
+		refreshToken.setExpiresAt(Instant.now().plusMillis(expirationMs));
+		refreshTokenRepository.save(refreshToken);
+		return token;
+	}
+
+	private static ResponseStatusException invalid() {
+		return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+	}
+
+	private static String digest(String token) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(hash);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+}
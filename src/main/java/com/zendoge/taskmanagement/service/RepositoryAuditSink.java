@@ -0,0 +1,57 @@
+package com.zendoge.taskmanagement.service;
+
+import com.zendoge.taskmanagement.domain.AuditLog;
+import com.zendoge.taskmanagement.repository.AuditLogRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.web.dto.AuditSinkStatsResponse;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Synchronous sink: every entry is inserted on the calling thread, inside the caller's transaction.
+ */
+public class RepositoryAuditSink implements AuditSink {
+	private final AuditLogRepository auditLogRepository;
+	private final UserRepository userRepository;
+	private final AtomicLong written = new AtomicLong();
+
+	public RepositoryAuditSink(AuditLogRepository auditLogRepository, UserRepository userRepository) {
+		this.auditLogRepository = auditLogRepository;
+		this.userRepository = userRepository;
+	}
+
+	@Override
+	public void write(AuditRecord record) {
+		auditLogRepository.save(toEntity(record));
+		written.incrementAndGet();
+	}
+
+	@Override
+	public void writeAll(List<AuditRecord> records) {
+		auditLogRepository.saveAll(records.stream().map(this::toEntity).toList());
+		written.addAndGet(records.size());
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	@Override
+	public AuditSinkStatsResponse stats() {
+		return new AuditSinkStatsResponse("sync", 0, 0, written.get(), 0, 0, 0, 0, 0, 0);
+	}
+
+	private AuditLog toEntity(AuditRecord record) {
+		AuditLog log = new AuditLog();
+		log.setUser(userRepository.getReferenceById(record.userId()));
+		log.setAction(record.action());
+		log.setEntity(record.entity());
+		log.setEntityId(record.entityId());
+		log.setOldData(record.oldData());
+		log.setNewData(record.newData());
+		log.setFormat(record.format());
+		log.setSnapshotAt(record.snapshotAt());
+		log.setTimestamp(record.timestamp());
+		return log;
+	}
+}
@@ -0,0 +1,42 @@
+package com.zendoge.taskmanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into lower-case runs of letters and digits. Used for documents and queries alike, so
+ * user input never reaches a query parser with operators of its own.
+ */
+final class SearchTerms {
+	static final int MAX_QUERY_TERMS = 16;
+
+	private SearchTerms() {
+	}
+
+	static List<String> of(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null) {
+			return terms;
+		}
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (word && start < 0) {
+				start = i;
+			} else if (!word && start >= 0) {
+				terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+		}
+		return terms;
+	}
+
+	/**
+	 * Terms of a search box entry, capped at {@link #MAX_QUERY_TERMS}.
+	 */
+	static List<String> ofQuery(String query) {
+		List<String> terms = of(query);
+		return terms.size() > MAX_QUERY_TERMS ? terms.subList(0, MAX_QUERY_TERMS) : terms;
+	}
+}
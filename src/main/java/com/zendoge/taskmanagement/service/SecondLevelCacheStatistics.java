@@ -0,0 +1,58 @@
+package com.zendoge.taskmanagement.service;
+
+import com.zendoge.taskmanagement.domain.Task;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.web.dto.CacheRegionStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hit/miss counters from Hibernate statistics combined with the live entry count of each Caffeine region.
+ */
+@Component
+public class SecondLevelCacheStatistics {
+	private static final List<String> REGIONS = List.of(
+		User.CACHE_REGION,
+		User.NATURAL_ID_CACHE_REGION,
+		Task.CACHE_REGION
+	);
+
+	private final SessionFactoryImplementor sessionFactory;
+
+	public SecondLevelCacheStatistics(EntityManagerFactory entityManagerFactory) {
+		this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+	}
+
+	public List<CacheRegionStatsResponse> regions() {
+		Statistics statistics = sessionFactory.getStatistics();
+		return REGIONS.stream().map(region -> {
+			CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+			long hits = stats != null ? stats.getHitCount() : 0;
+			long misses = stats != null ? stats.getMissCount() : 0;
+			long puts = stats != null ? stats.getPutCount() : 0;
+			double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+			return new CacheRegionStatsResponse(region, hits, misses, puts, hitRatio, size(region));
+		}).toList();
+	}
+
+	private long size(String region) {
+		RegionFactory regionFactory = sessionFactory.getServiceRegistry().getService(RegionFactory.class);
+		if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+			return -1;
+		}
+		// Caches are named after the qualified region, which carries hibernate.cache.region_prefix when one is set.
+		String prefix = sessionFactory.getSessionFactoryOptions().getCacheRegionPrefix();
+		String name = prefix == null || prefix.isEmpty() ? region : prefix + '.' + region;
+		javax.cache.Cache<Object, Object> cache = jcache.getCacheManager().getCache(name);
+		if (cache == null) {
+			return 0;
+		}
+		return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+	}
+}
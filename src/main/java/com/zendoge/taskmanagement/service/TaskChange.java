@@ -0,0 +1,52 @@
+package com.zendoge.taskmanagement.service;
+
+import com.zendoge.taskmanagement.web.dto.TaskChangeEvent;
+import com.zendoge.taskmanagement.web.dto.TaskChangeType;
+import com.zendoge.taskmanagement.web.dto.TaskResponse;
+import java.util.Objects;
+
+/**
+ * A committed task change as fanned out to board subscribers. {@code previousAssigneeId} is the
+ * assignee before an update, so a member can be told when a task leaves their board.
+ */
+public record TaskChange(
+	TaskChangeType type,
+	Long taskId,
+	Long assigneeId,
+	Long previousAssigneeId,
+	TaskResponse task
+) {
+	public static TaskChange created(TaskResponse task) {
+		return new TaskChange(TaskChangeType.CREATED, task.id(), task.assigneeId(), null, task);
+	}
+
+	public static TaskChange updated(TaskResponse task, Long previousAssigneeId) {
+		return new TaskChange(TaskChangeType.UPDATED, task.id(), task.assigneeId(), previousAssigneeId, task);
+	}
+
+	public static TaskChange deleted(Long taskId, Long assigneeId) {
+		return new TaskChange(TaskChangeType.DELETED, taskId, assigneeId, assigneeId, null);
+	}
+
+	public static TaskChange resync() {
+		return new TaskChange(TaskChangeType.RESYNC, null, null, null, null);
+	}
+
+	/**
+	 * The change as seen by the member {@code memberId}, following the task list's visibility rule;
+	 * {@code null} if it does not concern them. A {@code null} member sees every change.
+	 */
+	public TaskChange viewFor(Long memberId) {
+		if (memberId == null || type == TaskChangeType.RESYNC || Objects.equals(assigneeId, memberId)) {
+			return this;
+		}
+		if (Objects.equals(previousAssigneeId, memberId)) {
+			return deleted(taskId, previousAssigneeId);
+		}
+		return null;
+	}
+
+	public TaskChangeEvent toEvent() {
+		return new TaskChangeEvent(type, taskId, task);
+	}
+}
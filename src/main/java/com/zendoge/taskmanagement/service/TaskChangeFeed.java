@@ -0,0 +1,343 @@
+package com.zendoge.taskmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.security.AuthenticatedUser;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes committed task changes to connected board clients as server-sent events.
+ *
+ * <p>Subscribers live in a concurrent set and each owns a bounded, lock-free buffer. The dispatcher, a
+ * small pool or a virtual thread per task, drains the buffers with at most one thread per subscriber
+ * at a time, so publishing never blocks on a client's socket. A subscriber whose buffer overflows, or
+ * whose client has not taken a write within {@code writeTimeout}, is disconnected instead of holding
+ * back the others; clients reconnect and reload. Every change is serialized once per distinct view and
+ * the bytes are shared by all subscribers receiving it.
+ *
+ * <p>A write stuck in the socket cannot be cancelled, only interrupted, and keeps its thread until
+ * the container gives up on it. While it does, a fixed pool runs with one extra thread, so the other
+ * subscribers still have the configured number.
+ */
+public class TaskChangeFeed implements DisposableBean {
+	private static final Logger log = LoggerFactory.getLogger(TaskChangeFeed.class);
+	private static final Set<DataWithMediaType> CONNECTED = SseEmitter.event().comment("connected").build();
+	private static final Set<DataWithMediaType> KEEP_ALIVE = SseEmitter.event().comment("keep-alive").build();
+	private static final long IDLE = 0;
+	private static final long ABANDONED = -1;
+
+	private final ObjectMapper objectMapper;
+	private final Executor dispatcher;
+	private final int bufferSize;
+	private final long timeoutMillis;
+	private final long writeTimeoutNanos;
+	private final int bulkThreshold;
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+	private final AtomicLong disconnected = new AtomicLong();
+	private volatile Consumer<TaskChange> relay = change -> {
+	};
+
+	/**
+	 * @param bufferSize events a subscriber may have pending before it is disconnected
+	 * @param timeout lifetime of one subscription; clients reconnect afterwards
+	 * @param writeTimeout time a single write may take before its subscriber is disconnected
+	 * @param bulkThreshold larger sets of changes are announced as a single {@code RESYNC}
+	 */
+	public TaskChangeFeed(
+		ObjectMapper objectMapper,
+		Executor dispatcher,
+		int bufferSize,
+		Duration timeout,
+		Duration writeTimeout,
+		int bulkThreshold
+	) {
+		if (bufferSize < 1 || bulkThreshold < 1) {
+			throw new IllegalArgumentException("task.stream.buffer-size and bulk-threshold must be >= 1");
+		}
+		if (writeTimeout.isNegative() || writeTimeout.isZero()) {
+			throw new IllegalArgumentException("task.stream.write-timeout must be positive");
+		}
+		this.objectMapper = objectMapper;
+		this.dispatcher = dispatcher;
+		this.bufferSize = bufferSize;
+		this.timeoutMillis = timeout.toMillis();
+		this.writeTimeoutNanos = writeTimeout.toNanos();
+		this.bulkThreshold = bulkThreshold;
+	}
+
+	public SseEmitter subscribe(AuthenticatedUser user) {
+		SseEmitter emitter = newEmitter(timeoutMillis);
+		Subscriber subscriber = new Subscriber(emitter, user.role() == UserRole.MEMBER ? user.id() : null);
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(subscriber::close);
+		emitter.onError(error -> subscriber.close());
+		subscribers.add(subscriber);
+		subscriber.offer(CONNECTED);
+		return emitter;
+	}
+
+	/**
+	 * Sends {@code change} to every subscriber allowed to see it once the current transaction
+	 * commits, and hands it to the relay for other instances.
+	 */
+	public void publish(TaskChange change) {
+		publishAll(List.of(change));
+	}
+
+	public void publishAll(List<TaskChange> changes) {
+		if (changes.isEmpty()) {
+			return;
+		}
+		List<TaskChange> published = changes.size() > bulkThreshold ? List.of(TaskChange.resync()) : changes;
+		AfterCommit.run(() -> published.forEach(change -> {
+			dispatch(change);
+			relay.accept(change);
+		}));
+	}
+
+	/**
+	 * Fans {@code change} out to the subscribers of this instance only.
+	 */
+	public void dispatch(TaskChange change) {
+		if (subscribers.isEmpty()) {
+			return;
+		}
+		Set<DataWithMediaType> full = null;
+		Set<DataWithMediaType> removal = null;
+		for (Subscriber subscriber : subscribers) {
+			TaskChange view = change.viewFor(subscriber.memberId);
+			if (view == change) {
+				full = full != null ? full : encode(change);
+				subscriber.offer(full);
+			} else if (view != null) {
+				removal = removal != null ? removal : encode(view);
+				subscriber.offer(removal);
+			}
+		}
+	}
+
+	/**
+	 * Receives every change published on this instance after the local fan-out.
+	 */
+	public void relayTo(Consumer<TaskChange> relay) {
+		this.relay = relay;
+	}
+
+	/**
+	 * Keeps idle connections from being closed by proxies and detects clients that went away.
+	 */
+	@Scheduled(fixedDelayString = "${task.stream.heartbeat-interval:PT25S}")
+	public void heartbeat() {
+		subscribers.forEach(subscriber -> subscriber.offer(KEEP_ALIVE));
+	}
+
+	/**
+	 * Disconnects subscribers whose current write has been blocked for longer than the write timeout.
+	 */
+	@Scheduled(fixedDelayString = "${task.stream.write-check-interval:PT1S}")
+	public void disconnectStalled() {
+		long now = System.nanoTime();
+		subscribers.forEach(subscriber -> {
+			long started = subscriber.writeStartedNanos.get();
+			if (started != IDLE && started != ABANDONED && now - started > writeTimeoutNanos) {
+				subscriber.abandon(started);
+			}
+		});
+	}
+
+	public int subscriberCount() {
+		return subscribers.size();
+	}
+
+	/**
+	 * Subscribers dropped because their buffer overflowed, a write timed out or their connection failed.
+	 */
+	public long disconnectedCount() {
+		return disconnected.get();
+	}
+
+	@Override
+	public void destroy() {
+		subscribers.forEach(subscriber -> subscriber.emitter.complete());
+		subscribers.clear();
+		if (dispatcher instanceof ExecutorService executor) {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * The emitter of a new subscription.
+	 */
+	protected SseEmitter newEmitter(long timeoutMillis) {
+		return new SseEmitter(timeoutMillis);
+	}
+
+	/**
+	 * Adds a pool thread for a drain stuck in a write ({@code +1}) or gives it back ({@code -1}).
+	 */
+	private void resizeDispatcher(int delta) {
+		if (!(dispatcher instanceof ThreadPoolExecutor pool)) {
+			return;
+		}
+		synchronized (pool) {
+			if (delta > 0) {
+				pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+				pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+			} else {
+				pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+				pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+			}
+		}
+	}
+
+	private Set<DataWithMediaType> encode(TaskChange change) {
+		try {
+			return SseEmitter.event()
+				.name(change.type().name().toLowerCase(Locale.ROOT))
+				.data(objectMapper.writeValueAsString(change.toEvent()))
+				.build();
+		} catch (JsonProcessingException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private final class Subscriber {
+		private final SseEmitter emitter;
+		private final Long memberId;
+		private final Queue<Set<DataWithMediaType>> buffer = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger buffered = new AtomicInteger();
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private volatile boolean closed;
+		// When the write in progress started, IDLE between writes, or ABANDONED once disconnectStalled gave
+		// up on it; only the drain resets ABANDONED.
+		private final AtomicLong writeStartedNanos = new AtomicLong(IDLE);
+		private volatile Thread writer;
+
+		private Subscriber(SseEmitter emitter, Long memberId) {
+			this.emitter = emitter;
+			this.memberId = memberId;
+		}
+
+		private void offer(Set<DataWithMediaType> event) {
+			if (closed) {
+				return;
+			}
+			if (buffered.incrementAndGet() > bufferSize) {
+				log.debug("Disconnecting task feed subscriber with {} undelivered events", bufferSize);
+				disconnect();
+				return;
+			}
+			buffer.add(event);
+			schedule();
+		}
+
+		private void schedule() {
+			if (!draining.compareAndSet(false, true)) {
+				return;
+			}
+			try {
+				dispatcher.execute(this::drain);
+			} catch (RejectedExecutionException ex) {
+				draining.set(false);
+				close();
+			}
+		}
+
+		private void drain() {
+			writer = Thread.currentThread();
+			try {
+				Set<DataWithMediaType> event;
+				while (!closed && (event = buffer.poll()) != null) {
+					buffered.decrementAndGet();
+					long started = System.nanoTime();
+					started = started == IDLE || started == ABANDONED ? 1 : started;
+					writeStartedNanos.set(started);
+					emitter.send(event);
+					if (!writeStartedNanos.compareAndSet(started, IDLE)) {
+						break;
+					}
+				}
+			} catch (IOException | IllegalStateException ex) {
+				// The client went away or the emitter already completed.
+				disconnect();
+			} finally {
+				writer = null;
+				if (writeStartedNanos.getAndSet(IDLE) == ABANDONED) {
+					// The abandoned write returned or failed at last; finish what abandon() could not.
+					Thread.interrupted();
+					close();
+					resizeDispatcher(-1);
+				}
+				draining.set(false);
+			}
+			// An event offered between the last poll and clearing the flag found the flag still set.
+			if (!closed && !buffer.isEmpty()) {
+				schedule();
+			}
+		}
+
+		/**
+		 * Disconnects a subscriber whose write is stuck. Completing the emitter would wait for that write,
+		 * so the writing thread completes it once the write returns.
+		 */
+		private void abandon(long writeStarted) {
+			if (!writeStartedNanos.compareAndSet(writeStarted, ABANDONED)) {
+				return;
+			}
+			log.debug("Disconnecting task feed subscriber whose write has been blocked for over {} ms",
+				writeTimeoutNanos / 1_000_000);
+			if (!closed) {
+				disconnected.incrementAndGet();
+			}
+			closed = true;
+			subscribers.remove(this);
+			buffer.clear();
+			resizeDispatcher(1);
+			Thread blocked = writer;
+			if (blocked != null) {
+				blocked.interrupt();
+			}
+		}
+
+		private void disconnect() {
+			if (!closed) {
+				disconnected.incrementAndGet();
+			}
+			close();
+		}
+
+		private void close() {
+			closed = true;
+			subscribers.remove(this);
+			buffer.clear();
+			try {
+				emitter.complete();
+			} catch (IllegalStateException ex) {
+				// The container already recycled the response of a connection that went away.
+			}
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.zendoge.taskmanagement.service;
+
+import com.zendoge.taskmanagement.domain.Task;
+import java.util.List;
+
+/**
+ * Full-text search over task titles and descriptions. Every query term has to match. The last term
+ * also matches as a prefix, so results follow the user while typing. Title matches rank above
+ * description matches.
+ *
+ * <p>{@link TaskService} reports each write through {@link #indexed} and {@link #removed} from inside
+ * its transaction. An engine that keeps its own index applies them once the transaction commits.
+ */
+public interface TaskSearchEngine {
+	/**
+	 * Ids of the best {@code limit} matches, best first.
+	 *
+	 * @param assigneeId only tasks assigned to this user, or {@code null} for all tasks
+	 */
+	List<Long> search(String query, Long assigneeId, int limit);
+
+	void indexed(Task task);
+
+	void removed(Long taskId);
+
+	/** Name reported in logs: {@code postgres} or {@code memory}. */
+	String name();
+}
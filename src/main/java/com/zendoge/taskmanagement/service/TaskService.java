@@ -2,72 +2,521 @@ package com.zendoge.taskmanagement.service;
 
 import com.zendoge.taskmanagement.domain.Task;
 import com.zendoge.taskmanagement.domain.TaskStatus;
+import com.zendoge.taskmanagement.domain.TaskTombstone;
+import com.zendoge.taskmanagement.domain.TaskTombstoneReason;
 import com.zendoge.taskmanagement.domain.User;
 import com.zendoge.taskmanagement.domain.UserRole;
 import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.repository.TaskTombstoneRepository;
+import com.zendoge.taskmanagement.repository.TaskWatermarkRow;
 import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.security.AuthenticatedUser;
+import com.zendoge.taskmanagement.security.CurrentUserResolver;
+import com.zendoge.taskmanagement.web.dto.TaskBatchAction;
+import com.zendoge.taskmanagement.web.dto.TaskBatchOperation;
+import com.zendoge.taskmanagement.web.dto.TaskBatchResponse;
+import com.zendoge.taskmanagement.web.dto.TaskChangesResponse;
 import com.zendoge.taskmanagement.web.dto.TaskCreateRequest;
+import com.zendoge.taskmanagement.web.dto.TaskFilter;
+import com.zendoge.taskmanagement.web.dto.TaskPageResponse;
 import com.zendoge.taskmanagement.web.dto.TaskResponse;
+import com.zendoge.taskmanagement.web.dto.TaskSort;
+import com.zendoge.taskmanagement.web.dto.TaskStatsResponse;
 import com.zendoge.taskmanagement.web.dto.TaskUpdateRequest;
+import io.micrometer.core.annotation.Timed;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+/**
+ * Every public operation is timed as {@code task.operation}, tagged with the method name, when metrics
+ * are enabled.
+ */
 @Service
+@Timed(value = "task.operation", description = "Task service operations, including their transaction")
 public class TaskService {
+	public static final int MAX_PAGE_SIZE = 500;
+	public static final int MAX_BATCH_SIZE = 1000;
+	private static final Instant NO_LIMIT = Instant.parse("9999-12-31T00:00:00Z");
+
 	private final TaskRepository taskRepository;
+	private final TaskTombstoneRepository taskTombstoneRepository;
 	private final UserRepository userRepository;
 	private final AuditService auditService;
+	private final TaskStatistics taskStatistics;
+	private final TaskChangeFeed taskChangeFeed;
+	private final TaskSearchEngine taskSearchEngine;
+	private final CurrentUserResolver currentUserResolver;
+	private final Duration settleWindow;
+	private final Duration tombstoneRetention;
 
-	public TaskService(TaskRepository taskRepository, UserRepository userRepository, AuditService auditService) {
+	public TaskService(
+		TaskRepository taskRepository,
+		TaskTombstoneRepository taskTombstoneRepository,
+		UserRepository userRepository,
+		AuditService auditService,
+		TaskStatistics taskStatistics,
+		TaskChangeFeed taskChangeFeed,
+		TaskSearchEngine taskSearchEngine,
+		CurrentUserResolver currentUserResolver,
+		@Value("${task.changes.settle-window:PT5S}") Duration settleWindow,
+		@Value("${task.changes.tombstone-retention:P30D}") Duration tombstoneRetention
+	) {
 		this.taskRepository = taskRepository;
+		this.taskTombstoneRepository = taskTombstoneRepository;
 		this.userRepository = userRepository;
 		this.auditService = auditService;
+		this.taskStatistics = taskStatistics;
+		this.taskChangeFeed = taskChangeFeed;
+		this.taskSearchEngine = taskSearchEngine;
+		this.currentUserResolver = currentUserResolver;
+		this.settleWindow = settleWindow;
+		this.tombstoneRetention = tombstoneRetention;
+	}
+
+	/**
+	 * Visible tasks matching {@code filter}, in {@code sort} order.
+	 */
+	@Transactional(readOnly = true)
+	public List<TaskResponse> listTasks(TaskFilter filter, TaskSort sort, boolean withDescription) {
+		return taskRepository.findMatching(scoped(filter), sort, null, null, withDescription, null);
+	}
+
+	/**
+	 * Watermark of every task the current user can list, so also of any filtered list; see
+	 * {@link TaskWatermarkRow}.
+	 */
+	@Transactional(readOnly = true)
+	public TaskWatermarkRow listWatermark() {
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		Instant settledAt = Instant.now().truncatedTo(ChronoUnit.MICROS).minus(settleWindow);
+		return currentUser.role() == UserRole.MEMBER
+			? taskRepository.findWatermarkByAssigneeId(currentUser.id(), settledAt)
+			: taskRepository.findWatermark(settledAt);
+	}
+
+	/**
+	 * Tasks matching {@code query}, best first, among those {@link #listTasks} would return.
+	 */
+	@Transactional(readOnly = true)
+	public List<TaskResponse> search(String query, int limit, boolean withDescription) {
+		if (query == null || query.isBlank()) {
+			throw new IllegalArgumentException("q must not be blank");
+		}
+		if (limit < 1 || limit > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		Long assigneeId = currentUser.role() == UserRole.MEMBER ? currentUser.id() : null;
+		List<Long> ids = taskSearchEngine.search(query, assigneeId, limit);
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, TaskResponse> found = new HashMap<>();
+		for (TaskResponse task : taskRepository.findResponsesByIdIn(ids, withDescription)) {
+			// Checked again against the row: an in-memory index may trail a reassignment made elsewhere.
+			if (assigneeId == null || assigneeId.equals(task.assigneeId())) {
+				found.put(task.id(), task);
+			}
+		}
+		return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+	}
+
+	@Transactional(readOnly = true)
+	public TaskResponse getTask(Long id) {
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		Task task = taskRepository.findById(id)
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+		if (currentUser.role() == UserRole.MEMBER) {
+			validateMemberAccess(currentUser, task);
+		}
+		return toResponse(task);
+	}
+
+	/**
+	 * Keyset page of {@link #listTasks}. The cursor holds the sort key and id of the last task, so it
+	 * is only meaningful with the filter and sort it was issued for.
+	 */
+	@Transactional(readOnly = true)
+	public TaskPageResponse listTasksPage(TaskFilter filter, TaskSort sort, String cursor, int limit, boolean withDescription) {
+		if (limit < 1 || limit > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		TaskFilter scoped = scoped(filter);
+		KeysetCursor after = KeysetCursor.decode(cursor);
+		List<TaskResponse> tasks = taskRepository.findMatching(
+			scoped,
+			sort,
+			after != null ? after.at() : null,
+			after != null ? after.id() : null,
+			withDescription,
+			limit + 1
+		);
+
+		boolean hasMore = tasks.size() > limit;
+		List<TaskResponse> page = hasMore ? tasks.subList(0, limit) : tasks;
+		String next = null;
+		if (hasMore) {
+			TaskResponse last = page.get(page.size() - 1);
+			next = new KeysetCursor(sort.keyOf(last), last.id()).encode();
+		}
+		return new TaskPageResponse(page, next);
+	}
+
+	/**
+	 * Pushes every visible task to {@code sink} through a forward-only cursor. Rows are projected
+	 * straight into responses, so nothing accumulates in the persistence context regardless of table size.
+	 */
+	@Transactional(readOnly = true)
+	public void streamTasks(TaskFilter filter, TaskSort sort, boolean withDescription, Consumer<TaskResponse> sink) {
+		TaskFilter scoped = scoped(filter);
+		try (Stream<TaskResponse> tasks = taskRepository.streamMatching(scoped, sort, withDescription)) {
+			tasks.forEach(sink);
+		}
+	}
+
+	/**
+	 * Validates {@code filter} and narrows it to what the current user may list: members only see tasks
+	 * assigned to them, and asking for anyone else's is forbidden.
+	 */
+	private TaskFilter scoped(TaskFilter filter) {
+		if (filter.unassigned() && filter.assigneeId() != null) {
+			throw new IllegalArgumentException("unassigned cannot be combined with assigneeId");
+		}
+		if (filter.createdFrom() != null && filter.createdTo() != null && !filter.createdFrom().isBefore(filter.createdTo())) {
+			throw new IllegalArgumentException("createdFrom must be before createdTo");
+		}
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		if (currentUser.role() != UserRole.MEMBER) {
+			return filter;
+		}
+		if (filter.unassigned() || (filter.assigneeId() != null && !filter.assigneeId().equals(currentUser.id()))) {
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Members can only list their own tasks");
+		}
+		return filter.withAssigneeId(currentUser.id());
 	}
 
-	public List<TaskResponse> listTasks() {
-		User currentUser = requireCurrentUser();
-		List<Task> tasks = currentUser.getRole() == UserRole.MEMBER
-			? taskRepository.findByAssigneeId(currentUser.getId())
-			: taskRepository.findAll();
-		return tasks.stream().map(this::toResponse).toList();
+	/**
+	 * Tasks written after {@code since} that the current user can see, oldest first, and the tasks that
+	 * left their view in the same span: deleted ones and, for members, ones reassigned to someone else.
+	 * Without {@code since} only a starting token is returned; the caller then loads the full list.
+	 *
+	 * <p>Rows are stamped before they commit, so a slow transaction can become visible with a stamp
+	 * below ones already returned. The final token therefore stays {@code settleWindow} behind the
+	 * clock and the overlap is sent again; clients apply upserts by version and deletions idempotently.
+	 */
+	@Transactional(readOnly = true)
+	public TaskChangesResponse listChanges(String since, int limit) {
+		if (limit < 1 || limit > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+		KeysetCursor settled = new KeysetCursor(now.minus(settleWindow), 0L);
+		KeysetCursor after = KeysetCursor.decode(since);
+		if (after == null) {
+			return new TaskChangesResponse(List.of(), List.of(), settled.encode(), false);
+		}
+		if (after.at().isBefore(now.minus(tombstoneRetention))) {
+			throw new ResponseStatusException(HttpStatus.GONE, "Sync token expired; reload all tasks");
+		}
+
+		boolean member = currentUser.role() == UserRole.MEMBER;
+		Limit window = Limit.of(limit + 1);
+		List<TaskResponse> changed = member
+			? taskRepository.findChangedByAssigneeAfter(currentUser.id(), after.at(), after.id(), true, window)
+			: taskRepository.findChangedAfter(after.at(), after.id(), true, window);
+		boolean hasMore = changed.size() > limit;
+		List<TaskResponse> upserts = hasMore ? changed.subList(0, limit) : changed;
+		KeysetCursor reached = null;
+		if (hasMore) {
+			TaskResponse last = upserts.get(upserts.size() - 1);
+			reached = new KeysetCursor(last.updatedAt(), last.id());
+		}
+
+		// Removals up to the last upsert keep a page consistent; the last page takes all of them.
+		Instant until = hasMore ? reached.at() : NO_LIMIT;
+		List<Long> deletions = new ArrayList<>(member
+			? taskTombstoneRepository.findRemovedTaskIds(currentUser.id(), after.at(), until)
+			: taskTombstoneRepository.findDeletedTaskIds(after.at(), until));
+		if (!deletions.isEmpty() && !upserts.isEmpty()) {
+			// Reassigned away and back: the upsert is the current state.
+			Set<Long> upserted = new HashSet<>();
+			upserts.forEach(task -> upserted.add(task.id()));
+			deletions.removeIf(upserted::contains);
+		}
+		// The last page saw every write committed so far, so the token moves on to the settle point.
+		KeysetCursor next = hasMore ? reached : settled;
+		return new TaskChangesResponse(upserts, deletions, next.encode(), hasMore);
+	}
+
+	/**
+	 * Tokens older than the retention are answered with 410, so no client needs older tombstones.
+	 */
+	@Scheduled(cron = "${task.changes.purge-cron:0 45 3 * * *}")
+	@Transactional
+	public void purgeTombstones() {
+		taskTombstoneRepository.deleteRemovedBefore(Instant.now().minus(tombstoneRetention));
+	}
+
+	/**
+	 * Subscribes the current user to changes of the tasks {@link #listTasks} would show them.
+	 */
+	public SseEmitter subscribeChanges() {
+		return taskChangeFeed.subscribe(currentUserResolver.require());
+	}
+
+	public TaskStatsResponse stats() {
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		Map<Long, long[]> counts = currentUser.role() == UserRole.MEMBER
+			? Map.of(currentUser.id(), taskStatistics.countsFor(currentUser.id()))
+			: taskStatistics.snapshot();
+
+		TaskStatus[] statuses = TaskStatus.values();
+		long[] byStatus = new long[statuses.length];
+		List<TaskStatsResponse.AssigneeCount> byAssignee = new ArrayList<>();
+		counts.forEach((assigneeId, values) -> {
+			long sum = 0;
+			for (int i = 0; i < values.length; i++) {
+				byStatus[i] += values[i];
+				sum += values[i];
+			}
+			if (sum > 0) {
+				Long id = assigneeId == TaskStatistics.UNASSIGNED ? null : assigneeId;
+				byAssignee.add(new TaskStatsResponse.AssigneeCount(id, sum));
+			}
+		});
+		byAssignee.sort(Comparator.comparing(
+			TaskStatsResponse.AssigneeCount::assigneeId,
+			Comparator.nullsFirst(Comparator.naturalOrder())
+		));
+
+		Map<TaskStatus, Long> statusCounts = new EnumMap<>(TaskStatus.class);
+		long total = 0;
+		for (TaskStatus status : statuses) {
+			statusCounts.put(status, byStatus[status.ordinal()]);
+			total += byStatus[status.ordinal()];
+		}
+		long mine = 0;
+		for (long value : taskStatistics.countsFor(currentUser.id())) {
+			mine += value;
+		}
+		double completion = total == 0 ? 0 : statusCounts.get(TaskStatus.DONE) * 100.0 / total;
+		return new TaskStatsResponse(total, statusCounts, byAssignee, mine, completion);
 	}
 
 	public TaskResponse create(TaskCreateRequest request) {
-		User currentUser = requireCurrentUser();
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		TaskResponse created = toResponse(createTask(currentUser, request, this::requireAssignee));
+		taskChangeFeed.publish(TaskChange.created(created));
+		return created;
+	}
+
+	/**
+	 * @param expectedVersions versions the client's copy may have ({@code If-Match}); {@code null}
+	 *        updates unconditionally. A concurrent update is still detected by the version check at flush.
+	 */
+	@Transactional
+	public TaskResponse update(Long id, TaskUpdateRequest request, Set<Long> expectedVersions) {
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		Task task = taskRepository.findById(id)
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+		if (expectedVersions != null && !expectedVersions.contains(task.getVersion())) {
+			throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified");
+		}
+		Long previousVersion = task.getVersion();
+		Long previousAssigneeId = assigneeId(task);
+		try {
+			Task updated = updateTask(currentUser, task, request, this::requireAssignee);
+			// Flushed here so that the response carries the new version and timestamp.
+			taskRepository.flush();
+			TaskResponse response = toResponse(updated);
+			if (!Objects.equals(updated.getVersion(), previousVersion)) {
+				taskChangeFeed.publish(TaskChange.updated(response, previousAssigneeId));
+			}
+			return response;
+		} catch (OptimisticLockingFailureException ex) {
+			if (expectedVersions != null) {
+				throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified");
+			}
+			throw ex;
+		}
+	}
+
+	@Transactional
+	public void delete(Long id) {
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		Task task = taskRepository.findById(id)
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+		deleteTask(currentUser, task);
+		taskChangeFeed.publish(TaskChange.deleted(task.getId(), assigneeId(task)));
+	}
+
+	/**
+	 * Applies every operation inside one transaction and reports each outcome separately. Referenced
+	 * tasks and assignees are loaded up front with one query each, and the inserts, updates and audit
+	 * rows are flushed as JDBC batches before the results are built, so they carry the new versions. An operation that is rejected (role, validation,
+	 * missing task) leaves no trace and does not stop the others.
+	 */
+	@Transactional
+	public TaskBatchResponse applyBatch(List<TaskBatchOperation> operations) {
+		if (operations.size() > MAX_BATCH_SIZE) {
+			throw new IllegalArgumentException("A batch may contain at most " + MAX_BATCH_SIZE + " operations");
+		}
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		if (currentUser.role() == UserRole.VIEWER) {
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Viewers have read-only access");
+		}
+
+		Set<Long> taskIds = new HashSet<>();
+		Set<Long> assigneeIds = new HashSet<>();
+		for (TaskBatchOperation operation : operations) {
+			if (operation.action() != TaskBatchAction.CREATE && operation.id() != null) {
+				taskIds.add(operation.id());
+			}
+			if (operation.assigneeId() != null) {
+				assigneeIds.add(operation.assigneeId());
+			}
+		}
+		Map<Long, Task> tasks = new HashMap<>();
+		taskRepository.findAllById(taskIds).forEach(task -> tasks.put(task.getId(), task));
+		Map<Long, User> assignees = new HashMap<>();
+		userRepository.findAllById(assigneeIds).forEach(user -> assignees.put(user.getId(), user));
+		Function<Long, User> assigneeLookup = id -> {
+			User assignee = assignees.get(id);
+			if (assignee == null) {
+				throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Assignee not found");
+			}
+			return assignee;
+		};
+
+		List<TaskBatchResponse.Result> results = new ArrayList<>(operations.size());
+		List<BatchWrite> writes = new ArrayList<>();
+		int succeeded = 0;
+		for (int index = 0; index < operations.size(); index++) {
+			TaskBatchOperation operation = operations.get(index);
+			try {
+				TaskBatchResponse.Result result = switch (operation.action()) {
+					case CREATE -> {
+						requireRole(currentUser, "Only admins and managers can create tasks", UserRole.ADMIN, UserRole.MANAGER);
+						if (operation.title() == null || operation.title().isBlank()) {
+							throw new IllegalArgumentException("title is required");
+						}
+						if (operation.status() != null) {
+							throw new IllegalArgumentException("status cannot be set on create");
+						}
+						TaskCreateRequest request = new TaskCreateRequest(
+							operation.title(), operation.description(), operation.assigneeId());
+						writes.add(new BatchWrite(index, operation, HttpStatus.CREATED,
+							createTask(currentUser, request, assigneeLookup), null, null));
+						yield null;
+					}
+					case UPDATE -> {
+						Task task = batchTask(tasks, operation);
+						Long previousVersion = task.getVersion();
+						Long previousAssigneeId = assigneeId(task);
+						TaskUpdateRequest request = new TaskUpdateRequest(
+							operation.title(), operation.description(), operation.status(), operation.assigneeId());
+						writes.add(new BatchWrite(index, operation, HttpStatus.OK,
+							updateTask(currentUser, task, request, assigneeLookup), previousVersion, previousAssigneeId));
+						yield null;
+					}
+					case DELETE -> {
+						requireRole(currentUser, "Only admins can delete tasks", UserRole.ADMIN);
+						Task task = batchTask(tasks, operation);
+						deleteTask(currentUser, task);
+						tasks.remove(task.getId());
+						writes.add(new BatchWrite(index, operation, HttpStatus.NO_CONTENT, task, null, assigneeId(task)));
+						yield null;
+					}
+				};
+				results.add(result);
+				succeeded++;
+			} catch (ResponseStatusException ex) {
+				results.add(TaskBatchResponse.Result.failure(
+					index, operation, ex.getStatusCode().value(), ex.getReason()));
+			} catch (IllegalArgumentException ex) {
+				results.add(TaskBatchResponse.Result.failure(
+					index, operation, HttpStatus.BAD_REQUEST.value(), ex.getMessage()));
+			}
+		}
+		// Versions are bumped at flush, so results and change events are built afterwards, in operation order.
+		taskRepository.flush();
+		List<TaskChange> changes = new ArrayList<>(writes.size());
+		for (BatchWrite write : writes) {
+			TaskResponse task = write.status() == HttpStatus.NO_CONTENT ? null : toResponse(write.task());
+			results.set(write.index(), TaskBatchResponse.Result.success(write.index(), write.operation(), write.status(), task));
+			TaskChange change = write.change(task);
+			if (change != null) {
+				changes.add(change);
+			}
+		}
+		taskChangeFeed.publishAll(changes);
+		return new TaskBatchResponse(succeeded, operations.size() - succeeded, results);
+	}
+
+	private Task createTask(
+		AuthenticatedUser currentUser,
+		TaskCreateRequest request,
+		Function<Long, User> assigneeLookup
+	) {
 		Task task = new Task();
 		task.setTitle(request.title());
 		task.setDescription(request.description());
 		task.setStatus(TaskStatus.TODO);
-		task.setCreatedBy(currentUser);
+		task.setCreatedBy(userRepository.getReferenceById(currentUser.id()));
 		if (request.assigneeId() != null) {
-			User assignee = userRepository.findById(request.assigneeId())
-				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Assignee not found"));
-			task.setAssignee(assignee);
+			task.setAssignee(assigneeLookup.apply(request.assigneeId()));
 		}
 		Task saved = taskRepository.save(task);
-		auditService.log(currentUser, "CREATE", "TASK", saved.getId(), null, snapshot(saved));
-		return toResponse(saved);
+		auditService.log(currentUser.id(), "CREATE", "TASK", saved.getId(), null, snapshot(saved));
+		taskStatistics.recordCreated(assigneeId(saved), saved.getStatus());
+		taskSearchEngine.indexed(saved);
+		return saved;
 	}
 
-	public TaskResponse update(Long id, TaskUpdateRequest request) {
-		User currentUser = requireCurrentUser();
-		Task task = taskRepository.findById(id)
-			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+	/**
+	 * Every check runs before the first setter so that a rejected update never leaves a dirty,
+	 * managed entity behind; inside a batch that entity would otherwise be flushed with the rest.
+	 */
+	private Task updateTask(
+		AuthenticatedUser currentUser,
+		Task task,
+		TaskUpdateRequest request,
+		Function<Long, User> assigneeLookup
+	) {
 		Map<String, Object> before = snapshot(task);
+		Long previousAssigneeId = assigneeId(task);
+		TaskStatus previousStatus = task.getStatus();
 
 		boolean changed = false;
 
-		if (currentUser.getRole() == UserRole.VIEWER) {
+		if (currentUser.role() == UserRole.VIEWER) {
 			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Viewers have read-only access");
 		}
 
-		if (currentUser.getRole() == UserRole.MEMBER) {
+		if (currentUser.role() == UserRole.MEMBER) {
 			validateMemberAccess(currentUser, task);
 			if (request.title() != null || request.description() != null || request.assigneeId() != null) {
 				throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Members can only update status");
@@ -80,10 +529,16 @@ public class TaskService {
 			
 			if (changed) {
 				Task saved = taskRepository.save(task);
-				auditService.log(currentUser, "UPDATE", "TASK", saved.getId(), before, snapshot(saved));
-				return toResponse(saved);
+				auditService.logChange(currentUser.id(), "UPDATE", "TASK", saved.getId(), before, snapshot(saved));
+				taskStatistics.recordChanged(previousAssigneeId, previousStatus, assigneeId(saved), saved.getStatus());
+				return saved;
 			}
-			return toResponse(task);
+			return task;
+		}
+
+		User newAssignee = null;
+		if (request.assigneeId() != null && !request.assigneeId().equals(previousAssigneeId)) {
+			newAssignee = assigneeLookup.apply(request.assigneeId());
 		}
 
 		if (request.title() != null && !request.title().equals(task.getTitle())) {
@@ -98,43 +553,60 @@ public class TaskService {
 			task.setStatus(request.status());
 			changed = true;
 		}
-		if (request.assigneeId() != null) {
-			Long currentAssigneeId = task.getAssignee() != null ? task.getAssignee().getId() : null;
-			if (!request.assigneeId().equals(currentAssigneeId)) {
-				User assignee = userRepository.findById(request.assigneeId())
-					.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Assignee not found"));
-				task.setAssignee(assignee);
-				changed = true;
-			}
+		if (newAssignee != null) {
+			task.setAssignee(newAssignee);
+			changed = true;
 		}
 
 		if (changed) {
 			Task saved = taskRepository.save(task);
-			auditService.log(currentUser, "UPDATE", "TASK", saved.getId(), before, snapshot(saved));
-			return toResponse(saved);
+			auditService.logChange(currentUser.id(), "UPDATE", "TASK", saved.getId(), before, snapshot(saved));
+			taskStatistics.recordChanged(previousAssigneeId, previousStatus, assigneeId(saved), saved.getStatus());
+			taskSearchEngine.indexed(saved);
+			if (newAssignee != null && previousAssigneeId != null) {
+				taskTombstoneRepository.save(
+					new TaskTombstone(saved.getId(), previousAssigneeId, TaskTombstoneReason.UNASSIGNED));
+			}
+			return saved;
 		}
-		return toResponse(task);
+		return task;
 	}
 
-	public void delete(Long id) {
-		User currentUser = requireCurrentUser();
-		Task task = taskRepository.findById(id)
-			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
-		auditService.log(currentUser, "DELETE", "TASK", task.getId(), snapshot(task), null);
+	private void deleteTask(AuthenticatedUser currentUser, Task task) {
+		auditService.log(currentUser.id(), "DELETE", "TASK", task.getId(), snapshot(task), null);
+		taskTombstoneRepository.save(new TaskTombstone(task.getId(), assigneeId(task), TaskTombstoneReason.DELETED));
 		taskRepository.delete(task);
+		taskStatistics.recordDeleted(assigneeId(task), task.getStatus());
+		taskSearchEngine.removed(task.getId());
+	}
+
+	private User requireAssignee(Long assigneeId) {
+		return userRepository.findById(assigneeId)
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Assignee not found"));
 	}
 
-	private User requireCurrentUser() {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		if (authentication == null || authentication.getName() == null) {
-			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No authenticated user");
+	private static Task batchTask(Map<Long, Task> tasks, TaskBatchOperation operation) {
+		if (operation.id() == null) {
+			throw new IllegalArgumentException("id is required for " + operation.action());
+		}
+		Task task = tasks.get(operation.id());
+		if (task == null) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found");
 		}
-		return userRepository.findByEmail(authentication.getName())
-			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+		return task;
 	}
 
-	private void validateMemberAccess(User currentUser, Task task) {
-		if (task.getAssignee() == null || !task.getAssignee().getId().equals(currentUser.getId())) {
+	private static void requireRole(AuthenticatedUser currentUser, String message, UserRole... allowed) {
+		for (UserRole role : allowed) {
+			if (currentUser.role() == role) {
+				return;
+			}
+		}
+		throw new ResponseStatusException(HttpStatus.FORBIDDEN, message);
+	}
+
+	private void validateMemberAccess(AuthenticatedUser currentUser, Task task) {
+		if (task.getAssignee() == null || !task.getAssignee().getId().equals(currentUser.id())) {
 			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Task not assigned to current user");
 		}
 	}
@@ -153,7 +625,11 @@ public class TaskService {
 		}
 	}
 
-	private TaskResponse toResponse(Task task) {
+	private static Long assigneeId(Task task) {
+		return task.getAssignee() != null ? task.getAssignee().getId() : null;
+	}
+
+	static TaskResponse toResponse(Task task) {
 		Long assigneeId = task.getAssignee() != null ? task.getAssignee().getId() : null;
 		return new TaskResponse(
 			task.getId(),
@@ -162,11 +638,35 @@ public class TaskService {
 			task.getStatus(),
 			assigneeId,
 			task.getCreatedBy().getId(),
-			task.getCreatedAt()
+			task.getCreatedAt(),
+			task.getUpdatedAt(),
+			task.getVersion()
 		);
 	}
 
-	private Map<String, Object> snapshot(Task task) {
+	/**
+	 * A successful operation whose result is built once the batch has been flushed.
+	 */
+	private record BatchWrite(
+		int index,
+		TaskBatchOperation operation,
+		HttpStatus status,
+		Task task,
+		Long previousVersion,
+		Long previousAssigneeId
+	) {
+		TaskChange change(TaskResponse response) {
+			return switch (operation.action()) {
+				case CREATE -> TaskChange.created(response);
+				case UPDATE -> Objects.equals(task.getVersion(), previousVersion)
+					? null
+					: TaskChange.updated(response, previousAssigneeId);
+				case DELETE -> TaskChange.deleted(task.getId(), previousAssigneeId);
+			};
+		}
+	}
+
+	static Map<String, Object> snapshot(Task task) {
 		Map<String, Object> data = new HashMap<>();
 		data.put("id", task.getId());
 		data.put("title", task.getTitle());
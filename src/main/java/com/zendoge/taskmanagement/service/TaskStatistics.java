@@ -0,0 +1,138 @@
+package com.zendoge.taskmanagement.service;
+
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import com.zendoge.taskmanagement.repository.TaskCountRow;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory task counters keyed by assignee and status.
+ *
+ * <p>Counters are seeded from a single {@code GROUP BY} query and then kept current by the deltas
+ * {@link TaskService} reports on every write, so reads never touch the database. Writes that bypass
+ * the service (other instances, manual SQL) are picked up by a periodic re-seed every
+ * {@code task.stats.resync-interval}, or immediately via {@link #invalidate()}.
+ */
+@Component
+public class TaskStatistics {
+	static final long UNASSIGNED = 0L;
+	private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+	private final TaskRepository taskRepository;
+	private final Duration resyncInterval;
+
+	// A lock rather than synchronized: seeding queries the database, which would pin a virtual thread.
+	private final ReentrantLock seedLock = new ReentrantLock();
+	private volatile Map<Long, AtomicLongArray> counters;
+	private volatile Instant seededAt = Instant.MIN;
+
+	public TaskStatistics(
+		TaskRepository taskRepository,
+		@Value("${task.stats.resync-interval:PT5M}") Duration resyncInterval
+	) {
+		this.taskRepository = taskRepository;
+		this.resyncInterval = resyncInterval;
+	}
+
+	/**
+	 * Returns a point-in-time copy of the counters, indexed by {@link TaskStatus#ordinal()}, keyed by
+	 * assignee id ({@code 0} for unassigned tasks).
+	 */
+	public Map<Long, long[]> snapshot() {
+		Map<Long, AtomicLongArray> current = current();
+		Map<Long, long[]> copy = new HashMap<>();
+		current.forEach((assigneeId, counts) -> {
+			long[] values = new long[STATUSES.length];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = counts.get(i);
+			}
+			copy.put(assigneeId, values);
+		});
+		return copy;
+	}
+
+	public long[] countsFor(Long assigneeId) {
+		AtomicLongArray counts = current().get(key(assigneeId));
+		long[] values = new long[STATUSES.length];
+		if (counts != null) {
+			for (int i = 0; i < values.length; i++) {
+				values[i] = counts.get(i);
+			}
+		}
+		return values;
+	}
+
+	public void recordCreated(Long assigneeId, TaskStatus status) {
+		AfterCommit.run(() -> adjust(assigneeId, status, 1));
+	}
+
+	public void recordDeleted(Long assigneeId, TaskStatus status) {
+		AfterCommit.run(() -> adjust(assigneeId, status, -1));
+	}
+
+	public void recordChanged(Long oldAssigneeId, TaskStatus oldStatus, Long newAssigneeId, TaskStatus newStatus) {
+		if (key(oldAssigneeId) == key(newAssigneeId) && oldStatus == newStatus) {
+			return;
+		}
+		AfterCommit.run(() -> {
+			adjust(oldAssigneeId, oldStatus, -1);
+			adjust(newAssigneeId, newStatus, 1);
+		});
+	}
+
+	/**
+	 * Drops the counters so the next read re-seeds them from the database.
+	 */
+	public void invalidate() {
+		counters = null;
+	}
+
+	private Map<Long, AtomicLongArray> current() {
+		Map<Long, AtomicLongArray> current = counters;
+		if (current != null && seededAt.plus(resyncInterval).isAfter(Instant.now())) {
+			return current;
+		}
+		return seed();
+	}
+
+	private Map<Long, AtomicLongArray> seed() {
+		seedLock.lock();
+		try {
+			Map<Long, AtomicLongArray> current = counters;
+			if (current != null && seededAt.plus(resyncInterval).isAfter(Instant.now())) {
+				return current;
+			}
+			Map<Long, AtomicLongArray> fresh = new ConcurrentHashMap<>();
+			for (TaskCountRow row : taskRepository.countByAssigneeAndStatus()) {
+				fresh.computeIfAbsent(key(row.getAssigneeId()), id -> new AtomicLongArray(STATUSES.length))
+					.addAndGet(row.getStatus().ordinal(), row.getTotal());
+			}
+			seededAt = Instant.now();
+			counters = fresh;
+			return fresh;
+		} finally {
+			seedLock.unlock();
+		}
+	}
+
+	private void adjust(Long assigneeId, TaskStatus status, long delta) {
+		Map<Long, AtomicLongArray> current = counters;
+		if (current == null || status == null) {
+			return;
+		}
+		current.computeIfAbsent(key(assigneeId), id -> new AtomicLongArray(STATUSES.length))
+			.addAndGet(status.ordinal(), delta);
+	}
+
+	private static long key(Long assigneeId) {
+		return assigneeId != null ? assigneeId : UNASSIGNED;
+	}
+}
@@ -0,0 +1,244 @@
+package com.zendoge.taskmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.Task;
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.security.AuthenticatedUser;
+import com.zendoge.taskmanagement.security.CurrentUserResolver;
+import com.zendoge.taskmanagement.web.dto.TaskImportResponse;
+import com.zendoge.taskmanagement.web.dto.TaskTransferRow;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk NDJSON export and import of tasks. Both directions hold at most one chunk in memory: the
+ * export reads through a forward-only cursor, the import parses line by line and commits every
+ * {@code chunkSize} rows in its own transaction.
+ */
+@Service
+public class TaskTransferService {
+	public static final int MAX_CHUNK_SIZE = 5000;
+	public static final int MAX_REPORTED_ERRORS = 100;
+
+	private static final Logger log = LoggerFactory.getLogger(TaskTransferService.class);
+
+	private final TaskRepository taskRepository;
+	private final UserRepository userRepository;
+	private final AuditService auditService;
+	private final TaskStatistics taskStatistics;
+	private final TaskChangeFeed taskChangeFeed;
+	private final TaskSearchEngine taskSearchEngine;
+	private final CurrentUserResolver currentUserResolver;
+	private final ObjectMapper objectMapper;
+	private final TransactionTemplate transactionTemplate;
+	private final int defaultChunkSize;
+
+	public TaskTransferService(
+		TaskRepository taskRepository,
+		UserRepository userRepository,
+		AuditService auditService,
+		TaskStatistics taskStatistics,
+		TaskChangeFeed taskChangeFeed,
+		TaskSearchEngine taskSearchEngine,
+		CurrentUserResolver currentUserResolver,
+		ObjectMapper objectMapper,
+		PlatformTransactionManager transactionManager,
+		@Value("${task.import.chunk-size:500}") int defaultChunkSize
+	) {
+		this.taskRepository = taskRepository;
+		this.userRepository = userRepository;
+		this.auditService = auditService;
+		this.taskStatistics = taskStatistics;
+		this.taskChangeFeed = taskChangeFeed;
+		this.taskSearchEngine = taskSearchEngine;
+		this.currentUserResolver = currentUserResolver;
+		this.objectMapper = objectMapper;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.defaultChunkSize = defaultChunkSize;
+	}
+
+	@Transactional(readOnly = true)
+	public void exportTasks(Consumer<TaskTransferRow> sink) {
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		try (Stream<TaskTransferRow> rows = currentUser.role() == UserRole.MEMBER
+			? taskRepository.streamExportByAssigneeId(currentUser.id())
+			: taskRepository.streamExport()) {
+			rows.forEach(sink);
+		}
+	}
+
+	/**
+	 * Imports one task per non-blank line, skipping the first {@code skip} lines. Invalid lines are
+	 * rejected individually; a chunk the database refuses stops the import, and the response carries
+	 * the checkpoint to resume from.
+	 */
+	public TaskImportResponse importTasks(InputStream input, Integer chunkSize, long skip) {
+		int size = chunkSize != null ? chunkSize : defaultChunkSize;
+		if (size < 1 || size > MAX_CHUNK_SIZE) {
+			throw new IllegalArgumentException("chunkSize must be between 1 and " + MAX_CHUNK_SIZE);
+		}
+		if (skip < 0) {
+			throw new IllegalArgumentException("skip must not be negative");
+		}
+		AuthenticatedUser currentUser = currentUserResolver.require();
+		ImportProgress progress = new ImportProgress(skip);
+		List<PendingRow> chunk = new ArrayList<>(size);
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+			String text;
+			while ((text = reader.readLine()) != null) {
+				progress.lines++;
+				if (progress.lines <= skip || text.isBlank()) {
+					continue;
+				}
+				parse(progress.lines, text, progress).ifPresent(chunk::add);
+				if (chunk.size() == size) {
+					commitChunk(currentUser, chunk, progress);
+					chunk.clear();
+					progress.checkpoint = progress.lines;
+				}
+			}
+			commitChunk(currentUser, chunk, progress);
+			progress.checkpoint = progress.lines;
+			return progress.toResponse(true, null);
+		} catch (IOException ex) {
+			log.warn("Task import stopped at checkpoint {}: upload could not be read", progress.checkpoint, ex);
+			return progress.toResponse(false, "Upload could not be read: " + ex.getMessage());
+		} catch (RuntimeException ex) {
+			log.warn("Task import stopped at checkpoint {}", progress.checkpoint, ex);
+			return progress.toResponse(false, "Chunk after line " + progress.checkpoint + " was rolled back: "
+				+ ex.getMessage());
+		}
+	}
+
+	private Optional<PendingRow> parse(long line, String text, ImportProgress progress) {
+		TaskTransferRow row;
+		try {
+			row = objectMapper.readValue(text, TaskTransferRow.class);
+		} catch (JsonProcessingException ex) {
+			progress.reject(line, "Malformed row: " + ex.getOriginalMessage());
+			return Optional.empty();
+		}
+		if (row.title() == null || row.title().isBlank()) {
+			progress.reject(line, "title is required");
+			return Optional.empty();
+		}
+		if (row.title().length() > 200) {
+			progress.reject(line, "title must be at most 200 characters");
+			return Optional.empty();
+		}
+		return Optional.of(new PendingRow(line, row));
+	}
+
+	private void commitChunk(AuthenticatedUser currentUser, List<PendingRow> chunk, ImportProgress progress) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		List<TaskImportResponse.LineError> chunkErrors = new ArrayList<>();
+		int imported = transactionTemplate.execute(status -> {
+			Set<String> emails = new HashSet<>();
+			for (PendingRow pending : chunk) {
+				if (pending.row().assignee() != null) {
+					emails.add(pending.row().assignee());
+				}
+			}
+			Map<String, User> assignees = new HashMap<>();
+			if (!emails.isEmpty()) {
+				userRepository.findByEmailIn(emails).forEach(user -> assignees.put(user.getEmail(), user));
+			}
+			User creator = userRepository.getReferenceById(currentUser.id());
+
+			List<Task> tasks = new ArrayList<>(chunk.size());
+			for (PendingRow pending : chunk) {
+				TaskTransferRow row = pending.row();
+				User assignee = null;
+				if (row.assignee() != null) {
+					assignee = assignees.get(row.assignee());
+					if (assignee == null) {
+						chunkErrors.add(new TaskImportResponse.LineError(pending.line(), "Unknown assignee " + row.assignee()));
+						continue;
+					}
+				}
+				Task task = new Task();
+				task.setTitle(row.title());
+				task.setDescription(row.description());
+				task.setStatus(row.status() != null ? row.status() : TaskStatus.TODO);
+				task.setAssignee(assignee);
+				task.setCreatedBy(creator);
+				task.setCreatedAt(row.createdAt());
+				tasks.add(task);
+			}
+
+			List<Task> saved = taskRepository.saveAll(tasks);
+			List<AuditRecord> records = new ArrayList<>(saved.size());
+			for (Task task : saved) {
+				records.add(auditService.record(currentUser.id(), "IMPORT", "TASK", task.getId(), null,
+					TaskService.snapshot(task)));
+				taskStatistics.recordCreated(assignee(task), task.getStatus());
+				taskSearchEngine.indexed(task);
+			}
+			auditService.logAll(records);
+			// Board subscribers reload once per chunk instead of receiving every imported task.
+			taskChangeFeed.publish(TaskChange.resync());
+			return saved.size();
+		});
+		chunkErrors.forEach(error -> progress.reject(error.line(), error.error()));
+		progress.imported += imported;
+		log.info("Task import by user {}: {} imported, {} rejected, through line {}",
+			currentUser.id(), progress.imported, progress.rejected, chunk.get(chunk.size() - 1).line());
+	}
+
+	private static Long assignee(Task task) {
+		return task.getAssignee() != null ? task.getAssignee().getId() : null;
+	}
+
+	private record PendingRow(long line, TaskTransferRow row) {
+	}
+
+	private static final class ImportProgress {
+		private final List<TaskImportResponse.LineError> errors = new ArrayList<>();
+		private long lines;
+		private long imported;
+		private long rejected;
+		private long checkpoint;
+
+		private ImportProgress(long skip) {
+			this.checkpoint = skip;
+		}
+
+		private void reject(long line, String error) {
+			rejected++;
+			if (errors.size() < MAX_REPORTED_ERRORS) {
+				errors.add(new TaskImportResponse.LineError(line, error));
+			}
+		}
+
+		private TaskImportResponse toResponse(boolean completed, String failure) {
+			return new TaskImportResponse(completed, lines, imported, rejected, checkpoint, failure, errors);
+		}
+	}
+}
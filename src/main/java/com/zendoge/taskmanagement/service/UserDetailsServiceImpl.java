@@ -2,31 +2,46 @@ package com.zendoge.taskmanagement.service;
 
 import com.zendoge.taskmanagement.domain.User;
 import com.zendoge.taskmanagement.repository.UserRepository;
-import java.util.List;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import com.zendoge.taskmanagement.security.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 	private final UserRepository userRepository;
+	private final Timer loadTime;
 
-	public UserDetailsServiceImpl(UserRepository userRepository) {
+	public UserDetailsServiceImpl(UserRepository userRepository, MeterRegistry meterRegistry) {
 		this.userRepository = userRepository;
+		this.loadTime = Timer.builder("auth.user.load")
+			.description("User lookups for logins and for tokens that cannot be trusted for their claims")
+			.register(meterRegistry);
 	}
 
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-		User user = userRepository.findByEmail(username)
-			.orElseThrow(() -> new UsernameNotFoundException("User not found"));
+		return loadTime.record(() -> {
+			User user = userRepository.findByEmail(username)
+				.orElseThrow(() -> new UsernameNotFoundException("User not found"));
+			return AuthenticatedUser.from(user);
+		});
+	}
 
-		String role = "ROLE_" + user.getRole().name();
-		return new org.springframework.security.core.userdetails.User(
-			user.getEmail(),
-			user.getPasswordHash(),
-			List.of(new SimpleGrantedAuthority(role))
-		);
+	/**
+	 * Stores a hash produced at the current encoder settings after a login with an outdated one.
+	 */
+	@Override
+	@Transactional
+	public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+		User user = userRepository.findByEmail(userDetails.getUsername())
+			.orElseThrow(() -> new UsernameNotFoundException("User not found"));
+		user.setPasswordHash(newPassword);
+		return AuthenticatedUser.from(user);
 	}
 }
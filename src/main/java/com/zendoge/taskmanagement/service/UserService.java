@@ -3,49 +3,56 @@ package com.zendoge.taskmanagement.service;
 import com.zendoge.taskmanagement.domain.User;
 import com.zendoge.taskmanagement.domain.UserRole;
 import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.security.CurrentUserResolver;
+import com.zendoge.taskmanagement.security.RoleChangeRegistry;
 import com.zendoge.taskmanagement.web.dto.UserResponse;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
-import org.springframework.security.core.Authentication;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class UserService {
 	private final UserRepository userRepository;
-
-	public UserService(UserRepository userRepository) {
+	private final CurrentUserResolver currentUserResolver;
+	private final RoleChangeRegistry roleChangeRegistry;
+
+	public UserService(
+		UserRepository userRepository,
+		CurrentUserResolver currentUserResolver,
+		RoleChangeRegistry roleChangeRegistry
+	) {
 		this.userRepository = userRepository;
+		this.currentUserResolver = currentUserResolver;
+		this.roleChangeRegistry = roleChangeRegistry;
 	}
 
 	public UserResponse getCurrentUser() {
-		String email = currentEmail();
-		User user = userRepository.findByEmail(email)
+		User user = userRepository.findById(currentUserResolver.require().id())
 			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 		return toResponse(user);
 	}
 
+	@Transactional(readOnly = true)
 	public List<UserResponse> getAllUsers() {
-		return userRepository.findAll().stream().map(this::toResponse).toList();
+		return userRepository.findAllResponses();
 	}
 
 	public UserResponse updateUserRole(Long userId, UserRole role) {
 		User user = userRepository.findById(userId)
 			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 		user.setRole(role);
-		return toResponse(userRepository.save(user));
-	}
-
-	private String currentEmail() {
-		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		if (authentication == null || authentication.getName() == null) {
-			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No authenticated user");
-		}
-		return authentication.getName();
+		// Stored to the microsecond, so that RoleChangeSync reads back the value recorded here.
+		user.setRoleChangedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+		User saved = userRepository.save(user);
+		roleChangeRegistry.markChanged(saved.getId(), saved.getRoleChangedAt());
+		return toResponse(saved);
 	}
 
-	private UserResponse toResponse(User user) {
+	static UserResponse toResponse(User user) {
 		return new UserResponse(
 			user.getId(),
 			user.getEmail(),
@@ -1,7 +1,11 @@
 package com.zendoge.taskmanagement.web;
 
+import com.zendoge.taskmanagement.security.PasswordHashingBusyException;
 import java.util.Map;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -15,9 +19,22 @@ public class ApiExceptionHandler {
 		return Map.of("error", ex.getMessage());
 	}
 
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	@ResponseStatus(HttpStatus.CONFLICT)
+	public Map<String, String> handleOptimisticLocking(OptimisticLockingFailureException ex) {
+		return Map.of("error", "The resource was modified concurrently; reload and retry");
+	}
+
 	@ExceptionHandler(AuthenticationException.class)
 	@ResponseStatus(HttpStatus.UNAUTHORIZED)
 	public Map<String, String> handleAuthentication(AuthenticationException ex) {
 		return Map.of("error", "Invalid credentials");
 	}
+
+	@ExceptionHandler(PasswordHashingBusyException.class)
+	public ResponseEntity<Map<String, String>> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+			.header(HttpHeaders.RETRY_AFTER, "1")
+			.body(Map.of("error", ex.getMessage()));
+	}
 }
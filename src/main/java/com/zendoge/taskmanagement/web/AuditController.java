@@ -1,20 +1,33 @@
 package com.zendoge.taskmanagement.web;
 
 import com.zendoge.taskmanagement.service.AuditService;
+import com.zendoge.taskmanagement.web.dto.AuditLogFilter;
 import com.zendoge.taskmanagement.web.dto.AuditLogResponse;
+import com.zendoge.taskmanagement.web.dto.AuditPageResponse;
+import com.zendoge.taskmanagement.web.dto.AuditSinkStatsResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import java.util.List;
+import java.time.Instant;
+import java.util.Set;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/audit")
 @Tag(name = "Audit Logs", description = "Audit trail for all entity changes")
 public class AuditController {
+	private static final String FIELDS_DESCRIPTION = "Comma-separated audit fields to return, e.g. `id,action,entityId,timestamp`. "
+		+ "Leaving out both `oldData` and `newData` skips reading the payloads from the database.";
+
 	private final AuditService auditService;
 
 	public AuditController(AuditService auditService) {
@@ -24,18 +37,60 @@ public class AuditController {
 	@GetMapping
 	@PreAuthorize("hasRole('ADMIN')")
 	@Operation(summary = "List all audit logs", description = "Returns the complete audit trail. Requires ADMIN role.")
-	@ApiResponse(responseCode = "200", description = "Audit logs retrieved")
+	@ApiResponse(responseCode = "200", description = "Audit logs retrieved", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AuditLogResponse.class))))
+	@ApiResponse(responseCode = "403", description = "Insufficient permissions")
+	public MappingJacksonValue list(
+		@Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) Set<String> fields
+	) {
+		FieldSelection selection = FieldSelection.of(fields, AuditLogResponse.class);
+		return selection.apply(auditService.listAll(includesPayload(selection)));
+	}
+
+	@GetMapping(params = "limit")
+	@PreAuthorize("hasAnyRole('ADMIN','MANAGER','MEMBER')")
+	@Operation(summary = "Query audit logs", description = "Filtered, keyset-paginated audit query ordered by timestamp, newest first. ADMIN sees every user's actions; MANAGER and MEMBER only their own. Pass the returned `next` cursor to fetch the following page.")
+	@ApiResponse(responseCode = "200", description = "Page of audit logs retrieved", content = @Content(schema = @Schema(implementation = AuditPageResponse.class)))
+	@ApiResponse(responseCode = "400", description = "Invalid cursor, limit, time window or field")
 	@ApiResponse(responseCode = "403", description = "Insufficient permissions")
-	public List<AuditLogResponse> list() {
-		return auditService.listAll();
+	public MappingJacksonValue query(
+		@Parameter(description = "Page size (1-" + AuditService.MAX_PAGE_SIZE + ")") @RequestParam int limit,
+		@Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+		@Parameter(description = "Entity type, e.g. `TASK`") @RequestParam(required = false) String entity,
+		@Parameter(description = "Entity id; combine with `entity` for one record's history") @RequestParam(required = false) Long entityId,
+		@Parameter(description = "Action, e.g. `CREATE`, `UPDATE`, `DELETE`") @RequestParam(required = false) String action,
+		@Parameter(description = "Acting user id (ADMIN only, others are always scoped to themselves)") @RequestParam(required = false) Long userId,
+		@Parameter(description = "Inclusive lower bound (ISO-8601 instant)") @RequestParam(required = false) Instant from,
+		@Parameter(description = "Exclusive upper bound (ISO-8601 instant)") @RequestParam(required = false) Instant to,
+		@Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) Set<String> fields
+	) {
+		FieldSelection selection = FieldSelection.of(fields, AuditLogResponse.class);
+		AuditLogFilter filter = new AuditLogFilter(entity, entityId, action, userId, from, to);
+		return selection.apply(auditService.query(filter, cursor, limit, includesPayload(selection)));
 	}
 
 	@GetMapping("/me")
 	@PreAuthorize("hasAnyRole('ADMIN','MANAGER','MEMBER')")
 	@Operation(summary = "List my audit logs", description = "Returns audit logs for the current user's actions. Requires ADMIN, MANAGER, or MEMBER role.")
-	@ApiResponse(responseCode = "200", description = "User audit logs retrieved")
+	@ApiResponse(responseCode = "200", description = "User audit logs retrieved", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AuditLogResponse.class))))
 	@ApiResponse(responseCode = "403", description = "Insufficient permissions")
-	public List<AuditLogResponse> listMine() {
-		return auditService.listForCurrentUser();
+	public MappingJacksonValue listMine(
+		@Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) Set<String> fields
+	) {
+		FieldSelection selection = FieldSelection.of(fields, AuditLogResponse.class);
+		return selection.apply(auditService.listForCurrentUser(includesPayload(selection)));
+	}
+
+	@GetMapping("/sink")
+	@PreAuthorize("hasRole('ADMIN')")
+	@Operation(summary = "Audit writer statistics", description = "Queue depth, flush latency and dropped/spilled counts of the audit writer. Requires ADMIN role.")
+	@ApiResponse(responseCode = "200", description = "Statistics retrieved")
+	@ApiResponse(responseCode = "403", description = "Insufficient permissions")
+	public AuditSinkStatsResponse sinkStats() {
+		return auditService.sinkStats();
+	}
+
+	private static boolean includesPayload(FieldSelection selection) {
+		// Whether a delta is partial is only known once its payloads have been rehydrated.
+		return selection.includes("oldData") || selection.includes("newData") || selection.includes("partial");
 	}
 }
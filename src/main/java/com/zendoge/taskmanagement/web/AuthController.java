@@ -3,6 +3,7 @@ package com.zendoge.taskmanagement.web;
 import com.zendoge.taskmanagement.service.AuthService;
 import com.zendoge.taskmanagement.web.dto.AuthResponse;
 import com.zendoge.taskmanagement.web.dto.LoginRequest;
+import com.zendoge.taskmanagement.web.dto.RefreshRequest;
 import com.zendoge.taskmanagement.web.dto.RegisterRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,7 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/auth")
-@Tag(name = "Authentication", description = "User registration and login")
+@Tag(name = "Authentication", description = "User registration, login and token refresh")
 public class AuthController {
 	private final AuthService authService;
 
@@ -27,7 +28,7 @@ public class AuthController {
 
 	@PostMapping("/register")
 	@ResponseStatus(HttpStatus.CREATED)
-	@Operation(summary = "Register a new user", description = "Creates a new user account with MEMBER role and returns a JWT token")
+	@Operation(summary = "Register a new user", description = "Creates a new user account with MEMBER role and returns a JWT token and a refresh token")
 	@ApiResponse(responseCode = "201", description = "User registered successfully")
 	@ApiResponse(responseCode = "400", description = "Invalid input or email already exists")
 	public AuthResponse register(@Valid @RequestBody RegisterRequest request) {
@@ -35,10 +36,29 @@ public class AuthController {
 	}
 
 	@PostMapping("/login")
-	@Operation(summary = "Login", description = "Authenticates a user and returns a JWT token")
+	@Operation(summary = "Login", description = "Authenticates a user and returns a JWT token and a refresh token")
 	@ApiResponse(responseCode = "200", description = "Login successful")
 	@ApiResponse(responseCode = "401", description = "Invalid credentials")
 	public AuthResponse login(@Valid @RequestBody LoginRequest request) {
 		return authService.login(request);
 	}
+
+	@PostMapping("/refresh")
+	@Operation(
+		summary = "Refresh",
+		description = "Exchanges a refresh token for a new JWT token and a new refresh token. The old refresh token stops working; presenting it again revokes the session"
+	)
+	@ApiResponse(responseCode = "200", description = "Tokens refreshed")
+	@ApiResponse(responseCode = "401", description = "Refresh token unknown, expired, revoked or already used")
+	public AuthResponse refresh(@Valid @RequestBody RefreshRequest request) {
+		return authService.refresh(request);
+	}
+
+	@PostMapping("/logout")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	@Operation(summary = "Logout", description = "Revokes the refresh token and every token rotated from the same login")
+	@ApiResponse(responseCode = "204", description = "Session ended")
+	public void logout(@Valid @RequestBody RefreshRequest request) {
+		authService.logout(request);
+	}
 }
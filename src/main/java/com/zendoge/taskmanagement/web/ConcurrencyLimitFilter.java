@@ -0,0 +1,77 @@
+package com.zendoge.taskmanagement.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Caps the number of requests in progress. On platform threads Tomcat's worker pool is that cap; on
+ * virtual threads every request gets a thread, and a burst would otherwise queue thousands of them on
+ * the connection pool until they time out. A request that finds no free slot within
+ * {@code acquireTimeout} is answered with 503 and {@code Retry-After}.
+ *
+ * <p>Async dispatches are not filtered, so an open event stream holds its slot only until it starts.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+	private static final String BUSY = "{\"error\":\"Server busy; retry shortly\"}";
+
+	private final Semaphore permits;
+	private final long acquireTimeoutNanos;
+	private final AtomicLong rejected = new AtomicLong();
+
+	public ConcurrencyLimitFilter(int maxRequests, Duration acquireTimeout) {
+		if (maxRequests < 1) {
+			throw new IllegalArgumentException("api.concurrency.max-requests must be >= 1");
+		}
+		this.permits = new Semaphore(maxRequests, true);
+		this.acquireTimeoutNanos = acquireTimeout.toNanos();
+	}
+
+	@Override
+	protected void doFilterInternal(
+		HttpServletRequest request,
+		HttpServletResponse response,
+		FilterChain chain
+	) throws ServletException, IOException {
+		if (!acquire()) {
+			rejected.incrementAndGet();
+			response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			response.getWriter().write(BUSY);
+			return;
+		}
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			permits.release();
+		}
+	}
+
+	public int availableSlots() {
+		return permits.availablePermits();
+	}
+
+	public long rejectedCount() {
+		return rejected.get();
+	}
+
+	private boolean acquire() {
+		try {
+			return permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
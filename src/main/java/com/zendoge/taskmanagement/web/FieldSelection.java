@@ -0,0 +1,57 @@
+package com.zendoge.taskmanagement.web;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+/**
+ * Sparse fieldset requested through a {@code fields=} query parameter. Applies to response records
+ * annotated with {@code @JsonFilter(FieldSelection.FILTER_ID)}; {@code null} fields means "everything".
+ */
+public final class FieldSelection {
+	public static final String FILTER_ID = "fields";
+
+	private final Set<String> fields;
+
+	private FieldSelection(Set<String> fields) {
+		this.fields = fields;
+	}
+
+	static FieldSelection of(Set<String> requested, Class<? extends Record> responseType) {
+		if (requested == null || requested.isEmpty()) {
+			return new FieldSelection(null);
+		}
+		Set<String> allowed = Arrays.stream(responseType.getRecordComponents())
+			.map(RecordComponent::getName)
+			.collect(Collectors.toSet());
+		Set<String> unknown = new TreeSet<>(requested);
+		unknown.removeAll(allowed);
+		if (!unknown.isEmpty()) {
+			throw new IllegalArgumentException("Unknown fields: " + String.join(", ", unknown));
+		}
+		return new FieldSelection(Set.copyOf(requested));
+	}
+
+	boolean includes(String field) {
+		return fields == null || fields.contains(field);
+	}
+
+	FilterProvider filters() {
+		SimpleBeanPropertyFilter filter = fields == null
+			? SimpleBeanPropertyFilter.serializeAll()
+			: SimpleBeanPropertyFilter.filterOutAllExcept(fields);
+		return new SimpleFilterProvider().addFilter(FILTER_ID, filter);
+	}
+
+	MappingJacksonValue apply(Object body) {
+		MappingJacksonValue value = new MappingJacksonValue(body);
+		value.setFilters(filters());
+		return value;
+	}
+}
@@ -0,0 +1,44 @@
+package com.zendoge.taskmanagement.web;
+
+import com.zendoge.taskmanagement.security.JwtService;
+import com.zendoge.taskmanagement.service.SecondLevelCacheStatistics;
+import com.zendoge.taskmanagement.web.dto.CacheRegionStatsResponse;
+import com.zendoge.taskmanagement.web.dto.JwtCacheStatsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/system")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "System", description = "Runtime statistics for operators")
+public class SystemController {
+	private final JwtService jwtService;
+	private final SecondLevelCacheStatistics secondLevelCacheStatistics;
+
+	public SystemController(JwtService jwtService, SecondLevelCacheStatistics secondLevelCacheStatistics) {
+		this.jwtService = jwtService;
+		this.secondLevelCacheStatistics = secondLevelCacheStatistics;
+	}
+
+	@GetMapping("/jwt-cache")
+	@Operation(summary = "JWT verification cache", description = "Hit/miss counters and size of the verified-token cache. Requires ADMIN role.")
+	@ApiResponse(responseCode = "200", description = "Statistics retrieved")
+	@ApiResponse(responseCode = "403", description = "Insufficient permissions")
+	public JwtCacheStatsResponse jwtCache() {
+		return jwtService.cacheStats();
+	}
+
+	@GetMapping("/entity-cache")
+	@Operation(summary = "Second-level cache", description = "Hit ratio and size of each Hibernate second-level cache region. Hits, misses and puts stay 0 unless spring.jpa.properties.hibernate.generate_statistics is true. Requires ADMIN role.")
+	@ApiResponse(responseCode = "200", description = "Statistics retrieved")
+	@ApiResponse(responseCode = "403", description = "Insufficient permissions")
+	public List<CacheRegionStatsResponse> entityCache() {
+		return secondLevelCacheStatistics.regions();
+	}
+}
@@ -1,16 +1,53 @@
 package com.zendoge.taskmanagement.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.zendoge.taskmanagement.repository.TaskWatermarkRow;
 import com.zendoge.taskmanagement.service.TaskService;
+import com.zendoge.taskmanagement.service.TaskTransferService;
+import com.zendoge.taskmanagement.web.dto.TaskBatchRequest;
+import com.zendoge.taskmanagement.web.dto.TaskBatchResponse;
+import com.zendoge.taskmanagement.web.dto.TaskChangesResponse;
 import com.zendoge.taskmanagement.web.dto.TaskCreateRequest;
+import com.zendoge.taskmanagement.web.dto.TaskFilter;
+import com.zendoge.taskmanagement.web.dto.TaskImportResponse;
+import com.zendoge.taskmanagement.web.dto.TaskPageResponse;
 import com.zendoge.taskmanagement.web.dto.TaskResponse;
+import com.zendoge.taskmanagement.web.dto.TaskSort;
+import com.zendoge.taskmanagement.web.dto.TaskStatsResponse;
+import com.zendoge.taskmanagement.web.dto.TaskTransferRow;
 import com.zendoge.taskmanagement.web.dto.TaskUpdateRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,25 +55,206 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/tasks")
 @Tag(name = "Tasks", description = "Task CRUD operations with role-based access")
 public class TaskController {
+	private static final String FIELDS_DESCRIPTION = "Comma-separated task fields to return, e.g. `id,title,status`. "
+		+ "Leaving out `description` skips reading it from the database.";
+	private static final String SORT_DESCRIPTION = "`createdAt` or `updatedAt`, prefixed with `-` for newest first";
+
+	private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+	private static final int EXPORT_BUFFER_SIZE = 8192;
+
 	private final TaskService taskService;
+	private final TaskTransferService taskTransferService;
+	private final ObjectMapper objectMapper;
 
-	public TaskController(TaskService taskService) {
+	public TaskController(TaskService taskService, TaskTransferService taskTransferService, ObjectMapper objectMapper) {
 		this.taskService = taskService;
+		this.taskTransferService = taskTransferService;
+		this.objectMapper = objectMapper;
 	}
 
+	/**
+	 * The ETag is taken before the tasks are read, so a concurrent change can only make the body newer
+	 * than its tag, which costs the client one more full download rather than a missed update.
+	 */
 	@GetMapping
-	@Operation(summary = "List tasks", description = "ADMIN/MANAGER see all tasks. MEMBER sees only assigned tasks. VIEWER sees all (read-only).")
-	@ApiResponse(responseCode = "200", description = "Tasks retrieved successfully")
-	public List<TaskResponse> list() {
-		return taskService.listTasks();
+	@Operation(summary = "List tasks", description = "ADMIN/MANAGER see all tasks. MEMBER sees only assigned tasks. VIEWER sees all (read-only). Filters combine with AND. Send the returned `ETag` as `If-None-Match` to get `304 Not Modified` while nothing visible has changed.")
+	@ApiResponse(
+		responseCode = "200",
+		description = "Tasks retrieved successfully",
+		content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class)))
+	)
+	@ApiResponse(responseCode = "304", description = "Tasks unchanged since the ETag in `If-None-Match`")
+	@ApiResponse(responseCode = "400", description = "Unknown field, invalid filter or sort")
+	@ApiResponse(responseCode = "403", description = "MEMBER asked for tasks not assigned to them")
+	public MappingJacksonValue list(
+		@ParameterObject TaskFilter filter,
+		@Parameter(description = SORT_DESCRIPTION) @RequestParam(defaultValue = TaskSort.DEFAULT) String sort,
+		@Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) Set<String> fields,
+		WebRequest webRequest
+	) {
+		FieldSelection selection = FieldSelection.of(fields, TaskResponse.class);
+		TaskSort order = TaskSort.of(sort);
+		if (webRequest.checkNotModified(listETag(taskService.listWatermark(), filter, order, fields))) {
+			return null;
+		}
+		return selection.apply(taskService.listTasks(filter, order, selection.includes("description")));
+	}
+
+	@GetMapping(params = "limit")
+	@Operation(summary = "List tasks (paginated)", description = "Keyset-paginated variant of the task list, with the same filters and sort. Pass the returned `next` cursor, with unchanged filters and sort, to fetch the following page; `next` is null on the last page.")
+	@ApiResponse(
+		responseCode = "200",
+		description = "Page of tasks retrieved",
+		content = @Content(schema = @Schema(implementation = TaskPageResponse.class))
+	)
+	@ApiResponse(responseCode = "400", description = "Invalid cursor, limit, field, filter or sort")
+	@ApiResponse(responseCode = "403", description = "MEMBER asked for tasks not assigned to them")
+	public MappingJacksonValue page(
+		@Parameter(description = "Page size (1-" + TaskService.MAX_PAGE_SIZE + ")") @RequestParam int limit,
+		@Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String cursor,
+		@ParameterObject TaskFilter filter,
+		@Parameter(description = SORT_DESCRIPTION) @RequestParam(defaultValue = TaskSort.DEFAULT) String sort,
+		@Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) Set<String> fields
+	) {
+		FieldSelection selection = FieldSelection.of(fields, TaskResponse.class);
+		return selection.apply(taskService.listTasksPage(
+			filter, TaskSort.of(sort), cursor, limit, selection.includes("description")));
+	}
+
+	@GetMapping("/search")
+	@Operation(summary = "Search tasks", description = "Full-text search over title and description, best matches first; title matches rank higher. Every word must match, and the last one also matches as a prefix. Scoped like the task list. On PostgreSQL only the newest 200 title matches and the newest 200 matches overall (or `limit` of each, if larger) are ranked, so an older match can be missed when a word occurs in more tasks than that.")
+	@ApiResponse(
+		responseCode = "200",
+		description = "Matching tasks",
+		content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class)))
+	)
+	@ApiResponse(responseCode = "400", description = "Blank query, invalid limit or unknown field")
+	public MappingJacksonValue search(
+		@Parameter(description = "Search words") @RequestParam String q,
+		@Parameter(description = "Maximum number of results (1-" + TaskService.MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "20") int limit,
+		@Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) Set<String> fields
+	) {
+		FieldSelection selection = FieldSelection.of(fields, TaskResponse.class);
+		return selection.apply(taskService.search(q, limit, selection.includes("description")));
+	}
+
+	@GetMapping("/changes")
+	@Operation(summary = "List task changes", description = "Incremental sync: tasks created or updated after the `since` token that are visible to the caller, oldest first, and the ids of tasks that left the caller's view (deleted, or for MEMBER reassigned to someone else). Without `since` only a starting token is returned; load `/api/tasks` afterwards. Pass `next` as `since` on the following call and repeat at once while `hasMore` is true. Recent changes may be sent twice; apply upserts by `version`.")
+	@ApiResponse(
+		responseCode = "200",
+		description = "Changes retrieved",
+		content = @Content(schema = @Schema(implementation = TaskChangesResponse.class))
+	)
+	@ApiResponse(responseCode = "400", description = "Invalid token or limit")
+	@ApiResponse(responseCode = "410", description = "Token older than the tombstone retention; reload all tasks and start over")
+	public TaskChangesResponse changes(
+		@Parameter(description = "Token from the previous call") @RequestParam(required = false) String since,
+		@Parameter(description = "Maximum number of upserts (1-" + TaskService.MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "" + TaskService.MAX_PAGE_SIZE) int limit
+	) {
+		return taskService.listChanges(since, limit);
+	}
+
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@Operation(summary = "Stream tasks", description = "Streams every visible task matching the filters as newline-delimited JSON, read through a database cursor. Select with `Accept: application/x-ndjson`.")
+	@ApiResponse(responseCode = "200", description = "Task stream started")
+	public ResponseEntity<StreamingResponseBody> stream(
+		@ParameterObject TaskFilter filter,
+		@Parameter(description = SORT_DESCRIPTION) @RequestParam(defaultValue = TaskSort.DEFAULT) String sort,
+		@Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) Set<String> fields
+	) {
+		FieldSelection selection = FieldSelection.of(fields, TaskResponse.class);
+		TaskSort order = TaskSort.of(sort);
+		StreamingResponseBody body = out -> TaskController.<TaskResponse>writeNdjson(
+			objectMapper.writer(selection.filters()),
+			out,
+			sink -> taskService.streamTasks(filter, order, selection.includes("description"), sink)
+		);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	@GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@Operation(summary = "Subscribe to task changes", description = "Server-sent events for every committed change to a visible task: `created`, `updated` and `deleted` with a `TaskChangeEvent` payload. Members get `deleted` when a task is reassigned away from them. `resync` replaces large batches and imports and means: reload the list. A client that falls too far behind is disconnected and should reconnect and reload.")
+	@ApiResponse(responseCode = "200", description = "Event stream opened")
+	public SseEmitter stream() {
+		return taskService.subscribeChanges();
+	}
+
+	@GetMapping("/export")
+	@Operation(summary = "Export tasks", description = "Streams every visible task as NDJSON in the import format, with assignees as emails. `gzip=true` compresses the download.")
+	@ApiResponse(responseCode = "200", description = "Export started")
+	public ResponseEntity<StreamingResponseBody> export(
+		@Parameter(description = "Gzip-compress the export") @RequestParam(defaultValue = "false") boolean gzip
+	) {
+		StreamingResponseBody body = out -> {
+			OutputStream target = gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_SIZE) : out;
+			TaskController.<TaskTransferRow>writeNdjson(objectMapper.writer(), target, taskTransferService::exportTasks);
+		};
+		return ResponseEntity.ok()
+			.contentType(gzip ? GZIP : MediaType.APPLICATION_NDJSON)
+			.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+				.filename(gzip ? "tasks.ndjson.gz" : "tasks.ndjson")
+				.build()
+				.toString())
+			.body(body);
+	}
+
+	@PostMapping("/import")
+	@PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
+	@Operation(summary = "Import tasks", description = "Reads an NDJSON upload in the export format (gzip accepted via `Content-Encoding: gzip` or `Content-Type: application/gzip`) and commits it in chunks. Invalid lines are reported and skipped. If the import stops early, re-send the file with `skip` set to the returned `checkpoint`.")
+	@ApiResponse(responseCode = "200", description = "Import finished or stopped; see `completed` and `checkpoint`")
+	@ApiResponse(responseCode = "400", description = "Invalid parameters or unreadable gzip upload")
+	@ApiResponse(responseCode = "403", description = "Insufficient permissions")
+	public TaskImportResponse importTasks(
+		InputStream body,
+		@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+		@RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+		@Parameter(description = "Rows per transaction (1-" + TaskTransferService.MAX_CHUNK_SIZE + ", defaults to task.import.chunk-size)")
+		@RequestParam(required = false) Integer chunkSize,
+		@Parameter(description = "Number of leading lines to skip, e.g. a previous checkpoint") @RequestParam(defaultValue = "0") long skip
+	) throws IOException {
+		InputStream input = body;
+		if ("gzip".equalsIgnoreCase(contentEncoding) || GZIP.toString().equalsIgnoreCase(contentType)) {
+			try {
+				input = new GZIPInputStream(body);
+			} catch (ZipException ex) {
+				throw new IllegalArgumentException("Upload is not valid gzip");
+			}
+		}
+		return taskTransferService.importTasks(input, chunkSize, skip);
+	}
+
+	@GetMapping("/{id}")
+	@Operation(summary = "Get a task", description = "Returns one task with its version as a strong `ETag`. MEMBER can only read assigned tasks. Send the ETag as `If-None-Match` to revalidate.")
+	@ApiResponse(responseCode = "200", description = "Task retrieved")
+	@ApiResponse(responseCode = "304", description = "Task unchanged since the ETag in `If-None-Match`")
+	@ApiResponse(responseCode = "403", description = "Task not assigned to current user")
+	@ApiResponse(responseCode = "404", description = "Task not found")
+	public TaskResponse get(@Parameter(description = "Task ID") @PathVariable Long id, WebRequest webRequest) {
+		TaskResponse task = taskService.getTask(id);
+		if (webRequest.checkNotModified(taskETag(task))) {
+			return null;
+		}
+		return task;
+	}
+
+	@GetMapping("/stats")
+	@Operation(summary = "Task statistics", description = "Per-status and per-assignee counts with completion percentage, scoped like the task list. Served from in-memory counters.")
+	@ApiResponse(responseCode = "200", description = "Statistics retrieved")
+	public TaskStatsResponse stats() {
+		return taskService.stats();
 	}
 
 	@PostMapping
@@ -49,17 +267,31 @@ public class TaskController {
 		return taskService.create(request);
 	}
 
+	@PostMapping("/batch")
+	@PreAuthorize("hasAnyRole('ADMIN','MANAGER','MEMBER')")
+	@Operation(summary = "Apply a batch of task changes", description = "Applies up to " + TaskService.MAX_BATCH_SIZE + " create/update/delete operations in one transaction. Each operation follows the rules of its single-item endpoint and gets its own result; rejected operations do not stop the rest.")
+	@ApiResponse(responseCode = "200", description = "Batch applied; see per-item results")
+	@ApiResponse(responseCode = "400", description = "Malformed or oversized batch")
+	@ApiResponse(responseCode = "403", description = "Insufficient permissions")
+	public TaskBatchResponse batch(@Valid @RequestBody TaskBatchRequest request) {
+		return taskService.applyBatch(request.operations());
+	}
+
 	@PutMapping("/{id}")
 	@PreAuthorize("hasAnyRole('ADMIN','MANAGER','MEMBER')")
-	@Operation(summary = "Update a task", description = "Updates a task. ADMIN/MANAGER can update all fields. MEMBER can only update status of assigned tasks.")
+	@Operation(summary = "Update a task", description = "Updates a task. ADMIN/MANAGER can update all fields. MEMBER can only update status of assigned tasks. With `If-Match` set to the task's ETag the update is rejected with 412 if someone else changed the task in the meantime.")
 	@ApiResponse(responseCode = "200", description = "Task updated successfully")
 	@ApiResponse(responseCode = "403", description = "Insufficient permissions")
 	@ApiResponse(responseCode = "404", description = "Task not found")
-	public TaskResponse update(
+	@ApiResponse(responseCode = "409", description = "Task was changed by a concurrent update")
+	@ApiResponse(responseCode = "412", description = "Task no longer matches `If-Match`")
+	public ResponseEntity<TaskResponse> update(
 		@Parameter(description = "Task ID") @PathVariable Long id,
+		@Parameter(description = "ETag of the task version being edited") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
 		@Valid @RequestBody TaskUpdateRequest request
 	) {
-		return taskService.update(id, request);
+		TaskResponse task = taskService.update(id, request, expectedVersions(ifMatch));
+		return ResponseEntity.ok().eTag(taskETag(task)).body(task);
 	}
 
 	@DeleteMapping("/{id}")
@@ -72,4 +304,75 @@ public class TaskController {
 	public void delete(@Parameter(description = "Task ID") @PathVariable Long id) {
 		taskService.delete(id);
 	}
+
+	private static String taskETag(TaskResponse task) {
+		return "\"" + task.version() + "\"";
+	}
+
+	/**
+	 * Varies with the sparse fieldset as well, since each one is a different representation. The
+	 * watermark covers every visible task, so it also tracks each filtered list; the filter and sort only
+	 * keep one list's tag from validating another.
+	 */
+	private static String listETag(TaskWatermarkRow watermark, TaskFilter filter, TaskSort sort, Set<String> fields) {
+		String tag = micros(watermark.getLastUpdatedAt()) + "-" + watermark.getRecentUpdates()
+			+ "-" + watermark.getRecentVersionSum() + "-" + micros(watermark.getLastRemovedAt())
+			+ "-" + watermark.getRecentRemovals();
+		if (fields != null && !fields.isEmpty()) {
+			tag += "-" + Integer.toHexString(String.join(",", new TreeSet<>(fields)).hashCode());
+		}
+		if (!filter.equals(TaskFilter.NONE) || sort != TaskSort.CREATED_AT) {
+			tag += "-" + Integer.toHexString((canonical(filter) + "|" + sort.name()).hashCode());
+		}
+		return "\"" + tag + "\"";
+	}
+
+	private static long micros(Instant instant) {
+		return instant == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+	}
+
+	/**
+	 * Spells {@code filter} out with statuses in a fixed order, so equal filters give equal tags on every
+	 * instance; enum hash codes differ between JVMs.
+	 */
+	private static String canonical(TaskFilter filter) {
+		String statuses = filter.status() == null ? "" : String.join(",", new TreeSet<>(
+			filter.status().stream().map(Enum::name).toList()));
+		return statuses + "|" + filter.assigneeId() + "|" + filter.unassigned() + "|" + filter.createdBy()
+			+ "|" + filter.createdFrom() + "|" + filter.createdTo();
+	}
+
+	/**
+	 * Versions accepted by an {@code If-Match} header; {@code null} when the header is absent or
+	 * {@code *}. If-Match uses strong comparison, so weak or foreign tags match nothing.
+	 */
+	private static Set<Long> expectedVersions(String ifMatch) {
+		if (ifMatch == null) {
+			return null;
+		}
+		List<ETag> tags = ETag.parse(ifMatch);
+		Set<Long> versions = new HashSet<>();
+		for (ETag tag : tags) {
+			if (tag.isWildcard()) {
+				return null;
+			}
+			if (!tag.weak() && tag.tag().matches("\\d{1,18}")) {
+				versions.add(Long.parseLong(tag.tag()));
+			}
+		}
+		return versions;
+	}
+
+	private static <T> void writeNdjson(ObjectWriter writer, OutputStream out, Consumer<Consumer<T>> source)
+		throws IOException {
+		try (SequenceWriter values = writer.withRootValueSeparator("\n").writeValues(out)) {
+			source.accept(value -> {
+				try {
+					values.write(value);
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			});
+		}
+	}
 }
@@ -0,0 +1,17 @@
+package com.zendoge.taskmanagement.web.dto;
+
+import java.time.Instant;
+
+/**
+ * Optional criteria for audit queries; {@code null} components are not applied. The time window is
+ * half-open, {@code [from, to)}.
+ */
+public record AuditLogFilter(
+	String entity,
+	Long entityId,
+	String action,
+	Long userId,
+	Instant from,
+	Instant to
+) {
+}
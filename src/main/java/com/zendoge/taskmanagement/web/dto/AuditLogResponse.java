@@ -1,7 +1,15 @@
 package com.zendoge.taskmanagement.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.zendoge.taskmanagement.web.FieldSelection;
 import java.time.Instant;
 
+/**
+ * One audit entry with complete before/after views. {@code partial} marks a delta entry whose full
+ * snapshot is gone, for instance expired with an older partition or never written by a dropping
+ * audit sink; its views then hold only the fields the change itself stored.
+ */
+@JsonFilter(FieldSelection.FILTER_ID)
 public record AuditLogResponse(
 	Long id,
 	Long userId,
@@ -10,6 +18,7 @@ public record AuditLogResponse(
 	Long entityId,
 	String oldData,
 	String newData,
-	Instant timestamp
+	Instant timestamp,
+	boolean partial
 ) {
 }
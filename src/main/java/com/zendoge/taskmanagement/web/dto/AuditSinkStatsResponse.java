@@ -0,0 +1,15 @@
+package com.zendoge.taskmanagement.web.dto;
+
+public record AuditSinkStatsResponse(
+	String mode,
+	int queueDepth,
+	int queueCapacity,
+	long written,
+	long dropped,
+	long spilled,
+	long replayed,
+	long failedBatches,
+	double lastFlushMillis,
+	double maxFlushMillis
+) {
+}
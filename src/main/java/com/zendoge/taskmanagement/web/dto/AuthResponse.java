@@ -1,7 +1,10 @@
 package com.zendoge.taskmanagement.web.dto;
 
-public record AuthResponse(String token, String tokenType) {
-	public AuthResponse(String token) {
-		this(token, "Bearer");
+/**
+ * @param expiresIn seconds until {@code token} expires; refresh before then with {@code refreshToken}
+ */
+public record AuthResponse(String token, String tokenType, long expiresIn, String refreshToken) {
+	public AuthResponse(String token, long expiresIn, String refreshToken) {
+		this(token, "Bearer", expiresIn, refreshToken);
 	}
 }
@@ -0,0 +1,11 @@
+package com.zendoge.taskmanagement.web.dto;
+
+public record CacheRegionStatsResponse(
+	String region,
+	long hits,
+	long misses,
+	long puts,
+	double hitRatio,
+	long size
+) {
+}
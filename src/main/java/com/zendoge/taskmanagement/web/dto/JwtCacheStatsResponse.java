@@ -0,0 +1,4 @@
+package com.zendoge.taskmanagement.web.dto;
+
+public record JwtCacheStatsResponse(boolean enabled, long hits, long misses, int size, int maxEntries) {
+}
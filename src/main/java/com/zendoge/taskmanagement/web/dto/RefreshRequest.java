@@ -0,0 +1,8 @@
+package com.zendoge.taskmanagement.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshRequest(
+	@NotBlank String refreshToken
+) {
+}
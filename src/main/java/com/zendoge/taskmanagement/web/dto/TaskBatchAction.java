@@ -0,0 +1,7 @@
+package com.zendoge.taskmanagement.web.dto;
+
+public enum TaskBatchAction {
+	CREATE,
+	UPDATE,
+	DELETE
+}
@@ -0,0 +1,19 @@
+package com.zendoge.taskmanagement.web.dto;
+
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One entry of a batch. {@code CREATE} takes title, description and assigneeId; {@code UPDATE} takes
+ * {@code id} plus the fields of {@link TaskUpdateRequest}; {@code DELETE} takes only {@code id}.
+ */
+public record TaskBatchOperation(
+	@NotNull TaskBatchAction action,
+	Long id,
+	@Size(max = 200) String title,
+	String description,
+	TaskStatus status,
+	Long assigneeId
+) {
+}
@@ -0,0 +1,32 @@
+package com.zendoge.taskmanagement.web.dto;
+
+import java.util.List;
+import org.springframework.http.HttpStatus;
+
+public record TaskBatchResponse(
+	int succeeded,
+	int failed,
+	List<Result> results
+) {
+	/**
+	 * Outcome of the operation at {@code index}; {@code status} is the HTTP status the matching
+	 * single-item endpoint would have returned.
+	 */
+	public record Result(
+		int index,
+		TaskBatchAction action,
+		Long id,
+		int status,
+		TaskResponse task,
+		String error
+	) {
+		public static Result success(int index, TaskBatchOperation operation, HttpStatus status, TaskResponse task) {
+			Long id = task != null ? task.id() : operation.id();
+			return new Result(index, operation.action(), id, status.value(), task, null);
+		}
+
+		public static Result failure(int index, TaskBatchOperation operation, int status, String error) {
+			return new Result(index, operation.action(), operation.id(), status, null, error);
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package com.zendoge.taskmanagement.web.dto;
+
+/**
+ * Payload of a task change event; {@code task} is null for deletions and resyncs.
+ */
+public record TaskChangeEvent(
+	TaskChangeType type,
+	Long taskId,
+	TaskResponse task
+) {
+}
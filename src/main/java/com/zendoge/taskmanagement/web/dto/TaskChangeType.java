@@ -0,0 +1,11 @@
+package com.zendoge.taskmanagement.web.dto;
+
+/**
+ * Kind of a task change event; {@code RESYNC} stands in for changes too numerous to send one by one.
+ */
+public enum TaskChangeType {
+	CREATED,
+	UPDATED,
+	DELETED,
+	RESYNC
+}
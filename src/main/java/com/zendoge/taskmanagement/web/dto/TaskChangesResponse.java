@@ -0,0 +1,15 @@
+package com.zendoge.taskmanagement.web.dto;
+
+import java.util.List;
+
+/**
+ * Tasks that changed after a sync token, in change order, and ids of tasks that left the caller's
+ * view. {@code next} is the token for the following call; {@code hasMore} means call again right away.
+ */
+public record TaskChangesResponse(
+	List<TaskResponse> upserts,
+	List<Long> deletions,
+	String next,
+	boolean hasMore
+) {
+}
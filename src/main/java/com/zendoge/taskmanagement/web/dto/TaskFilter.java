@@ -0,0 +1,37 @@
+package com.zendoge.taskmanagement.web.dto;
+
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import io.swagger.v3.oas.annotations.Parameter;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Optional criteria for task lists, bound from query parameters; {@code null} or empty components are
+ * not applied, and a missing {@code unassigned} means {@code false}. The creation window is half-open,
+ * {@code [createdFrom, createdTo)}.
+ */
+public record TaskFilter(
+	@Parameter(description = "Statuses to include; repeat the parameter or separate with commas, e.g. `TODO,DOING`")
+	Set<TaskStatus> status,
+	@Parameter(description = "Assignee user id (MEMBER: only their own)")
+	Long assigneeId,
+	@Parameter(description = "Only tasks without an assignee; cannot be combined with `assigneeId`")
+	Boolean unassigned,
+	@Parameter(description = "Creator user id")
+	Long createdBy,
+	@Parameter(description = "Inclusive lower bound on creation time (ISO-8601 instant)")
+	Instant createdFrom,
+	@Parameter(description = "Exclusive upper bound on creation time (ISO-8601 instant)")
+	Instant createdTo
+) {
+	public static final TaskFilter NONE = new TaskFilter(null, null, false, null, null, null);
+
+	public TaskFilter {
+		// Constructor binding passes null for an absent parameter, which a primitive cannot take.
+		unassigned = Boolean.TRUE.equals(unassigned);
+	}
+
+	public TaskFilter withAssigneeId(Long assigneeId) {
+		return new TaskFilter(status, assigneeId, unassigned, createdBy, createdFrom, createdTo);
+	}
+}
@@ -0,0 +1,20 @@
+package com.zendoge.taskmanagement.web.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. Every line up to {@code checkpoint} has been committed or rejected, so an
+ * interrupted import resumes by re-sending the same file with {@code skip=checkpoint}.
+ */
+public record TaskImportResponse(
+	boolean completed,
+	long lines,
+	long imported,
+	long rejected,
+	long checkpoint,
+	String failure,
+	List<LineError> errors
+) {
+	public record LineError(long line, String error) {
+	}
+}
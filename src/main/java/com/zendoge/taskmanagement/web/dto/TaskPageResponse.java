@@ -0,0 +1,9 @@
+package com.zendoge.taskmanagement.web.dto;
+
+import java.util.List;
+
+public record TaskPageResponse(
+	List<TaskResponse> items,
+	String next
+) {
+}
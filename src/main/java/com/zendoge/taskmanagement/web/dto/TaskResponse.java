@@ -1,8 +1,11 @@
 package com.zendoge.taskmanagement.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.zendoge.taskmanagement.domain.TaskStatus;
+import com.zendoge.taskmanagement.web.FieldSelection;
 import java.time.Instant;
 
+@JsonFilter(FieldSelection.FILTER_ID)
 public record TaskResponse(
 	Long id,
 	String title,
@@ -10,6 +13,8 @@ public record TaskResponse(
 	TaskStatus status,
 	Long assigneeId,
 	Long createdById,
-	Instant createdAt
+	Instant createdAt,
+	Instant updatedAt,
+	Long version
 ) {
 }
@@ -0,0 +1,55 @@
+package com.zendoge.taskmanagement.web.dto;
+
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Orders of the task list. Ties are broken by id in the same direction, so every order is total and
+ * keyset pages can resume from the {@code (key, id)} of the last task.
+ */
+public enum TaskSort {
+	CREATED_AT("createdAt", "createdAt", false, TaskResponse::createdAt),
+	CREATED_AT_DESC("-createdAt", "createdAt", true, TaskResponse::createdAt),
+	UPDATED_AT("updatedAt", "updatedAt", false, TaskResponse::updatedAt),
+	UPDATED_AT_DESC("-updatedAt", "updatedAt", true, TaskResponse::updatedAt);
+
+	public static final String DEFAULT = "createdAt";
+
+	private final String parameter;
+	private final String attribute;
+	private final boolean descending;
+	private final Function<TaskResponse, Instant> key;
+
+	TaskSort(String parameter, String attribute, boolean descending, Function<TaskResponse, Instant> key) {
+		this.parameter = parameter;
+		this.attribute = attribute;
+		this.descending = descending;
+		this.key = key;
+	}
+
+	/**
+	 * Parses a {@code sort} parameter: a field name, prefixed with {@code -} for descending order.
+	 */
+	public static TaskSort of(String parameter) {
+		for (TaskSort sort : values()) {
+			if (sort.parameter.equals(parameter)) {
+				return sort;
+			}
+		}
+		throw new IllegalArgumentException("sort must be one of createdAt, -createdAt, updatedAt, -updatedAt");
+	}
+
+	/** Entity attribute sorted on. */
+	public String attribute() {
+		return attribute;
+	}
+
+	public boolean descending() {
+		return descending;
+	}
+
+	/** Sort key of {@code task}, for the cursor of the page it ends. */
+	public Instant keyOf(TaskResponse task) {
+		return key.apply(task);
+	}
+}
@@ -0,0 +1,16 @@
+package com.zendoge.taskmanagement.web.dto;
+
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import java.util.List;
+import java.util.Map;
+
+public record TaskStatsResponse(
+	long total,
+	Map<TaskStatus, Long> byStatus,
+	List<AssigneeCount> byAssignee,
+	long mine,
+	double completionPercent
+) {
+	public record AssigneeCount(Long assigneeId, long count) {
+	}
+}
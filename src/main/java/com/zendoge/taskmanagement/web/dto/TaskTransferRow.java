@@ -0,0 +1,18 @@
+package com.zendoge.taskmanagement.web.dto;
+
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import java.time.Instant;
+
+/**
+ * One NDJSON line of a task export or import. The assignee travels as an email so a file can move
+ * between installations; {@code id} is informational and ignored on import.
+ */
+public record TaskTransferRow(
+	Long id,
+	String title,
+	String description,
+	TaskStatus status,
+	String assignee,
+	Instant createdAt
+) {
+}
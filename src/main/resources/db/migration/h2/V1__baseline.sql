@@ -0,0 +1,37 @@
+-- Same tables, columns and constraints as db/migration/postgresql, as Hibernate creates them on H2.
+
+create table users (
+	id bigint generated by default as identity,
+	email varchar(255) not null,
+	password_hash varchar(255) not null,
+	role enum ('ADMIN', 'MANAGER', 'MEMBER', 'VIEWER') not null,
+	created_at timestamp(6) with time zone not null,
+	constraint users_pkey primary key (id),
+	constraint uk6dotkott2kjsp8vw4d0m25fb7 unique (email)
+);
+
+create table tasks (
+	id bigint generated by default as identity,
+	title varchar(200) not null,
+	description text,
+	status enum ('TODO', 'DOING', 'DONE') not null,
+	assignee_id bigint,
+	created_by bigint not null,
+	created_at timestamp(6) with time zone not null,
+	constraint tasks_pkey primary key (id),
+	constraint fkekr1dgiqktpyoip3qmp6lxsit foreign key (assignee_id) references users (id),
+	constraint fk9dgm9t7wn4w3gh57h63g712lo foreign key (created_by) references users (id)
+);
+
+create table audit_logs (
+	id bigint generated by default as identity,
+	user_id bigint not null,
+	action varchar(100) not null,
+	entity varchar(100) not null,
+	entity_id bigint not null,
+	old_data text,
+	new_data text,
+	timestamp timestamp(6) with time zone not null,
+	constraint audit_logs_pkey primary key (id),
+	constraint fkjs4iimve3y0xssbtve5ysyef0 foreign key (user_id) references users (id)
+);
@@ -0,0 +1,7 @@
+create index idx_tasks_created_at on tasks (created_at, id);
+create index idx_tasks_assignee_created_at on tasks (assignee_id, created_at, id);
+create index idx_tasks_status_created_at on tasks (status, created_at, id);
+create index idx_tasks_status_assignee_created_at on tasks (status, assignee_id, created_at, id);
+create index idx_tasks_created_by_created_at on tasks (created_by, created_at, id);
+
+create index idx_refresh_tokens_user_id on refresh_tokens (user_id);
@@ -0,0 +1,3 @@
+alter table users add column role_changed_at timestamp(6) with time zone;
+
+create index idx_users_role_changed_at on users (role_changed_at);
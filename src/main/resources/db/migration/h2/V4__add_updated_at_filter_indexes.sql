@@ -0,0 +1,2 @@
+create index idx_tasks_status_updated_at on tasks (status, updated_at, id);
+create index idx_tasks_created_by_updated_at on tasks (created_by, updated_at, id);
@@ -0,0 +1,2 @@
+-- PostgreSQL only: H2 has no partial indexes, and its assignee indexes already serve unassigned tasks
+-- in order. Kept so that both directories share their version numbers.
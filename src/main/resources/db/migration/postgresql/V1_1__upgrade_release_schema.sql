@@ -0,0 +1,108 @@
+-- Upgrades the V1 schema to the one the entities expect: pooled sequences instead of identity columns,
+-- task versions and change times, a partitioned audit log with delta entries, task tombstones and
+-- refresh tokens. Runs in one transaction, which locks tasks and audit_logs while their indexes are built.
+
+alter table users rename constraint uk6dotkott2kjsp8vw4d0m25fb7 to uk_users_email;
+alter table users rename constraint users_role_check to ck_users_role;
+
+-- Tasks: ids come from a sequence Hibernate allocates 50 at a time, continuing after the existing rows.
+alter table tasks rename constraint fkekr1dgiqktpyoip3qmp6lxsit to fk_tasks_assignee;
+alter table tasks rename constraint fk9dgm9t7wn4w3gh57h63g712lo to fk_tasks_created_by;
+alter table tasks rename constraint tasks_status_check to ck_tasks_status;
+alter table tasks alter column id drop identity;
+create sequence tasks_seq start with 1 increment by 50;
+select setval('tasks_seq', max(id)) from tasks having max(id) is not null;
+
+-- Existing tasks count as changed now.
+alter table tasks add column updated_at timestamp(6) with time zone default current_timestamp not null;
+alter table tasks add column version bigint default 0 not null;
+
+create index idx_tasks_updated_at on tasks (updated_at, id);
+create index idx_tasks_assignee_updated_at on tasks (assignee_id, updated_at, id);
+
+-- Audit log: range-partitioned by timestamp; AuditPartitionManager adds and expires the period
+-- partitions. The primary key has to include the partition key. Existing entries become one partition
+-- that ends with the month of the newest entry, and are expired with it.
+alter table audit_logs rename to audit_logs_legacy;
+alter table audit_logs_legacy alter column id drop identity;
+alter table audit_logs_legacy drop constraint audit_logs_pkey;
+alter table audit_logs_legacy drop constraint fkjs4iimve3y0xssbtve5ysyef0;
+alter table audit_logs_legacy add column data_format varchar(10);
+alter table audit_logs_legacy add column snapshot_at timestamp(6) with time zone;
+
+create sequence audit_logs_seq start with 1 increment by 50;
+select setval('audit_logs_seq', max(id)) from audit_logs_legacy having max(id) is not null;
+
+create table audit_logs (
+	id bigint not null,
+	user_id bigint not null,
+	action varchar(100) not null,
+	entity varchar(100) not null,
+	entity_id bigint not null,
+	old_data text,
+	new_data text,
+	data_format varchar(10),
+	snapshot_at timestamp(6) with time zone,
+	"timestamp" timestamp(6) with time zone not null,
+	constraint audit_logs_id_timestamp_pkey primary key (id, "timestamp"),
+	constraint fk_audit_logs_user foreign key (user_id) references users (id),
+	constraint ck_audit_logs_data_format check (data_format in ('FULL', 'DELTA'))
+) partition by range ("timestamp");
+
+do $$
+declare
+	newest timestamptz;
+begin
+	select max("timestamp") into newest from audit_logs_legacy;
+	if newest is null then
+		drop table audit_logs_legacy;
+	else
+		-- A partition has to carry the parent's check constraints under the same names.
+		alter table audit_logs_legacy add constraint ck_audit_logs_data_format
+			check (data_format in ('FULL', 'DELTA'));
+		execute format(
+			'alter table audit_logs attach partition audit_logs_legacy for values from (minvalue) to (%L)',
+			date_trunc('month', newest at time zone 'UTC') at time zone 'UTC' + interval '1 month'
+		);
+	end if;
+end
+$$;
+
+create table audit_logs_default partition of audit_logs default;
+
+create index idx_audit_logs_entity_timestamp on audit_logs (entity, entity_id, "timestamp", id);
+create index idx_audit_logs_user_timestamp on audit_logs (user_id, "timestamp", id);
+create index idx_audit_logs_timestamp on audit_logs ("timestamp", id);
+
+create sequence task_tombstones_seq start with 1 increment by 50;
+
+create table task_tombstones (
+	id bigint not null,
+	task_id bigint not null,
+	assignee_id bigint,
+	reason varchar(20) not null,
+	removed_at timestamp(6) with time zone not null,
+	constraint task_tombstones_pkey primary key (id),
+	constraint ck_task_tombstones_reason check (reason in ('DELETED', 'UNASSIGNED'))
+);
+
+create index idx_task_tombstones_removed_at on task_tombstones (removed_at);
+create index idx_task_tombstones_assignee_removed_at on task_tombstones (assignee_id, removed_at);
+
+create sequence refresh_tokens_seq start with 1 increment by 50;
+
+create table refresh_tokens (
+	id bigint not null,
+	token_hash varchar(64) not null,
+	family varchar(36) not null,
+	user_id bigint not null,
+	created_at timestamp(6) with time zone not null,
+	expires_at timestamp(6) with time zone not null,
+	used_at timestamp(6) with time zone,
+	constraint refresh_tokens_pkey primary key (id),
+	constraint fk_refresh_tokens_user foreign key (user_id) references users (id) on delete cascade
+);
+
+create unique index idx_refresh_tokens_token_hash on refresh_tokens (token_hash);
+create index idx_refresh_tokens_family on refresh_tokens (family);
+create index idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
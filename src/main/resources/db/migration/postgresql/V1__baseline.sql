@@ -0,0 +1,41 @@
+-- Schema of the last release before migrations, as Hibernate's schema update created it (hence the
+-- generated constraint names). Existing databases are baselined at this version instead of running it,
+-- and V1.1 upgrades them.
+
+create table users (
+	id bigint generated by default as identity,
+	email varchar(255) not null,
+	password_hash varchar(255) not null,
+	role varchar(20) not null,
+	created_at timestamp(6) with time zone not null,
+	constraint users_pkey primary key (id),
+	constraint uk6dotkott2kjsp8vw4d0m25fb7 unique (email),
+	constraint users_role_check check (role in ('ADMIN', 'MANAGER', 'MEMBER', 'VIEWER'))
+);
+
+create table tasks (
+	id bigint generated by default as identity,
+	title varchar(200) not null,
+	description text,
+	status varchar(20) not null,
+	assignee_id bigint,
+	created_by bigint not null,
+	created_at timestamp(6) with time zone not null,
+	constraint tasks_pkey primary key (id),
+	constraint fkekr1dgiqktpyoip3qmp6lxsit foreign key (assignee_id) references users (id),
+	constraint fk9dgm9t7wn4w3gh57h63g712lo foreign key (created_by) references users (id),
+	constraint tasks_status_check check (status in ('TODO', 'DOING', 'DONE'))
+);
+
+create table audit_logs (
+	id bigint generated by default as identity,
+	user_id bigint not null,
+	action varchar(100) not null,
+	entity varchar(100) not null,
+	entity_id bigint not null,
+	old_data text,
+	new_data text,
+	"timestamp" timestamp(6) with time zone not null,
+	constraint audit_logs_pkey primary key (id),
+	constraint fkjs4iimve3y0xssbtve5ysyef0 foreign key (user_id) references users (id)
+);
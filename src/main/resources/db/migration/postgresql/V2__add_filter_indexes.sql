@@ -0,0 +1,22 @@
+-- Runs outside a transaction (see the .conf file) so that the indexes build without blocking writes.
+-- "if not exists" skips indexes an earlier schema update already created. A build that fails leaves an
+-- INVALID index behind: drop it, then run "flyway repair" and migrate again.
+
+-- Task list filters: the equality columns first, then the sort key and id. They also serve the
+-- assignee_id and created_by foreign keys.
+create index concurrently if not exists idx_tasks_created_at on tasks (created_at, id);
+create index concurrently if not exists idx_tasks_assignee_created_at on tasks (assignee_id, created_at, id);
+create index concurrently if not exists idx_tasks_status_created_at on tasks (status, created_at, id);
+create index concurrently if not exists idx_tasks_status_assignee_created_at on tasks (status, assignee_id, created_at, id);
+create index concurrently if not exists idx_tasks_created_by_created_at on tasks (created_by, created_at, id);
+
+-- Deleting a user cascades to its refresh tokens.
+create index concurrently if not exists idx_refresh_tokens_user_id on refresh_tokens (user_id);
+
+-- Full-text search (PostgresTaskSearchEngine). Adding the generated column rewrites the table once;
+-- databases that already ran the search engine have it.
+alter table tasks add column if not exists search_vector tsvector generated always as (
+	setweight(to_tsvector('english', coalesce(title, '')), 'A')
+	|| setweight(to_tsvector('english', coalesce(description, '')), 'B')
+) stored;
+create index concurrently if not exists idx_tasks_search_vector on tasks using gin (search_vector);
@@ -0,0 +1,6 @@
+-- Runs outside a transaction (see the .conf file) so that the index builds without blocking writes.
+-- Adding a nullable column without a default does not rewrite the table.
+
+-- Role changes, read by every instance (RoleChangeSync) to distrust tokens issued before them.
+alter table users add column if not exists role_changed_at timestamp(6) with time zone;
+create index concurrently if not exists idx_users_role_changed_at on users (role_changed_at);
@@ -0,0 +1,6 @@
+-- Runs outside a transaction (see the .conf file) so that the indexes build without blocking writes.
+-- A build that fails leaves an INVALID index behind: drop it, then run "flyway repair" and migrate again.
+
+-- Status and creator filters sorted by updatedAt, read in order instead of sorted per page.
+create index concurrently if not exists idx_tasks_status_updated_at on tasks (status, updated_at, id);
+create index concurrently if not exists idx_tasks_created_by_updated_at on tasks (created_by, updated_at, id);
@@ -0,0 +1,7 @@
+-- Runs outside a transaction (see the .conf file) so that the indexes build without blocking writes.
+-- A build that fails leaves an INVALID index behind: drop it, then run "flyway repair" and migrate again.
+
+-- "assignee_id is null" is no equality for PostgreSQL, so the assignee indexes return unassigned tasks
+-- out of sort order. Partial indexes read them in order instead of sorting them per page.
+create index concurrently if not exists idx_tasks_unassigned_created_at on tasks (created_at, id) where assignee_id is null;
+create index concurrently if not exists idx_tasks_unassigned_updated_at on tasks (updated_at, id) where assignee_id is null;
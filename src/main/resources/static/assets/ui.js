@@ -1,5 +1,7 @@
 const apiBase = "";
 const tokenKey = "task_token";
+const refreshKey = "task_refresh";
+const expiresKey = "task_token_expires";
 const userKey = "task_user";
 
 const routes = {
@@ -16,9 +18,21 @@ const routes = {
 const auth = {
 	getToken()  { return localStorage.getItem(tokenKey); },
 	setToken(t) { localStorage.setItem(tokenKey, t); },
+	getRefreshToken() { return localStorage.getItem(refreshKey); },
+	getExpiresAt()    { return Number(localStorage.getItem(expiresKey)) || 0; },
+	/* Stores a login/refresh response and plans the next silent refresh */
+	setSession(data) {
+		localStorage.setItem(tokenKey, data.token);
+		localStorage.setItem(refreshKey, data.refreshToken);
+		localStorage.setItem(expiresKey, String(Date.now() + data.expiresIn * 1000));
+		scheduleRefresh();
+	},
 	clear()     {
 		localStorage.removeItem(tokenKey);
+		localStorage.removeItem(refreshKey);
+		localStorage.removeItem(expiresKey);
 		localStorage.removeItem(userKey);
+		clearTimeout(session.timer);
 		if (window.Alpine && Alpine.store('auth')) Alpine.store('auth').user = null;
 	},
 	setUser(u)  {
@@ -40,7 +54,7 @@ document.addEventListener('alpine:init', () => {
 		get isManager()     { return ['ADMIN', 'MANAGER'].includes(this.user?.role); },
 		get canViewAudit()  { return ['ADMIN', 'MANAGER', 'MEMBER'].includes(this.user?.role); },
 		get canCreateTask() { return ['ADMIN', 'MANAGER'].includes(this.user?.role); },
-		logout()            { auth.clear(); window.location.href = routes.login; }
+		logout()            { endSession(); window.location.href = routes.login; }
 	});
 
 	/* Sidebar store */
@@ -378,16 +392,87 @@ function renderEmptyState(container, message, sub) {
 	container.appendChild(d);
 }
 
+/* ────────────────────────────────────────
+   Session refresh
+   Access tokens are renewed with the refresh token shortly before they
+   expire, so an open tab never sends the password again.
+   ──────────────────────────────────────── */
+const session = { timer: null, pending: null, leadMs: 60000 };
+
+function scheduleRefresh() {
+	clearTimeout(session.timer);
+	if (!auth.getRefreshToken()) return;
+	const delay = Math.max(auth.getExpiresAt() - Date.now() - session.leadMs, 0);
+	session.timer = setTimeout(() => {
+		/* Another tab may have refreshed already; then just wait for the new expiry */
+		if (auth.getExpiresAt() - Date.now() > session.leadMs) { scheduleRefresh(); return; }
+		refreshSession();
+	}, delay);
+}
+
+/* One refresh at a time, across tabs too: a refresh token is only good once,
+   and presenting it twice revokes the session everywhere */
+function refreshSession() {
+	if (session.pending) return session.pending;
+	const seen = auth.getRefreshToken();
+	if (!seen) return Promise.resolve(false);
+	session.pending = (async () => {
+		try {
+			return await withRefreshLock(async () => {
+				const refreshToken = auth.getRefreshToken();
+				if (!refreshToken) return false;
+				/* Another tab rotated it while this one waited for the lock */
+				if (refreshToken !== seen) { scheduleRefresh(); return true; }
+				const response = await fetch(`${apiBase}/api/auth/refresh`, {
+					method: "POST",
+					headers: { "Content-Type": "application/json" },
+					body: JSON.stringify({ refreshToken })
+				});
+				if (!response.ok) return false;
+				auth.setSession(await response.json());
+				return true;
+			});
+		} catch (_) {
+			return false;
+		} finally {
+			session.pending = null;
+		}
+	})();
+	return session.pending;
+}
+
+/* Web Locks are shared by all tabs of the origin; they are missing only on
+   insecure origins, where each tab has to refresh on its own */
+function withRefreshLock(task) {
+	return navigator.locks ? navigator.locks.request(refreshKey, task) : task();
+}
+
+function endSession() {
+	const refreshToken = auth.getRefreshToken();
+	if (refreshToken) {
+		fetch(`${apiBase}/api/auth/logout`, {
+			method: "POST",
+			headers: { "Content-Type": "application/json" },
+			body: JSON.stringify({ refreshToken }),
+			keepalive: true
+		}).catch(() => {});
+	}
+	auth.clear();
+}
+
 /* ────────────────────────────────────────
    API request
    ──────────────────────────────────────── */
-async function apiRequest(path, options = {}, silent = false) {
+async function apiRequest(path, options = {}, silent = false, retried = false) {
 	const headers = options.headers || {};
 	headers["Content-Type"] = "application/json";
 	const token = auth.getToken();
 	if (token) headers["Authorization"] = `Bearer ${token}`;
 	try {
 		const response = await fetch(`${apiBase}${path}`, { ...options, headers });
+		if (response.status === 401 && token && !retried && await refreshSession()) {
+			return apiRequest(path, options, silent, true);
+		}
 		if (response.status === 401) {
 			auth.clear();
 			if (!silent) showToast("Session expired. Redirecting to login...", "warning");
@@ -445,7 +530,7 @@ async function initLogin() {
 			});
 			if (!r || !r.ok) { showToast("Invalid credentials. Please try again.", "error"); return; }
 			const data = await r.json();
-			auth.setToken(data.token);
+			auth.setSession(data);
 			await ensureUserProfile();
 			showToast("Welcome back!", "success");
 			setTimeout(() => { window.location.href = routes.tasks; }, 600);
@@ -469,7 +554,7 @@ async function initLogin() {
 			});
 			if (!r || !r.ok) { showToast("Registration failed. Email may already be in use.", "error"); return; }
 			const data = await r.json();
-			auth.setToken(data.token);
+			auth.setSession(data);
 			await ensureUserProfile();
 			showToast("Account created successfully!", "success");
 			setTimeout(() => { window.location.href = routes.tasks; }, 600);
@@ -503,6 +588,9 @@ function taskBoard() {
 		myTasksOnly: false,
 		allTasks: [],
 		noResults: false,
+		/* Ids the server matched for a query; ids stays null when the search failed */
+		searchResult: { query: '', ids: null, stale: false },
+		searchTimer: null,
 		/* Shortcuts modal */
 		shortcutsOpen: false,
 		/* Computed-style getters */
@@ -517,12 +605,20 @@ function taskBoard() {
 			const user = auth.getUser();
 			if (!user) return;
 			let filtered = [...this.allTasks];
-			if (this.searchQuery) {
-				const q = this.searchQuery.toLowerCase();
-				filtered = filtered.filter(t =>
-					(t.title && t.title.toLowerCase().includes(q)) ||
-					(t.description && t.description.toLowerCase().includes(q))
-				);
+			const query = this.searchQuery.trim();
+			if (query) {
+				if (this.searchResult.query !== query || this.searchResult.stale) this.searchTasks(query);
+				const ids = this.searchResult.query === query ? this.searchResult.ids : null;
+				if (ids) {
+					filtered = filtered.filter(t => ids.has(t.id));
+				} else {
+					/* Until the server answers, match substrings of what is loaded */
+					const q = query.toLowerCase();
+					filtered = filtered.filter(t =>
+						(t.title && t.title.toLowerCase().includes(q)) ||
+						(t.description && t.description.toLowerCase().includes(q))
+					);
+				}
 			}
 			if (this.statusFilter) {
 				filtered = filtered.filter(t => t.status === this.statusFilter);
@@ -541,7 +637,20 @@ function taskBoard() {
 			renderKanbanView(filtered, user);
 		},
 
+		searchTasks(query) {
+			clearTimeout(this.searchTimer);
+			this.searchTimer = setTimeout(async () => {
+				const r = await apiRequest(`/api/tasks/search?q=${encodeURIComponent(query)}&limit=500&fields=id`, {}, true);
+				const ids = r && r.ok ? new Set((await r.json()).map(t => t.id)) : null;
+				if (this.searchQuery.trim() !== query) return;
+				this.searchResult = { query, ids, stale: false };
+				this.applyFilters();
+			}, 200);
+		},
+
 		clearFilters() {
+			clearTimeout(this.searchTimer);
+			this.searchResult = { query: '', ids: null, stale: false };
 			this.searchQuery = '';
 			this.statusFilter = '';
 			this.myTasksOnly = false;
@@ -619,14 +728,19 @@ function taskBoard() {
 				return;
 			}
 			const r = await apiRequest(`/api/tasks/${this.detailTask.id}`, {
-				method: "PUT", body: JSON.stringify(payload)
+				method: "PUT", body: JSON.stringify(payload), headers: ifMatch(this.detailTask)
 			});
 			this.saving = false;
 			if (r && r.ok) {
 				showToast("Task updated", "success");
 				this.editing = false;
 				this.detailOpen = false;
-				await loadBoard();
+				await refreshBoard();
+			} else if (r && r.status === 412) {
+				showToast("Someone else changed this task. The board has been refreshed.", "warning");
+				this.editing = false;
+				this.detailOpen = false;
+				await refreshBoard();
 			} else {
 				showToast("Failed to update task", "error");
 			}
@@ -642,7 +756,7 @@ function taskBoard() {
 					if (r && (r.ok || r.status === 204)) {
 						showToast("Task deleted", "success");
 						this.detailOpen = false;
-						await loadBoard();
+						await refreshBoard();
 					} else {
 						showToast("Failed to delete task", "error");
 					}
@@ -660,12 +774,16 @@ function taskBoard() {
 			const next = this.nextStatus(this.detailTask.status);
 			if (!next) return;
 			const r = await apiRequest(`/api/tasks/${this.detailTask.id}`, {
-				method: "PUT", body: JSON.stringify({ status: next })
+				method: "PUT", body: JSON.stringify({ status: next }), headers: ifMatch(this.detailTask)
 			});
 			if (r && r.ok) {
 				showToast(`Task moved to ${next}`, "success");
 				this.detailOpen = false;
-				await loadBoard();
+				await refreshBoard();
+			} else if (r && r.status === 412) {
+				showToast("Someone else changed this task. The board has been refreshed.", "warning");
+				this.detailOpen = false;
+				await refreshBoard();
 			} else {
 				showToast("Failed to move task", "error");
 			}
@@ -733,7 +851,7 @@ async function initTasks() {
 						showToast("Task created successfully", "success");
 						const alpine = document.querySelector('[x-data*="taskBoard"]');
 						if (alpine && alpine._x_dataStack) alpine._x_dataStack[0].sheetOpen = false;
-						await loadBoard();
+						await refreshBoard();
 					} else {
 						showToast("Failed to create task", "error");
 					}
@@ -745,25 +863,42 @@ async function initTasks() {
 	}
 
 	await loadBoard();
+	connectBoardFeed();
 }
 
+/* Last board response; revalidated with If-None-Match so an unchanged board is not downloaded again */
+let boardCache = null;
+
 /* Separated so modals/sheets can call it without re-binding */
 async function loadBoard() {
 	const user = auth.getUser();
 	if (!user) return;
 
 	showBoardSkeleton(true);
-	const response = await apiRequest("/api/tasks");
-	if (!response || !response.ok) { showBoardSkeleton(false); return; }
-	const tasks = await response.json();
+	const headers = boardCache && boardCache.userId === user.id && boardCache.etag ? { "If-None-Match": boardCache.etag } : {};
+	const response = await apiRequest("/api/tasks", { headers });
+	if (!response || (!response.ok && response.status !== 304)) { showBoardSkeleton(false); return; }
+	let tasks;
+	if (response.status === 304) {
+		tasks = boardCache.tasks;
+	} else {
+		tasks = await response.json();
+		const etag = response.headers.get("ETag");
+		boardCache = { userId: user.id, etag, tasks };
+	}
 	showBoardSkeleton(false);
+	showBoardTasks(tasks, user);
+}
 
+function showBoardTasks(tasks, user) {
 	/* Store tasks in Alpine for filtering */
 	const alpine = document.querySelector('[x-data*="taskBoard"]');
 	if (alpine && alpine._x_dataStack) {
 		alpine._x_dataStack[0].allTasks = tasks;
 		/* Re-apply filters if any are active */
 		const board = alpine._x_dataStack[0];
+		/* The loaded tasks changed: keep filtering by the last result until a new search answers */
+		board.searchResult.stale = true;
 		if (board.searchQuery || board.statusFilter || board.myTasksOnly) {
 			board.applyFilters();
 			return;
@@ -773,6 +908,83 @@ async function loadBoard() {
 	renderKanbanView(tasks, user);
 }
 
+/* After a local change: the live feed delivers it when connected, otherwise reload */
+async function refreshBoard() {
+	if (!boardFeed.connected) await loadBoard();
+}
+
+/* ────────────────────────────────────────
+   Live board feed (server-sent events)
+   Read with fetch because EventSource cannot send the bearer token.
+   ──────────────────────────────────────── */
+const boardFeed = { connected: false, retryMs: 1000, resyncTimer: null };
+
+async function connectBoardFeed() {
+	const token = auth.getToken();
+	if (!token || boardFeed.reader) return;
+	try {
+		const response = await fetch(`${apiBase}/api/tasks/stream`, {
+			headers: { Authorization: `Bearer ${token}`, Accept: "text/event-stream" }
+		});
+		if (response.status === 401 || response.status === 403) return;
+		if (!response.ok || !response.body) throw new Error(`Feed returned ${response.status}`);
+		boardFeed.reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+		boardFeed.connected = true;
+		boardFeed.retryMs = 1000;
+		/* Catch up on anything missed while disconnected; cheap when nothing changed */
+		await loadBoard();
+		let buffer = "";
+		for (;;) {
+			const { value, done } = await boardFeed.reader.read();
+			if (done) break;
+			buffer += value;
+			let end;
+			while ((end = buffer.indexOf("\n\n")) >= 0) {
+				handleFeedEvent(buffer.slice(0, end));
+				buffer = buffer.slice(end + 2);
+			}
+		}
+	} catch (err) {
+		/* Reconnect below */
+	}
+	boardFeed.connected = false;
+	boardFeed.reader = null;
+	setTimeout(connectBoardFeed, boardFeed.retryMs);
+	boardFeed.retryMs = Math.min(boardFeed.retryMs * 2, 30000);
+}
+
+function handleFeedEvent(block) {
+	let name = "message";
+	const data = [];
+	for (const line of block.split("\n")) {
+		if (line.startsWith("event:")) name = line.slice(6).trim();
+		else if (line.startsWith("data:")) data.push(line.slice(5).replace(/^ /, ""));
+	}
+	if (data.length === 0) return; /* comments and keep-alives */
+	if (name === "resync") {
+		/* Imports send one per chunk; reload once they settle */
+		clearTimeout(boardFeed.resyncTimer);
+		boardFeed.resyncTimer = setTimeout(loadBoard, 500);
+		return;
+	}
+	applyTaskChange(name, JSON.parse(data.join("\n")));
+}
+
+function applyTaskChange(type, change) {
+	const user = auth.getUser();
+	if (!user || !boardCache) return;
+	const current = boardCache.tasks.find(t => t.id === change.taskId);
+	/* Changes relayed from other instances can arrive out of order */
+	if (type !== "deleted" && current && current.version > change.task.version) return;
+	const tasks = boardCache.tasks.filter(t => t.id !== change.taskId);
+	if (type !== "deleted") {
+		tasks.push(change.task);
+		tasks.sort((a, b) => a.createdAt === b.createdAt ? a.id - b.id : (a.createdAt < b.createdAt ? -1 : 1));
+	}
+	boardCache = { ...boardCache, tasks };
+	showBoardTasks(tasks, user);
+}
+
 /* ────────────────────────────────────────
    Kanban View Renderer
    ──────────────────────────────────────── */
@@ -874,11 +1086,16 @@ function nextMemberStatus(status) {
 	return null;
 }
 
+/* Makes a PUT conditional on the version the user is looking at */
+function ifMatch(task) {
+	return task.version != null ? { "If-Match": `"${task.version}"` } : {};
+}
+
 async function updateTaskStatus(id, status) {
 	const r = await apiRequest(`/api/tasks/${id}`, { method: "PUT", body: JSON.stringify({ status }) });
 	if (r && r.ok) {
 		showToast(`Task moved to ${status}`, "success");
-		await loadBoard();
+		await refreshBoard();
 	} else {
 		showToast("Failed to update task status", "error");
 	}
@@ -1178,6 +1395,8 @@ function formatAuditDayLabel(dayKey) {
 	return dayDate.toLocaleDateString(undefined, { weekday: "short", month: "short", day: "numeric", year: "numeric" });
 }
 
+const AUDIT_PAGE_SIZE = 200;
+
 async function initAudit() {
 	const list = document.getElementById("auditList");
 	if (!list) return;
@@ -1187,14 +1406,29 @@ async function initAudit() {
 	if (!user) return;
 
 	const scope = document.getElementById("auditScope");
-	const path = user.role === "ADMIN" ? "/api/audit" : "/api/audit/me";
 	if (scope) scope.textContent = user.role === "ADMIN" ? "All activity" : "My activity";
 
 	await loadUsersForAssignee();
 
-	const r = await apiRequest(path);
-	if (!r || !r.ok) { list.innerHTML = ""; return; }
-	const logs = (await r.json()).slice().sort((a, b) => new Date(b.timestamp) - new Date(a.timestamp));
+	/* The server scopes non-admins to their own actions and returns pages newest first. */
+	let logs = [];
+	let nextCursor = null;
+	let activeAction = "ALL";
+	let searchQuery = "";
+
+	const fetchAuditPage = async (cursor) => {
+		const params = new URLSearchParams({ limit: String(AUDIT_PAGE_SIZE) });
+		if (activeAction !== "ALL") params.set("action", activeAction);
+		if (cursor) params.set("cursor", cursor);
+		const r = await apiRequest(`/api/audit?${params}`);
+		if (!r || !r.ok) return false;
+		const page = await r.json();
+		logs = cursor ? logs.concat(page.items) : page.items;
+		nextCursor = page.next;
+		return true;
+	};
+
+	if (!await fetchAuditPage(null)) { list.innerHTML = ""; return; }
 	list.innerHTML = "";
 
 	const actionColors = {
@@ -1227,19 +1461,21 @@ async function initAudit() {
 	const filterRoot = document.getElementById("auditActionFilters");
 	const filterButtons = filterRoot ? Array.from(filterRoot.querySelectorAll("[data-action]")) : [];
 
-	if (totalEl) totalEl.textContent = String(logs.length);
-	if (createEl) createEl.textContent = String(logs.filter(l => l.action === "CREATE").length);
-	if (updateEl) updateEl.textContent = String(logs.filter(l => l.action === "UPDATE").length);
-	if (deleteEl) deleteEl.textContent = String(logs.filter(l => l.action === "DELETE").length);
+	const updateCounts = () => {
+		if (activeAction !== "ALL") return;
+		const suffix = nextCursor ? "+" : "";
+		if (totalEl) totalEl.textContent = String(logs.length) + suffix;
+		if (createEl) createEl.textContent = String(logs.filter(l => l.action === "CREATE").length) + suffix;
+		if (updateEl) updateEl.textContent = String(logs.filter(l => l.action === "UPDATE").length) + suffix;
+		if (deleteEl) deleteEl.textContent = String(logs.filter(l => l.action === "DELETE").length) + suffix;
+	};
+	updateCounts();
 
 	if (logs.length === 0) {
 		renderEmptyState(list, "No audit entries yet", "Actions will appear here as tasks are created and updated.");
 		return;
 	}
 
-	let activeAction = "ALL";
-	let searchQuery = "";
-
 	const renderAuditList = () => {
 		const filtered = logs.filter(log => {
 			if (activeAction !== "ALL" && log.action !== activeAction) return false;
@@ -1345,6 +1581,23 @@ async function initAudit() {
 			section.appendChild(dayList);
 			list.appendChild(section);
 		}
+
+		if (nextCursor) {
+			const more = document.createElement("button");
+			more.type = "button";
+			more.className = "w-full py-2.5 rounded-lg border border-border bg-surface-2 text-sm text-text-secondary hover:bg-surface-4 transition-colors";
+			more.textContent = "Load older activity";
+			more.addEventListener("click", async () => {
+				more.disabled = true;
+				if (await fetchAuditPage(nextCursor)) {
+					updateCounts();
+					renderAuditList();
+				} else {
+					more.disabled = false;
+				}
+			});
+			list.appendChild(more);
+		}
 	};
 
 	if (searchInput) {
@@ -1355,12 +1608,15 @@ async function initAudit() {
 	}
 
 	for (const btn of filterButtons) {
-		btn.addEventListener("click", () => {
+		btn.addEventListener("click", async () => {
 			activeAction = btn.dataset.action || "ALL";
 			for (const chip of filterButtons) {
 				chip.classList.toggle("active", chip === btn);
 			}
-			renderAuditList();
+			if (await fetchAuditPage(null)) {
+				updateCounts();
+				renderAuditList();
+			}
 		});
 	}
 
@@ -1394,29 +1650,28 @@ async function initDashboard() {
 	/* Load task stats */
 	const statsEl = document.getElementById("dashboardStats");
 	if (statsEl) {
-		const r = await apiRequest("/api/tasks", {}, true);
+		const r = await apiRequest("/api/tasks/stats", {}, true);
 		if (r && r.ok) {
-			const tasks = await r.json();
-			const todo = tasks.filter(t => t.status === "TODO").length;
-			const doing = tasks.filter(t => t.status === "DOING").length;
-			const done = tasks.filter(t => t.status === "DONE").length;
-			const myTasks = tasks.filter(t => t.assigneeId === user.id).length;
+			const stats = await r.json();
+			const todo = stats.byStatus.TODO;
+			const doing = stats.byStatus.DOING;
+			const done = stats.byStatus.DONE;
 
-			document.getElementById("statTotal").textContent = tasks.length;
+			document.getElementById("statTotal").textContent = stats.total;
 			document.getElementById("statTodo").textContent = todo;
 			document.getElementById("statDoing").textContent = doing;
 			document.getElementById("statDone").textContent = done;
-			document.getElementById("statMine").textContent = myTasks;
+			document.getElementById("statMine").textContent = stats.mine;
 
 			/* Progress bar */
 			const progressSection = document.getElementById("progressSection");
-			if (progressSection && tasks.length > 0) {
+			if (progressSection && stats.total > 0) {
 				progressSection.classList.remove("hidden");
-				const pct = Math.round((done / tasks.length) * 100);
+				const pct = Math.round(stats.completionPercent);
 				document.getElementById("progressPercent").textContent = `${pct}%`;
 				document.getElementById("progressFill").style.width = `${pct}%`;
 				document.getElementById("progressDone").textContent = done;
-				document.getElementById("progressTotal").textContent = tasks.length;
+				document.getElementById("progressTotal").textContent = stats.total;
 				const labelEl = document.getElementById("progressLabel");
 				if (labelEl) {
 					if (pct === 100) labelEl.textContent = "All done!";
@@ -1433,11 +1688,9 @@ async function initDashboard() {
 	const recentEl = document.getElementById("recentActivity");
 	if (recentEl) {
 		await loadUsersForAssignee();
-		const auditPath = user.role === "ADMIN" ? "/api/audit" : "/api/audit/me";
-		const r = await apiRequest(auditPath, {}, true);
+		const r = await apiRequest("/api/audit?limit=5", {}, true);
 		if (r && r.ok) {
-			const logs = await r.json();
-			const recent = logs.slice(0, 5);
+			const recent = (await r.json()).items;
 			recentEl.innerHTML = "";
 			if (recent.length === 0) {
 				recentEl.innerHTML = '<p class="text-sm text-text-tertiary py-4 text-center">No recent activity</p>';
@@ -1478,6 +1731,7 @@ document.addEventListener("DOMContentLoaded", () => {
 	/* For index: init dashboard if authenticated, otherwise show landing */
 	if (path === "/ui" || path === "/ui/") {
 		if (auth.getToken()) {
+			scheduleRefresh();
 			initDashboard();
 		}
 		return;
@@ -1485,6 +1739,7 @@ document.addEventListener("DOMContentLoaded", () => {
 
 	/* All other pages require auth */
 	if (!auth.getToken()) { window.location.href = routes.login; return; }
+	scheduleRefresh();
 
 	if (path.endsWith("/tasks")) initTasks();
 	if (path.endsWith("/users")) initUsers();
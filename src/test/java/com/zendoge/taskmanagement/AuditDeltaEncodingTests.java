@@ -0,0 +1,238 @@
+package com.zendoge.taskmanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.AuditDataFormat;
+import com.zendoge.taskmanagement.domain.AuditLog;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.AuditLogRepository;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.security.JwtService;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuditDeltaEncodingTests {
+	private static final String DESCRIPTION = "A long description that should not be repeated. ".repeat(20);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private AuditLogRepository auditLogRepository;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private UserDetailsService userDetailsService;
+
+	@Value("${audit.snapshot-interval}")
+	private int snapshotInterval;
+
+	private User admin;
+	private String token;
+
+	@BeforeEach
+	void setUp() {
+		auditLogRepository.deleteAll();
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+
+		User user = new User();
+		user.setEmail("delta@example.com");
+		user.setPasswordHash("x");
+		user.setRole(UserRole.ADMIN);
+		admin = userRepository.save(user);
+		token = jwtService.generateToken(userDetailsService.loadUserByUsername(admin.getEmail()));
+	}
+
+	@Test
+	void updatesStoreChangedFieldsWithPeriodicSnapshots() throws Exception {
+		long taskId = createTask();
+		List<String> statuses = applyUpdates(taskId, snapshotInterval + 1);
+
+		List<AuditLog> stored = storedEntries();
+		assertThat(stored).hasSize(snapshotInterval + 2);
+		for (int i = 0; i < stored.size(); i++) {
+			boolean full = i == 0 || i == snapshotInterval;
+			assertThat(stored.get(i).getFormat()).isEqualTo(full ? AuditDataFormat.FULL : AuditDataFormat.DELTA);
+		}
+		assertThat(json(stored.get(1).getOldData())).isEqualTo(json("{\"status\":\"TODO\"}"));
+		assertThat(json(stored.get(1).getNewData())).isEqualTo(json("{\"status\":\"" + statuses.get(1) + "\"}"));
+		// oldData: what this change replaced; newData: everything that differs from the CREATE snapshot.
+		assertThat(json(stored.get(2).getOldData()))
+			.isEqualTo(json("{\"title\":\"Original\",\"status\":\"" + statuses.get(1) + "\"}"));
+		assertThat(json(stored.get(2).getNewData()))
+			.isEqualTo(json("{\"title\":\"Renamed\",\"status\":\"" + statuses.get(2) + "\"}"));
+		assertThat(stored.get(2).getSnapshotAt()).isEqualTo(stored.get(0).getTimestamp());
+		assertThat(stored.get(snapshotInterval).getNewData()).contains(DESCRIPTION);
+		assertThat(stored.get(snapshotInterval + 1).getSnapshotAt()).isEqualTo(stored.get(snapshotInterval).getTimestamp());
+		assertThat(stored.get(snapshotInterval + 1).getNewData()).doesNotContain(DESCRIPTION);
+	}
+
+	@Test
+	void readsRehydrateFullViewsFromDeltas() throws Exception {
+		long taskId = createTask();
+		List<String> statuses = applyUpdates(taskId, snapshotInterval + 1);
+
+		JsonNode items = json(mockMvc.perform(get("/api/audit")
+				.header("Authorization", "Bearer " + token)
+				.param("limit", "100")
+				.param("entity", "TASK")
+				.param("entityId", String.valueOf(taskId)))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString()).get("items");
+
+		assertThat(items).hasSize(snapshotInterval + 2);
+		for (int update = 1; update <= snapshotInterval + 1; update++) {
+			JsonNode entry = items.get(items.size() - 1 - update);
+			assertThat(field(entry, "oldData", "status")).isEqualTo(statuses.get(update - 1));
+			assertThat(field(entry, "newData", "status")).isEqualTo(statuses.get(update));
+			assertThat(field(entry, "oldData", "title")).isEqualTo(update <= 2 ? "Original" : "Renamed");
+			assertThat(field(entry, "newData", "title")).isEqualTo(update >= 2 ? "Renamed" : "Original");
+			assertThat(field(entry, "oldData", "description")).isEqualTo(DESCRIPTION);
+			assertThat(field(entry, "newData", "description")).isEqualTo(DESCRIPTION);
+		}
+
+		JsonNode unpaged = json(mockMvc.perform(get("/api/audit").header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString());
+		for (int i = 0; i < items.size(); i++) {
+			assertThat(unpaged.get(i).get("oldData")).isEqualTo(items.get(items.size() - 1 - i).get("oldData"));
+			assertThat(unpaged.get(i).get("newData")).isEqualTo(items.get(items.size() - 1 - i).get("newData"));
+		}
+	}
+
+	@Test
+	void deltasUseTheirOwnSnapshotAndFallBackToStoredFields() throws Exception {
+		Instant start = Instant.parse("2026-01-01T00:00:00Z");
+		save(1L, AuditDataFormat.FULL, null, "{\"id\":1,\"title\":\"Right\",\"status\":\"TODO\"}", null, start);
+		save(2L, AuditDataFormat.FULL, null, "{\"id\":2,\"title\":\"Wrong\",\"status\":\"TODO\"}", null, start);
+		save(2L, AuditDataFormat.FULL, null, "{\"id\":2,\"title\":\"Right\",\"status\":\"TODO\"}", null, start.plusSeconds(1));
+		save(1L, AuditDataFormat.DELTA, "{\"status\":\"TODO\"}", "{\"status\":\"DONE\"}", start, start.plusSeconds(2));
+		save(2L, AuditDataFormat.DELTA, "{\"status\":\"TODO\"}", "{\"status\":\"DONE\"}", start.plusSeconds(1), start.plusSeconds(3));
+		save(3L, AuditDataFormat.DELTA, "{\"status\":\"DOING\"}", "{\"status\":\"DONE\"}", start.minusSeconds(60), start.plusSeconds(4));
+		save(4L, null, null, "{\"id\":4,\"title\":\"Legacy\"}", null, start.plusSeconds(5));
+
+		JsonNode items = json(mockMvc.perform(get("/api/audit")
+				.header("Authorization", "Bearer " + token)
+				.param("limit", "4"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString()).get("items");
+
+		assertThat(items.get(0).get("newData").asText()).isEqualTo("{\"id\":4,\"title\":\"Legacy\"}");
+		assertThat(items.get(0).get("partial").asBoolean()).isFalse();
+		assertThat(json(items.get(1).get("oldData").asText())).isEqualTo(json("{\"status\":\"DOING\"}"));
+		assertThat(json(items.get(1).get("newData").asText())).isEqualTo(json("{\"status\":\"DONE\"}"));
+		assertThat(items.get(1).get("partial").asBoolean()).isTrue();
+		for (JsonNode entry : List.of(items.get(2), items.get(3))) {
+			assertThat(entry.get("partial").asBoolean()).isFalse();
+			assertThat(field(entry, "oldData", "title")).isEqualTo("Right");
+			assertThat(field(entry, "oldData", "status")).isEqualTo("TODO");
+			assertThat(field(entry, "newData", "status")).isEqualTo("DONE");
+		}
+	}
+
+	private long createTask() throws Exception {
+		String body = objectMapper.writeValueAsString(Map.of("title", "Original", "description", DESCRIPTION));
+		return json(mockMvc.perform(post("/api/tasks")
+				.header("Authorization", "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString()).get("id").asLong();
+	}
+
+	/**
+	 * Cycles the status on every update and renames the task on the second one; returns the status
+	 * after each update, starting with the initial one.
+	 */
+	private List<String> applyUpdates(long taskId, int count) throws Exception {
+		List<String> statuses = new ArrayList<>(List.of("TODO"));
+		List<String> cycle = List.of("DOING", "DONE", "TODO");
+		for (int i = 1; i <= count; i++) {
+			String status = cycle.get((i - 1) % cycle.size());
+			update(taskId, i == 2
+				? "{\"title\":\"Renamed\",\"status\":\"" + status + "\"}"
+				: "{\"status\":\"" + status + "\"}");
+			statuses.add(status);
+		}
+		return statuses;
+	}
+
+	private List<AuditLog> storedEntries() {
+		return auditLogRepository.findAll().stream()
+			.sorted(Comparator.comparing(AuditLog::getTimestamp).thenComparing(AuditLog::getId))
+			.toList();
+	}
+
+	private void update(long taskId, String body) throws Exception {
+		mockMvc.perform(put("/api/tasks/{id}", taskId)
+				.header("Authorization", "Bearer " + token)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body))
+			.andExpect(status().isOk());
+	}
+
+	private void save(
+		Long entityId,
+		AuditDataFormat format,
+		String oldData,
+		String newData,
+		Instant snapshotAt,
+		Instant timestamp
+	) {
+		AuditLog log = new AuditLog();
+		log.setUser(admin);
+		log.setAction("UPDATE");
+		log.setEntity("TASK");
+		log.setEntityId(entityId);
+		log.setFormat(format);
+		log.setOldData(oldData);
+		log.setNewData(newData);
+		log.setSnapshotAt(snapshotAt);
+		log.setTimestamp(timestamp);
+		auditLogRepository.save(log);
+	}
+
+	private String field(JsonNode entry, String payload, String name) throws Exception {
+		return json(entry.get(payload).asText()).get(name).asText();
+	}
+
+	private JsonNode json(String body) throws Exception {
+		return objectMapper.readTree(body);
+	}
+}
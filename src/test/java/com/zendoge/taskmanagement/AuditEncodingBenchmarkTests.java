@@ -0,0 +1,208 @@
+package com.zendoge.taskmanagement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.AuditLogRepository;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.security.CurrentUserResolver;
+import com.zendoge.taskmanagement.service.AuditHistoryRehydrator;
+import com.zendoge.taskmanagement.service.AuditPartitionManager;
+import com.zendoge.taskmanagement.service.AuditService;
+import com.zendoge.taskmanagement.service.AuditSink;
+import com.zendoge.taskmanagement.web.dto.AuditLogFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares full and delta audit encoding for a typical update mix: stored payload bytes per
+ * update, write latency of one audited update (own transaction, synchronous sink) and the median
+ * latency of reading a page of entries back with full views. Run with {@code mvn test -Pbenchmark}; point
+ * {@code spring.datasource.*} at a scratch PostgreSQL database for representative latencies. It is
+ * recreated once {@code -Dspring.flyway.clean-disabled=false} allows it.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(ScratchSchemaConfig.class)
+class AuditEncodingBenchmarkTests {
+	private static final Logger log = LoggerFactory.getLogger(AuditEncodingBenchmarkTests.class);
+	private static final int TASKS = 50;
+	private static final int UPDATES_PER_TASK = Integer.getInteger("benchmark.updates-per-task", 40);
+	private static final int PAGE_SIZE = 200;
+	private static final int PAGE_READS = 100;
+	private static final String DESCRIPTION = "Steps to reproduce, expected and actual behaviour, and notes. ".repeat(16);
+
+	@Autowired
+	private AuditLogRepository auditLogRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private AuditSink auditSink;
+
+	@Autowired
+	private AuditHistoryRehydrator rehydrator;
+
+	@Autowired
+	private AuditPartitionManager partitionManager;
+
+	@Autowired
+	private CurrentUserResolver currentUserResolver;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		auditLogRepository.deleteAll();
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+
+		User created = new User();
+		created.setEmail("benchmark@example.com");
+		created.setPasswordHash("x");
+		created.setRole(UserRole.ADMIN);
+		user = userRepository.save(created);
+	}
+
+	@Test
+	void deltaEncodingStoresLessPerUpdate() {
+		// The first run of each format only warms up the JIT and the connection pool.
+		run("full", 1);
+		Result full = run("full", 1);
+		run("delta", 20);
+		Result delta = run("delta", 20);
+
+		log.info(String.format("%-6s %14s %14s %14s %16s", "format", "bytes/update", "write p50 us", "write p99 us", "page p50 ms"));
+		for (Result result : new Result[] { full, delta }) {
+			log.info(String.format("%-6s %14.0f %14.1f %14.1f %16.2f",
+				result.name(), result.bytesPerUpdate(), result.writeP50Micros(), result.writeP99Micros(), result.pageReadMillis()));
+		}
+		assertThat(delta.bytesPerUpdate()).isLessThan(full.bytesPerUpdate() / 4);
+	}
+
+	private Result run(String name, int snapshotInterval) {
+		auditLogRepository.deleteAll();
+		AuditService auditService = new AuditService(
+			auditLogRepository,
+			objectMapper,
+			auditSink,
+			rehydrator,
+			partitionManager,
+			currentUserResolver,
+			snapshotInterval,
+			new SimpleMeterRegistry()
+		);
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+		Map<Long, Map<String, Object>> tasks = new HashMap<>();
+		for (long id = 1; id <= TASKS; id++) {
+			Map<String, Object> task = snapshot(id, "Task " + id, TaskStatus.TODO);
+			tasks.put(id, task);
+			transaction.executeWithoutResult(status ->
+				auditService.log(user.getId(), "CREATE", "TASK", (Long) task.get("id"), null, task));
+		}
+
+		int updates = TASKS * UPDATES_PER_TASK;
+		long[] writeNanos = new long[updates];
+		TaskStatus[] statuses = TaskStatus.values();
+		for (int i = 0; i < updates; i++) {
+			long id = 1 + i % TASKS;
+			Map<String, Object> before = tasks.get(id);
+			Map<String, Object> after = new HashMap<>(before);
+			// Mostly status moves, every fifth change a rename.
+			if (i % 5 == 4) {
+				after.put("title", "Task " + id + " rev " + i);
+			} else {
+				after.put("status", statuses[(((TaskStatus) before.get("status")).ordinal() + 1) % statuses.length]);
+			}
+			tasks.put(id, after);
+			long started = System.nanoTime();
+			transaction.executeWithoutResult(status ->
+				auditService.logChange(user.getId(), "UPDATE", "TASK", id, before, after));
+			writeNanos[i] = System.nanoTime() - started;
+		}
+
+		Long bytes = jdbcTemplate.queryForObject(
+			"select sum(coalesce(octet_length(old_data), 0) + coalesce(octet_length(new_data), 0)) "
+				+ "from audit_logs where action = 'UPDATE'",
+			Long.class);
+
+		AuditLogFilter all = new AuditLogFilter(null, null, null, null, null, null);
+		long[] readNanos = new long[PAGE_READS];
+		for (int i = 0; i < PAGE_READS; i++) {
+			long started = System.nanoTime();
+			int size = transaction.execute(status ->
+				rehydrator.toResponses(auditLogRepository.findPage(all, null, null, true, PAGE_SIZE), true).size());
+			readNanos[i] = System.nanoTime() - started;
+			assertThat(size).isEqualTo(PAGE_SIZE);
+		}
+
+		Arrays.sort(writeNanos);
+		Arrays.sort(readNanos);
+		return new Result(
+			name,
+			(double) bytes / updates,
+			percentile(writeNanos, 0.50) / 1_000.0,
+			percentile(writeNanos, 0.99) / 1_000.0,
+			percentile(readNanos, 0.50) / 1_000_000.0
+		);
+	}
+
+	private static Map<String, Object> snapshot(long id, String title, TaskStatus status) {
+		Map<String, Object> data = new HashMap<>();
+		data.put("id", id);
+		data.put("title", title);
+		data.put("description", DESCRIPTION);
+		data.put("status", status);
+		data.put("assigneeId", null);
+		data.put("createdById", 1L);
+		data.put("createdAt", Instant.parse("2026-01-01T00:00:00Z"));
+		return data;
+	}
+
+	private static long percentile(long[] sorted, double fraction) {
+		return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+	}
+
+	private record Result(
+		String name,
+		double bytesPerUpdate,
+		double writeP50Micros,
+		double writeP99Micros,
+		double pageReadMillis
+	) {
+	}
+}
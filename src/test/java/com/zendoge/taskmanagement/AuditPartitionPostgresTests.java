@@ -0,0 +1,92 @@
+package com.zendoge.taskmanagement;
+
+import com.zendoge.taskmanagement.service.AuditPartitionManager;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the partition maintenance of several instances at once against a scratch PostgreSQL database,
+ * configured as for {@link SchemaMigrationPostgresTests}; the database is cleaned.
+ */
+@Tag("postgres")
+class AuditPartitionPostgresTests {
+	private static final int INSTANCES = 4;
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	void concurrentInstancesExpireEachPartitionOnce(boolean dropExpired) throws Exception {
+		DataSource postgres = SchemaMigrationPostgresTests.postgres();
+		Flyway flyway = SchemaMigrationPostgresTests.flyway(postgres).load();
+		flyway.clean();
+		flyway.migrate();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(postgres);
+		manager(jdbcTemplate, "2026-01-10T00:00:00Z", dropExpired).afterPropertiesSet();
+		assertThat(partitions(jdbcTemplate)).contains("audit_logs_p20260101", "audit_logs_p20260401");
+
+		// Five months later, with one month retained, January to April have expired.
+		List<AuditPartitionManager> instances = new ArrayList<>();
+		for (int i = 0; i < INSTANCES; i++) {
+			AuditPartitionManager instance = manager(jdbcTemplate, "2026-06-10T00:00:00Z", dropExpired);
+			instance.afterPropertiesSet();
+			instances.add(instance);
+		}
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService threads = Executors.newFixedThreadPool(INSTANCES);
+		try {
+			List<Future<?>> runs = new ArrayList<>();
+			for (AuditPartitionManager instance : instances) {
+				runs.add(threads.submit(() -> {
+					start.await();
+					instance.maintain();
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> run : runs) {
+				run.get();
+			}
+		} finally {
+			threads.shutdownNow();
+		}
+
+		assertThat(partitions(jdbcTemplate)).containsExactly(
+			"audit_logs_default",
+			"audit_logs_p20260601",
+			"audit_logs_p20260701",
+			"audit_logs_p20260801",
+			"audit_logs_p20260901"
+		);
+		Integer detached = jdbcTemplate.queryForObject(
+			"select count(*) from pg_tables where schemaname = current_schema() and tablename between 'audit_logs_p20260101' and 'audit_logs_p20260401'",
+			Integer.class);
+		assertThat(detached).isEqualTo(dropExpired ? 0 : 4);
+	}
+
+	private static AuditPartitionManager manager(JdbcTemplate jdbcTemplate, String now, boolean dropExpired) {
+		Clock clock = Clock.fixed(Instant.parse(now), ZoneOffset.UTC);
+		return new AuditPartitionManager(jdbcTemplate, ChronoUnit.MONTHS, 3, 1, dropExpired, clock);
+	}
+
+	private static List<String> partitions(JdbcTemplate jdbcTemplate) {
+		return jdbcTemplate.queryForList(
+			"select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid "
+				+ "where i.inhparent = 'audit_logs'::regclass order by c.relname",
+			String.class);
+	}
+}
@@ -0,0 +1,202 @@
+package com.zendoge.taskmanagement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.AuditDataFormat;
+import com.zendoge.taskmanagement.domain.AuditLog;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.AuditLogRepository;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.security.CurrentUserResolver;
+import com.zendoge.taskmanagement.service.AuditHistoryRehydrator;
+import com.zendoge.taskmanagement.service.AuditPartitionManager;
+import com.zendoge.taskmanagement.service.AuditService;
+import com.zendoge.taskmanagement.service.AuditSink;
+import com.zendoge.taskmanagement.web.dto.AuditLogResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuditRetentionTests {
+	private static final Instant NOW = Instant.parse("2026-03-18T10:15:00Z");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private AuditLogRepository auditLogRepository;
+
+	@Autowired
+	private AuditSink auditSink;
+
+	@Autowired
+	private AuditHistoryRehydrator rehydrator;
+
+	@Autowired
+	private CurrentUserResolver currentUserResolver;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		auditLogRepository.deleteAll();
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+
+		User created = new User();
+		created.setEmail("retention@example.com");
+		created.setPasswordHash("x");
+		created.setRole(UserRole.ADMIN);
+		user = userRepository.save(created);
+	}
+
+	@Test
+	void retentionWindowStartsOnAPartitionBoundary() {
+		assertThat(manager(ChronoUnit.MONTHS, 12).retentionCutoff(NOW)).isEqualTo("2025-03-01T00:00:00Z");
+		assertThat(manager(ChronoUnit.WEEKS, 2).retentionCutoff(NOW)).isEqualTo("2026-03-02T00:00:00Z");
+		assertThat(manager(ChronoUnit.DAYS, 30).retentionCutoff(NOW)).isEqualTo("2026-02-16T00:00:00Z");
+		assertThatThrownBy(() -> manager(ChronoUnit.HOURS, 1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void expiredEntriesAreDeletedWhenTheTableIsNotPartitioned() {
+		save(Instant.parse("2025-02-28T23:59:59Z"));
+		save(Instant.parse("2025-03-01T00:00:00Z"));
+		save(NOW);
+
+		AuditPartitionManager manager = manager(ChronoUnit.MONTHS, 12);
+		manager.afterPropertiesSet();
+		manager.maintain();
+
+		assertThat(manager.isPartitioned()).isFalse();
+		List<Instant> remaining = auditLogRepository.findAll().stream().map(AuditLog::getTimestamp).sorted().toList();
+		assertThat(remaining).containsExactly(Instant.parse("2025-03-01T00:00:00Z"), NOW);
+	}
+
+	@Test
+	void retainZeroKeepsEverything() {
+		save(Instant.parse("2001-01-01T00:00:00Z"));
+
+		AuditPartitionManager manager = manager(ChronoUnit.MONTHS, 0);
+		manager.afterPropertiesSet();
+		manager.maintain();
+
+		assertThat(auditLogRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	void deltasWhoseSnapshotExpiredAreReadAsPartial() {
+		Instant expired = Instant.parse("2025-02-20T08:00:00Z");
+		Instant kept = Instant.parse("2025-03-01T00:00:00Z");
+		save(1L, AuditDataFormat.FULL, null, "{\"id\":1,\"title\":\"Old\",\"status\":\"TODO\"}", null, expired);
+		save(1L, AuditDataFormat.DELTA, "{\"status\":\"TODO\"}", "{\"status\":\"DONE\"}", expired, NOW);
+		save(2L, AuditDataFormat.FULL, null, "{\"id\":2,\"title\":\"Kept\",\"status\":\"TODO\"}", null, kept);
+		save(2L, AuditDataFormat.DELTA, "{\"status\":\"TODO\"}", "{\"status\":\"DONE\"}", kept, NOW);
+
+		AuditPartitionManager manager = manager(ChronoUnit.MONTHS, 12);
+		manager.afterPropertiesSet();
+		manager.maintain();
+
+		List<AuditLogResponse> deltas = new TransactionTemplate(transactionManager)
+			.execute(status -> rehydrator.toResponses(auditLogRepository.findAllRows(true), true))
+			.stream()
+			.filter(entry -> entry.timestamp().equals(NOW))
+			.toList();
+		AuditLogResponse orphaned = deltas.stream().filter(entry -> entry.entityId() == 1L).findFirst().orElseThrow();
+		AuditLogResponse complete = deltas.stream().filter(entry -> entry.entityId() == 2L).findFirst().orElseThrow();
+		assertThat(orphaned.partial()).isTrue();
+		assertThat(orphaned.newData()).isEqualTo("{\"status\":\"DONE\"}");
+		assertThat(complete.partial()).isFalse();
+		assertThat(complete.newData()).contains("\"title\":\"Kept\"");
+	}
+
+	@Test
+	void firstChangeInALaterPartitionIsStoredInFull() {
+		assertThat(updateFormat(Clock.systemUTC())).isEqualTo(AuditDataFormat.DELTA);
+		// Over a month later the change lands in a later partition than the create, which may expire first.
+		assertThat(updateFormat(Clock.offset(Clock.systemUTC(), Duration.ofDays(32)))).isEqualTo(AuditDataFormat.FULL);
+	}
+
+	private AuditDataFormat updateFormat(Clock clock) {
+		auditLogRepository.deleteAll();
+		AuditService auditService = new AuditService(
+			auditLogRepository,
+			objectMapper,
+			auditSink,
+			rehydrator,
+			new AuditPartitionManager(jdbcTemplate, ChronoUnit.MONTHS, 3, 12, false, clock),
+			currentUserResolver,
+			20,
+			new SimpleMeterRegistry()
+		);
+		Map<String, Object> created = Map.of("id", 1L, "title", "Report", "status", "TODO");
+		Map<String, Object> updated = Map.of("id", 1L, "title", "Report", "status", "DONE");
+		auditService.log(user.getId(), "CREATE", "TASK", 1L, null, created);
+		auditService.logChange(user.getId(), "UPDATE", "TASK", 1L, created, updated);
+		return auditLogRepository.findAll().stream()
+			.filter(entry -> entry.getAction().equals("UPDATE"))
+			.findFirst()
+			.orElseThrow()
+			.getFormat();
+	}
+
+	private AuditPartitionManager manager(ChronoUnit unit, int retain) {
+		return new AuditPartitionManager(jdbcTemplate, unit, 3, retain, false, Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	private void save(Instant timestamp) {
+		save(1L, null, null, null, null, timestamp);
+	}
+
+	private void save(
+		Long entityId,
+		AuditDataFormat format,
+		String oldData,
+		String newData,
+		Instant snapshotAt,
+		Instant timestamp
+	) {
+		AuditLog log = new AuditLog();
+		log.setUser(user);
+		log.setAction("UPDATE");
+		log.setEntity("TASK");
+		log.setEntityId(entityId);
+		log.setFormat(format);
+		log.setOldData(oldData);
+		log.setNewData(newData);
+		log.setSnapshotAt(snapshotAt);
+		log.setTimestamp(timestamp);
+		auditLogRepository.save(log);
+	}
+}
@@ -0,0 +1,166 @@
+package com.zendoge.taskmanagement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.AuditDataFormat;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.AuditLogRepository;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.service.AuditRecord;
+import com.zendoge.taskmanagement.service.BatchingAuditSink;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuditSinkTests {
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private AuditLogRepository auditLogRepository;
+
+	@TempDir
+	Path tempDir;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		auditLogRepository.deleteAll();
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+
+		User created = new User();
+		created.setEmail("audit@example.com");
+		created.setPasswordHash("x");
+		created.setRole(UserRole.ADMIN);
+		user = userRepository.save(created);
+	}
+
+	@Test
+	void asyncSinkWritesEverythingInBatches() {
+		BatchingAuditSink sink = new BatchingAuditSink(
+			new JdbcTemplate(dataSource), objectMapper, 100, 10, Duration.ofMillis(50), null,
+			Thread.ofVirtual().name("audit-writer").factory()
+		);
+		sink.start();
+		for (int i = 0; i < 25; i++) {
+			sink.write(record(i));
+		}
+		sink.close();
+
+		assertThat(auditLogRepository.count()).isEqualTo(25);
+		assertThat(sink.stats().written()).isEqualTo(25);
+		assertThat(sink.stats().dropped()).isZero();
+	}
+
+	@Test
+	void asyncSinkTakesIdsFromOneSequenceBlock() {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		BatchingAuditSink sink = new BatchingAuditSink(
+			jdbcTemplate, objectMapper, 100, 10, Duration.ofMillis(50), null,
+			Thread.ofPlatform().name("audit-writer").daemon().factory()
+		);
+		for (int i = 0; i < 25; i++) {
+			sink.write(record(i));
+		}
+		sink.flush();
+
+		List<Long> ids = jdbcTemplate.queryForList("select id from audit_logs order by id", Long.class);
+		assertThat(ids).hasSize(25).doesNotHaveDuplicates();
+		assertThat(ids.get(24) - ids.get(0)).isEqualTo(24);
+	}
+
+	@Test
+	void asyncSinkDropsWhenQueueIsFull() {
+		BatchingAuditSink sink = new BatchingAuditSink(
+			new JdbcTemplate(dataSource), objectMapper, 5, 5, Duration.ofMillis(50), null,
+			Thread.ofPlatform().name("audit-writer").daemon().factory()
+		);
+		for (int i = 0; i < 8; i++) {
+			sink.write(record(i));
+		}
+		assertThat(sink.stats().queueDepth()).isEqualTo(5);
+		assertThat(sink.stats().dropped()).isEqualTo(3);
+		sink.flush();
+
+		assertThat(auditLogRepository.count()).isEqualTo(5);
+	}
+
+	@Test
+	void spilledEntriesAreReplayedOnceTheDatabaseRecovers() throws Exception {
+		AtomicBoolean failing = new AtomicBoolean(true);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource) {
+			@Override
+			public <T> int[][] batchUpdate(
+				String sql,
+				Collection<T> batchArgs,
+				int batchSize,
+				ParameterizedPreparedStatementSetter<T> pss
+			) {
+				if (failing.get()) {
+					throw new DataAccessResourceFailureException("database unavailable");
+				}
+				return super.batchUpdate(sql, batchArgs, batchSize, pss);
+			}
+		};
+		Path spillFile = tempDir.resolve("audit-spill.ndjson");
+		BatchingAuditSink sink = new BatchingAuditSink(
+			jdbcTemplate, objectMapper, 100, 10, Duration.ofMillis(20), spillFile,
+			Thread.ofPlatform().name("audit-writer").daemon().factory()
+		);
+
+		for (int i = 0; i < 3; i++) {
+			sink.write(record(i));
+		}
+		sink.flush();
+		assertThat(sink.stats().spilled()).isEqualTo(3);
+		assertThat(Files.readAllLines(spillFile)).hasSize(3);
+		assertThat(auditLogRepository.count()).isZero();
+
+		failing.set(false);
+		sink.start();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (sink.stats().replayed() < 3 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		sink.close();
+
+		assertThat(sink.stats().replayed()).isEqualTo(3);
+		assertThat(auditLogRepository.count()).isEqualTo(3);
+		assertThat(spillFile).doesNotExist();
+	}
+
+	private AuditRecord record(int i) {
+		return new AuditRecord(user.getId(), "CREATE", "TASK", (long) i, null, "{\"id\":" + i + "}", AuditDataFormat.FULL, null,
+			Instant.now());
+	}
+}
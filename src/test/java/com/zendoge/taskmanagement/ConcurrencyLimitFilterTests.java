@@ -0,0 +1,53 @@
+package com.zendoge.taskmanagement;
+
+import com.zendoge.taskmanagement.web.ConcurrencyLimitFilter;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTests {
+	@Test
+	void requestsBeyondTheLimitGet503OnceTheTimeoutExpires() throws Exception {
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(50));
+		CountDownLatch inside = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread holder = Thread.ofVirtual().start(() -> {
+			try {
+				filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+					inside.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+				});
+			} catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
+		inside.await();
+
+		AtomicInteger admitted = new AtomicInteger();
+		MockHttpServletResponse busy = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest(), busy, (request, response) -> admitted.incrementAndGet());
+		assertThat(busy.getStatus()).isEqualTo(503);
+		assertThat(busy.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		assertThat(busy.getContentAsString()).contains("\"error\"");
+		assertThat(admitted).hasValue(0);
+		assertThat(filter.rejectedCount()).isEqualTo(1);
+
+		release.countDown();
+		holder.join();
+		MockHttpServletResponse ok = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest(), ok, (request, response) -> admitted.incrementAndGet());
+		assertThat(ok.getStatus()).isEqualTo(200);
+		assertThat(admitted).hasValue(1);
+		assertThat(filter.availableSlots()).isEqualTo(1);
+	}
+}
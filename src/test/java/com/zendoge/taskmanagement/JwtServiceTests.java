@@ -0,0 +1,66 @@
+package com.zendoge.taskmanagement;
+
+import com.zendoge.taskmanagement.security.JwtService;
+import com.zendoge.taskmanagement.security.VerifiedToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTests {
+	private static final String SECRET = "test-secret-should-be-long-enough-32-bytes";
+
+	private final UserDetails user = new User("user@example.com", "x", List.of(new SimpleGrantedAuthority("ROLE_MEMBER")));
+
+	@Test
+	void verifyReturnsClaimsAndCachesVerifiedTokens() {
+		JwtService jwtService = new JwtService(SECRET, 60_000, true, 100);
+		String token = jwtService.generateToken(user);
+
+		VerifiedToken first = jwtService.verify(token);
+		VerifiedToken second = jwtService.verify(token);
+
+		assertThat(first.subject()).isEqualTo("user@example.com");
+		assertThat(second).isSameAs(first);
+		assertThat(jwtService.cacheStats().misses()).isEqualTo(1);
+		assertThat(jwtService.cacheStats().hits()).isEqualTo(1);
+		assertThat(jwtService.isTokenValid(token, user)).isTrue();
+	}
+
+	@Test
+	void tamperedTokenIsRejectedEvenAfterOriginalWasCached() {
+		JwtService jwtService = new JwtService(SECRET, 60_000, true, 100);
+		String token = jwtService.generateToken(user);
+		jwtService.verify(token);
+
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+		assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(JwtException.class);
+	}
+
+	@Test
+	void expiredTokenIsRejectedAndNotCached() {
+		JwtService jwtService = new JwtService(SECRET, -1_000, true, 100);
+		String token = jwtService.generateToken(user);
+
+		assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(ExpiredJwtException.class);
+		assertThat(jwtService.isTokenValid(token, user)).isFalse();
+		assertThat(jwtService.cacheStats().size()).isZero();
+	}
+
+	@Test
+	void cacheIsBounded() {
+		JwtService jwtService = new JwtService(SECRET, 60_000, true, 2);
+		for (String email : List.of("a@example.com", "b@example.com", "c@example.com")) {
+			jwtService.verify(jwtService.generateToken(new User(email, "x", List.of())));
+		}
+
+		assertThat(jwtService.cacheStats().size()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,80 @@
+package com.zendoge.taskmanagement;
+
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@Import(TestUsers.class)
+class MetricsEndpointTests {
+	@Autowired
+	private TestUsers users;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private User admin;
+	private User member;
+
+	@BeforeEach
+	void setUp() {
+		users.reset();
+
+		admin = users.create("metrics-admin@example.com", UserRole.ADMIN);
+		member = users.create("metrics-member@example.com", UserRole.MEMBER);
+	}
+
+	@Test
+	void prometheusScrapeCoversTheHotPaths() throws Exception {
+		mockMvc.perform(post("/api/tasks")
+				.header("Authorization", "Bearer " + users.tokenFor(admin))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\":\"Measured\"}"))
+			.andExpect(status().isCreated());
+		mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer not-a-token"))
+			.andExpect(status().isUnauthorized());
+
+		String scrape = mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + users.tokenFor(admin)))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+
+		assertThat(scrape)
+			.contains("auth_token_verify_seconds_count")
+			.contains("auth_token_failures_total{reason=\"invalid\"")
+			.contains("task_operation_seconds_count{")
+			.contains("method=\"create\"")
+			.contains("audit_serialize_seconds_count")
+			.contains("audit_write_seconds_count")
+			.contains("audit_sink_written_total")
+			.contains("hikaricp_connections_active")
+			.contains("hibernate_sessions_open_total")
+			.contains("http_server_requests_seconds_bucket");
+	}
+
+	@Test
+	void scrapeIsRestrictedToAdmins() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+			.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + users.tokenFor(member)))
+			.andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/health"))
+			.andExpect(status().isOk());
+	}
+}
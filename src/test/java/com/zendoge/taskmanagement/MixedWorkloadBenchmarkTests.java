@@ -0,0 +1,365 @@
+package com.zendoge.taskmanagement;
+
+import com.zendoge.taskmanagement.domain.Task;
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.security.AuthenticatedUser;
+import com.zendoge.taskmanagement.security.JwtService;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Macro benchmark: boots the application on a random port, seeds users and tasks and drives a mixed
+ * workload of logins, task lists, task creation, member status transitions and audit reads at a fixed
+ * request rate, then reports throughput and latency percentiles per endpoint.
+ *
+ * <p>Requests follow a fixed schedule and each latency is measured from the time the request was due,
+ * not from when it was sent, so a stalled server is charged for the requests it held back (coordinated
+ * omission). Warm-up results are discarded.
+ *
+ * <p>The report goes to {@code target/load-test/report.txt} with one {@code .hgrm} percentile
+ * distribution per endpoint next to it; the report has a fixed layout so runs can be diffed. Run with
+ * {@code mvn test -Pload-test}, tuning {@code -Dbenchmark.rate}, {@code duration}, {@code warmup},
+ * {@code connections}, {@code users} and {@code tasks}. It uses H2 unless {@code -Dspring.datasource.url}
+ * (plus driver, username and password) points at a scratch PostgreSQL database, which is recreated once
+ * {@code -Dspring.flyway.clean-disabled=false} allows it.
+ */
+@Tag("load")
+class MixedWorkloadBenchmarkTests {
+	private static final Logger log = LoggerFactory.getLogger(MixedWorkloadBenchmarkTests.class);
+	private static final int RATE = Integer.getInteger("benchmark.rate", 100);
+	private static final Duration DURATION = Duration.parse(System.getProperty("benchmark.duration", "PT30S"));
+	private static final Duration WARMUP = Duration.parse(System.getProperty("benchmark.warmup", "PT10S"));
+	private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 32);
+	private static final int USERS = Integer.getInteger("benchmark.users", 50);
+	private static final int TASKS = Integer.getInteger("benchmark.tasks", 1000);
+	private static final long SEED = Long.getLong("benchmark.seed", 1L);
+	private static final Path REPORT_DIR = Path.of("target", "load-test");
+	private static final String PASSWORD = "benchmark-password";
+	private static final long HIGHEST_MICROS = Duration.ofMinutes(1).toNanos() / 1000;
+
+	@Test
+	void mixedWorkload() throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmanagementApplication.class, ScratchSchemaConfig.class)
+			.profiles("test")
+			.properties(
+				"server.port=0",
+				"spring.jmx.enabled=false",
+				// Measure the production audit path rather than the synchronous one the tests use.
+				"audit.mode=async",
+				"audit.spill-file=target/load-test/audit-spill.ndjson"
+			)
+			.run()) {
+			Workload workload = seed(context);
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+			String base = "http://localhost:" + port;
+
+			run(client, base, workload, WARMUP, SEED - 1);
+			Map<Endpoint, Result> results = run(client, base, workload, DURATION, SEED);
+
+			String database = database(context);
+			List<String> report = report(database, results);
+			report.forEach(log::info);
+			Files.createDirectories(REPORT_DIR);
+			Files.write(REPORT_DIR.resolve("report.txt"), report, StandardCharsets.UTF_8);
+			for (Map.Entry<Endpoint, Result> entry : results.entrySet()) {
+				Path file = REPORT_DIR.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+				try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8)) {
+					// Recorded in microseconds, reported in milliseconds.
+					entry.getValue().latency().outputPercentileDistribution(out, 1000.0);
+				}
+			}
+			results.forEach((endpoint, result) -> assertThat(result.failed()).as(endpoint.name()).isZero());
+		}
+	}
+
+	private Workload seed(ConfigurableApplicationContext context) {
+		UserRepository userRepository = context.getBean(UserRepository.class);
+		TaskRepository taskRepository = context.getBean(TaskRepository.class);
+		JwtService jwtService = context.getBean(JwtService.class);
+		// One hash for everyone: seeding should not take USERS BCrypt rounds.
+		String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+		User admin = userRepository.save(user("load-admin@example.com", UserRole.ADMIN, hash));
+		List<User> members = new ArrayList<>();
+		for (int i = 0; i < USERS; i++) {
+			members.add(user("load-member-" + i + "@example.com", UserRole.MEMBER, hash));
+		}
+		members = userRepository.saveAll(members);
+
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < TASKS; i++) {
+			Task task = new Task();
+			task.setTitle("Load task " + i);
+			task.setDescription("Seeded for the load test");
+			task.setStatus(TaskStatus.TODO);
+			task.setCreatedBy(admin);
+			task.setAssignee(members.get(i % members.size()));
+			tasks.add(task);
+		}
+		Queue<OpenTask> open = new ConcurrentLinkedQueue<>();
+		for (Task task : taskRepository.saveAll(tasks)) {
+			open.add(new OpenTask(task.getId(), task.getAssignee().getId(), TaskStatus.TODO));
+		}
+
+		List<Member> loggedIn = members.stream()
+			.map(member -> new Member(member.getId(), member.getEmail(), jwtService.generateToken(AuthenticatedUser.from(member))))
+			.toList();
+		Map<Long, String> tokens = loggedIn.stream().collect(Collectors.toMap(Member::id, Member::token));
+		return new Workload(jwtService.generateToken(AuthenticatedUser.from(admin)), loggedIn, tokens, open);
+	}
+
+	/**
+	 * Sends {@code RATE} requests per second for {@code duration}, spread evenly over
+	 * {@link #CONNECTIONS} clients that each keep to their own schedule.
+	 */
+	private Map<Endpoint, Result> run(HttpClient client, String base, Workload workload, Duration duration, long seed)
+		throws Exception {
+		long period = Duration.ofSeconds(1).toNanos() * CONNECTIONS / RATE;
+		long start = System.nanoTime();
+		long end = start + duration.toNanos();
+		List<Future<Map<Endpoint, Result>>> clients = new ArrayList<>();
+		try (ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofPlatform().factory())) {
+			for (int i = 0; i < CONNECTIONS; i++) {
+				Random random = new Random(seed * 31 + i);
+				// Stagger the clients so the requests arrive evenly rather than in bursts.
+				long first = start + period * i / CONNECTIONS;
+				clients.add(executor.submit(() -> drive(client, base, workload, random, first, period, end)));
+			}
+			Map<Endpoint, Result> results = new EnumMap<>(Endpoint.class);
+			for (Future<Map<Endpoint, Result>> future : clients) {
+				future.get().forEach((endpoint, result) -> results.merge(endpoint, result, Result::add));
+			}
+			// Until the last response: an overloaded server finishes the schedule late.
+			double seconds = (Math.max(System.nanoTime(), end) - start) / 1e9;
+			results.values().forEach(result -> result.over(seconds));
+			return results;
+		}
+	}
+
+	private Map<Endpoint, Result> drive(
+		HttpClient client,
+		String base,
+		Workload workload,
+		Random random,
+		long first,
+		long period,
+		long end
+	) {
+		Map<Endpoint, Result> results = new EnumMap<>(Endpoint.class);
+		for (long due = first; due < end; due += period) {
+			long wait = due - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			Endpoint endpoint = Endpoint.pick(random);
+			OpenTask task = endpoint == Endpoint.TRANSITION ? workload.open().poll() : null;
+			if (endpoint == Endpoint.TRANSITION && task == null) {
+				// Every seeded task is done; keep the rate with a read instead.
+				endpoint = Endpoint.LIST;
+			}
+			HttpRequest request = request(base, endpoint, workload, random, task);
+			boolean ok;
+			try {
+				HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+				ok = response.statusCode() == endpoint.expectedStatus;
+			} catch (Exception ex) {
+				ok = false;
+			}
+			long latencyMicros = (System.nanoTime() - due) / 1000;
+			results.computeIfAbsent(endpoint, ignored -> new Result()).record(latencyMicros, ok);
+			if (ok && task != null && task.status() == TaskStatus.TODO) {
+				workload.open().add(new OpenTask(task.id(), task.assigneeId(), TaskStatus.DOING));
+			} else if (!ok && task != null) {
+				workload.open().add(task);
+			}
+		}
+		return results;
+	}
+
+	private HttpRequest request(String base, Endpoint endpoint, Workload workload, Random random, OpenTask task) {
+		Member member = workload.members().get(random.nextInt(workload.members().size()));
+		return switch (endpoint) {
+			case LOGIN -> json(base + "/api/auth/login", null)
+				.POST(HttpRequest.BodyPublishers.ofString(
+					"{\"email\":\"" + member.email() + "\",\"password\":\"" + PASSWORD + "\"}"))
+				.build();
+			case LIST -> HttpRequest.newBuilder(URI.create(base + "/api/tasks"))
+				.header("Authorization", "Bearer " + member.token())
+				.build();
+			case CREATE -> json(base + "/api/tasks", workload.adminToken())
+				.POST(HttpRequest.BodyPublishers.ofString(
+					"{\"title\":\"Created under load\",\"assigneeId\":" + member.id() + "}"))
+				.build();
+			case TRANSITION -> json(base + "/api/tasks/" + task.id(), workload.tokens().get(task.assigneeId()))
+				.PUT(HttpRequest.BodyPublishers.ofString(
+					"{\"status\":\"" + (task.status() == TaskStatus.TODO ? TaskStatus.DOING : TaskStatus.DONE) + "\"}"))
+				.build();
+			case AUDIT -> HttpRequest.newBuilder(URI.create(base + "/api/audit?limit=50&entity=TASK"))
+				.header("Authorization", "Bearer " + workload.adminToken())
+				.build();
+		};
+	}
+
+	private static HttpRequest.Builder json(String uri, String token) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri)).header("Content-Type", "application/json");
+		return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+	}
+
+	private List<String> report(String database, Map<Endpoint, Result> results) {
+		List<String> lines = new ArrayList<>();
+		lines.add(String.format("database=%s rate=%d/s duration=%s warmup=%s connections=%d users=%d tasks=%d seed=%d",
+			database, RATE, DURATION, WARMUP, CONNECTIONS, USERS, TASKS, SEED));
+		lines.add(String.format("%-10s %8s %6s %8s %9s %9s %9s %9s %9s",
+			"endpoint", "count", "failed", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms"));
+		for (Map.Entry<Endpoint, Result> entry : results.entrySet()) {
+			Result result = entry.getValue();
+			Histogram latency = result.latency();
+			lines.add(String.format("%-10s %8d %6d %8.1f %9.1f %9.1f %9.1f %9.1f %9.1f",
+				entry.getKey().name().toLowerCase(Locale.ROOT),
+				latency.getTotalCount(),
+				result.failed(),
+				result.throughput(),
+				millis(latency, 50),
+				millis(latency, 95),
+				millis(latency, 99),
+				millis(latency, 99.9),
+				latency.getMaxValue() / 1000.0));
+		}
+		return lines;
+	}
+
+	private static double millis(Histogram latency, double percentile) {
+		return latency.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+	private static String database(ConfigurableApplicationContext context) throws Exception {
+		try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+			return connection.getMetaData().getDatabaseProductName();
+		}
+	}
+
+	private static User user(String email, UserRole role, String hash) {
+		User user = new User();
+		user.setEmail(email);
+		user.setPasswordHash(hash);
+		user.setRole(role);
+		return user;
+	}
+
+	/**
+	 * The request mix, by share of all requests, and the status each call is expected to return.
+	 */
+	private enum Endpoint {
+		LOGIN(5, 200),
+		LIST(45, 200),
+		CREATE(15, 201),
+		TRANSITION(25, 200),
+		AUDIT(10, 200);
+
+		private static final int TOTAL_WEIGHT = 100;
+
+		private final int weight;
+		private final int expectedStatus;
+
+		Endpoint(int weight, int expectedStatus) {
+			this.weight = weight;
+			this.expectedStatus = expectedStatus;
+		}
+
+		static Endpoint pick(Random random) {
+			int roll = random.nextInt(TOTAL_WEIGHT);
+			for (Endpoint endpoint : values()) {
+				roll -= endpoint.weight;
+				if (roll < 0) {
+					return endpoint;
+				}
+			}
+			throw new IllegalStateException("Weights do not add up to " + TOTAL_WEIGHT);
+		}
+	}
+
+	private record Member(Long id, String email, String token) {
+	}
+
+	/**
+	 * A seeded task a member can still move forward: TODO to DOING, then DOING to DONE.
+	 */
+	private record OpenTask(Long id, Long assigneeId, TaskStatus status) {
+	}
+
+	private record Workload(String adminToken, List<Member> members, Map<Long, String> tokens, Queue<OpenTask> open) {
+	}
+
+	private static final class Result {
+		private final Histogram latency = new Histogram(HIGHEST_MICROS, 3);
+		private long failed;
+		private double throughput;
+
+		void record(long latencyMicros, boolean ok) {
+			latency.recordValue(Math.min(latencyMicros, HIGHEST_MICROS));
+			if (!ok) {
+				failed++;
+			}
+		}
+
+		Result add(Result other) {
+			latency.add(other.latency);
+			failed += other.failed;
+			return this;
+		}
+
+		Result over(double seconds) {
+			throughput = latency.getTotalCount() / seconds;
+			return this;
+		}
+
+		Histogram latency() {
+			return latency;
+		}
+
+		long failed() {
+			return failed;
+		}
+
+		double throughput() {
+			return throughput;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package com.zendoge.taskmanagement;
+
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.AuditLogRepository;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.security.BoundedPasswordEncoder;
+import com.zendoge.taskmanagement.security.PasswordHashingBusyException;
+import com.zendoge.taskmanagement.web.ApiExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PasswordHashingTests {
+	private static final String PASSWORD = "correct-horse";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private AuditLogRepository auditLogRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@BeforeEach
+	void setUp() {
+		auditLogRepository.deleteAll();
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void outdatedHashesAreUpgradedOnLogin() throws Exception {
+		User user = new User();
+		user.setEmail("legacy@example.com");
+		// As stored before hashes carried an id, and at a lower cost than configured.
+		user.setPasswordHash(new BCryptPasswordEncoder(4).encode(PASSWORD));
+		user.setRole(UserRole.MEMBER);
+		userRepository.save(user);
+
+		login("legacy@example.com", PASSWORD).andExpect(status().isOk());
+		String upgraded = userRepository.findByEmail("legacy@example.com").orElseThrow().getPasswordHash();
+		assertThat(upgraded).startsWith("{bcrypt}$2a$10$");
+		assertThat(passwordEncoder.upgradeEncoding(upgraded)).isFalse();
+
+		login("legacy@example.com", PASSWORD).andExpect(status().isOk());
+		login("legacy@example.com", "wrong").andExpect(status().isUnauthorized());
+		assertThat(userRepository.findByEmail("legacy@example.com").orElseThrow().getPasswordHash()).isEqualTo(upgraded);
+	}
+
+	@Test
+	void registrationStoresCurrentHashes() throws Exception {
+		mockMvc.perform(post("/api/auth/register")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\":\"fresh@example.com\",\"password\":\"" + PASSWORD + "\"}"))
+			.andExpect(status().is2xxSuccessful());
+
+		assertThat(userRepository.findByEmail("fresh@example.com").orElseThrow().getPasswordHash())
+			.startsWith("{bcrypt}$2a$10$");
+	}
+
+	@Test
+	void fullPoolTurnsCallersAway() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return super.matches(rawPassword, encodedPassword);
+			}
+		};
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, meterRegistry);
+		try {
+			String hash = encoder.encode(PASSWORD);
+			CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches(PASSWORD, hash));
+			started.await();
+			CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches(PASSWORD, hash));
+			while (encoder.queued() < 1) {
+				Thread.sleep(10);
+			}
+
+			assertThatThrownBy(() -> encoder.matches(PASSWORD, hash)).isInstanceOf(PasswordHashingBusyException.class);
+			assertThat(meterRegistry.get("auth.password.rejected").counter().count()).isEqualTo(1);
+
+			release.countDown();
+			assertThat(running.get()).isTrue();
+			assertThat(queued.get()).isTrue();
+			assertThat(meterRegistry.get("executor.queued").tag("name", "password.hashing").gauge().value()).isZero();
+		} finally {
+			release.countDown();
+			encoder.destroy();
+		}
+
+		ResponseEntity<Map<String, String>> response =
+			new ApiExceptionHandler().handlePasswordHashingBusy(new PasswordHashingBusyException());
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+	}
+
+	private ResultActions login(String email, String password) throws Exception {
+		return mockMvc.perform(post("/api/auth/login")
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"));
+	}
+}
@@ -0,0 +1,148 @@
+package com.zendoge.taskmanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.RefreshToken;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.AuditLogRepository;
+import com.zendoge.taskmanagement.repository.RefreshTokenRepository;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RefreshTokenTests {
+	private static final String EMAIL = "refresh@example.com";
+	private static final String PASSWORD = "correct-horse";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private AuditLogRepository auditLogRepository;
+
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		auditLogRepository.deleteAll();
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+
+		User user = new User();
+		user.setEmail(EMAIL);
+		user.setPasswordHash(passwordEncoder.encode(PASSWORD));
+		user.setRole(UserRole.MEMBER);
+		userRepository.save(user);
+	}
+
+	@Test
+	void refreshIssuesNewTokensWithoutCheckingThePassword() throws Exception {
+		JsonNode login = json(mockMvc.perform(post("/api/auth/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.expiresIn").value(3600)));
+		String refreshToken = login.get("refreshToken").asText();
+		// Only the digest is stored.
+		assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getTokenHash)
+			.hasSize(1)
+			.doesNotContain(refreshToken)
+			.allSatisfy(hash -> assertThat(hash).hasSize(64));
+
+		long checks = meterRegistry.get("auth.password.matches").timer().count();
+		JsonNode refreshed = json(refresh(refreshToken).andExpect(status().isOk()));
+		assertThat(meterRegistry.get("auth.password.matches").timer().count()).isEqualTo(checks);
+
+		assertThat(refreshed.get("refreshToken").asText()).isNotEqualTo(refreshToken);
+		mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + refreshed.get("token").asText()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.email").value(EMAIL));
+	}
+
+	@Test
+	void reusingARotatedTokenRevokesTheSession() throws Exception {
+		String first = json(register()).get("refreshToken").asText();
+		String second = json(refresh(first).andExpect(status().isOk())).get("refreshToken").asText();
+		double reused = meterRegistry.get("auth.refresh.reused").counter().count();
+
+		refresh(first).andExpect(status().isUnauthorized());
+		refresh(second).andExpect(status().isUnauthorized());
+		assertThat(meterRegistry.get("auth.refresh.reused").counter().count()).isEqualTo(reused + 1);
+		assertThat(refreshTokenRepository.count()).isZero();
+	}
+
+	@Test
+	void expiredAndRevokedTokensAreRejected() throws Exception {
+		String token = json(register()).get("refreshToken").asText();
+		mockMvc.perform(post("/api/auth/logout")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"refreshToken\":\"" + token + "\"}"))
+			.andExpect(status().isNoContent());
+		refresh(token).andExpect(status().isUnauthorized());
+
+		String expiring = json(register("expiring@example.com")).get("refreshToken").asText();
+		RefreshToken stored = refreshTokenRepository.findAll().getFirst();
+		stored.setExpiresAt(Instant.now().minusSeconds(1));
+		refreshTokenRepository.save(stored);
+		refresh(expiring).andExpect(status().isUnauthorized());
+		refresh("not-a-token").andExpect(status().isUnauthorized());
+	}
+
+	private ResultActions register() throws Exception {
+		return register("new@example.com");
+	}
+
+	private ResultActions register(String email) throws Exception {
+		return mockMvc.perform(post("/api/auth/register")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}"))
+			.andExpect(status().isCreated());
+	}
+
+	private ResultActions refresh(String refreshToken) throws Exception {
+		return mockMvc.perform(post("/api/auth/refresh")
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"refreshToken\":\"" + refreshToken + "\"}"));
+	}
+
+	private JsonNode json(ResultActions result) throws Exception {
+		return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+	}
+}
@@ -0,0 +1,82 @@
+package com.zendoge.taskmanagement;
+
+import java.util.Map;
+import java.util.function.Predicate;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates a scratch PostgreSQL database from scratch and checks that it ends up with the same schema as
+ * the H2 migrations, apart from what only PostgreSQL has: the {@code audit_logs} partitions, the
+ * full-text search column and its index, and the partial indexes on unassigned tasks. Also upgrades a
+ * database created by the last release. Run with {@code mvn test -Ppostgres
+ * -Dspring.datasource.url=jdbc:postgresql://...} plus username and password; the database is cleaned.
+ */
+@Tag("postgres")
+class SchemaMigrationPostgresTests {
+	private static final Predicate<String> POSTGRES_ONLY = name -> name.startsWith("audit_logs_")
+		|| name.equals("tasks.search_vector")
+		|| name.equals("idx_tasks_search_vector")
+		|| name.startsWith("idx_tasks_unassigned_");
+
+	@Test
+	void migrationsProduceTheSameSchemaAsOnH2() throws Exception {
+		DataSource postgres = postgres();
+		Flyway flyway = flyway(postgres).load();
+		flyway.clean();
+		flyway.migrate();
+
+		SchemaSnapshot migrated = SchemaSnapshot.of(postgres, POSTGRES_ONLY);
+		SchemaSnapshot h2 = SchemaSnapshot.of(SchemaMigrationTests.migratedH2("schema-migration-postgres"), name -> false);
+
+		assertThat(migrated.tables()).containsExactlyElementsOf(h2.tables());
+		assertThat(migrated.columns()).containsExactlyElementsOf(h2.columns());
+		assertThat(migrated.indexes()).containsExactlyElementsOf(h2.indexes());
+		assertThat(migrated.sequences()).containsExactlyElementsOf(h2.sequences());
+	}
+
+	@Test
+	void upgradesTheLastReleaseSchemaWithItsData() throws Exception {
+		DataSource postgres = postgres();
+		JdbcTemplate jdbc = new JdbcTemplate(postgres);
+		flyway(postgres).load().clean();
+		flyway(postgres).target("1").load().migrate();
+		SchemaMigrationTests.insertLastReleaseRows(jdbc);
+
+		flyway(postgres).load().migrate();
+
+		SchemaMigrationTests.assertUpgradedRows(jdbc);
+		// The existing entries became one partition, which retention expires like the others.
+		assertThat(jdbc.queryForObject(
+			"select count(*) from pg_inherits where inhparent = 'audit_logs'::regclass and inhrelid = 'audit_logs_legacy'::regclass",
+			Integer.class)).isOne();
+		assertThat(SchemaSnapshot.of(postgres, POSTGRES_ONLY))
+			.isEqualTo(SchemaSnapshot.of(SchemaMigrationTests.migratedH2("schema-upgrade-postgres"), name -> false));
+	}
+
+	static DataSource postgres() {
+		// No default: the database is cleaned, and the application's own one must not be picked by accident.
+		String url = System.getProperty("spring.datasource.url");
+		assertThat(url).as("-Dspring.datasource.url pointing at a scratch PostgreSQL database").isNotBlank();
+		return new DriverManagerDataSource(
+			url,
+			System.getProperty("spring.datasource.username"),
+			System.getProperty("spring.datasource.password")
+		);
+	}
+
+	static FluentConfiguration flyway(DataSource postgres) {
+		return Flyway.configure()
+			.dataSource(postgres)
+			.locations("classpath:db/migration/postgresql")
+			.cleanDisabled(false)
+			.configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+	}
+}
@@ -0,0 +1,107 @@
+package com.zendoge.taskmanagement;
+
+import com.zendoge.taskmanagement.domain.AuditLog;
+import com.zendoge.taskmanagement.domain.Task;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the H2 migrations build the schema Hibernate derives from the entities: this context
+ * lets Hibernate create its schema, and a second database is migrated next to it.
+ * {@link SchemaMigrationPostgresTests} checks that the PostgreSQL migrations build the same one. Both
+ * also upgrade a database created by the last release, which starts at the V1 schema.
+ */
+@SpringBootTest(properties = {
+	"spring.flyway.enabled=false",
+	"spring.jpa.hibernate.ddl-auto=create"
+})
+@ActiveProfiles("test")
+class SchemaMigrationTests {
+	private static final String H2_MIGRATIONS = "classpath:db/migration/h2";
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Test
+	void migrationsMatchTheEntityMapping() throws Exception {
+		SchemaSnapshot mapped = SchemaSnapshot.of(dataSource, name -> false);
+		SchemaSnapshot migrated = SchemaSnapshot.of(migratedH2("schema-migration"), name -> false);
+
+		assertThat(migrated.tables()).containsExactlyElementsOf(mapped.tables());
+		assertThat(migrated.columns()).containsExactlyElementsOf(mapped.columns());
+		assertThat(migrated.indexes()).containsExactlyElementsOf(mapped.indexes());
+		assertThat(migrated.sequences()).containsExactlyElementsOf(mapped.sequences());
+	}
+
+	@Test
+	void upgradesTheLastReleaseSchemaWithItsData() throws Exception {
+		DataSource h2 = h2("schema-upgrade");
+		Flyway.configure().dataSource(h2).locations(H2_MIGRATIONS).target("1").load().migrate();
+		insertLastReleaseRows(new JdbcTemplate(h2));
+
+		Flyway.configure().dataSource(h2).locations(H2_MIGRATIONS).load().migrate();
+
+		assertUpgradedRows(new JdbcTemplate(h2));
+		assertThat(SchemaSnapshot.of(h2, name -> false))
+			.isEqualTo(SchemaSnapshot.of(migratedH2("schema-upgrade-fresh"), name -> false));
+	}
+
+	/**
+	 * A new in-memory H2 database, migrated with the H2 migrations.
+	 */
+	static DataSource migratedH2(String name) {
+		DataSource h2 = h2(name);
+		Flyway.configure().dataSource(h2).locations(H2_MIGRATIONS).load().migrate();
+		return h2;
+	}
+
+	/**
+	 * Rows as the last release wrote them, with identity ids, into a database at the V1 schema.
+	 */
+	static void insertLastReleaseRows(JdbcTemplate jdbc) {
+		Instant created = Instant.now().minus(400, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MICROS);
+		jdbc.update("insert into users (id, email, password_hash, role, created_at) values (7, 'old@example.com', 'hash', 'ADMIN', ?)",
+			Timestamp.from(created));
+		jdbc.update("insert into tasks (id, title, status, created_by, created_at) values (120, 'Old task', 'DOING', 7, ?)",
+			Timestamp.from(created));
+		jdbc.update("insert into audit_logs (id, user_id, action, entity, entity_id, new_data, timestamp) "
+			+ "values (75, 7, 'CREATE', 'TASK', 120, '{}', ?)", Timestamp.from(created));
+		jdbc.update("insert into audit_logs (id, user_id, action, entity, entity_id, new_data, timestamp) "
+			+ "values (76, 7, 'UPDATE', 'TASK', 120, '{}', ?)", Timestamp.from(Instant.now()));
+	}
+
+	/**
+	 * The rows of {@link #insertLastReleaseRows} survived, and ids handed out from now on do not collide
+	 * with them: Hibernate's pooled optimizer uses the block of ids that ends at the value it reads.
+	 */
+	static void assertUpgradedRows(JdbcTemplate jdbc) {
+		assertThat(jdbc.queryForObject("select title from tasks where id = 120", String.class)).isEqualTo("Old task");
+		assertThat(jdbc.queryForObject("select version from tasks where id = 120", Long.class)).isZero();
+		assertThat(jdbc.queryForObject("select count(*) from audit_logs where entity_id = 120", Integer.class)).isEqualTo(2);
+		assertThat(jdbc.queryForObject("select count(*) from audit_logs where data_format is null", Integer.class)).isEqualTo(2);
+		assertThat(jdbc.queryForObject("select nextval('" + Task.SEQUENCE + "')", Long.class) - Task.ID_ALLOCATION_SIZE)
+			.isGreaterThanOrEqualTo(120);
+		assertThat(jdbc.queryForObject("select nextval('" + AuditLog.SEQUENCE + "')", Long.class) - AuditLog.ID_ALLOCATION_SIZE)
+			.isGreaterThanOrEqualTo(76);
+	}
+
+	private static DataSource h2(String name) {
+		return new SimpleDriverDataSource(
+			new org.h2.Driver(),
+			"jdbc:h2:mem:" + name + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+			"sa",
+			""
+		);
+	}
+}
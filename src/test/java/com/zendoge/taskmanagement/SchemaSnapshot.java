@@ -0,0 +1,127 @@
+package com.zendoge.taskmanagement;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+
+/**
+ * Tables, columns with their nullability, {@code idx_} indexes, other unique keys and id sequences of a
+ * schema, in a form that compares across databases. Column types, primary keys and constraint names are
+ * left out: H2 and PostgreSQL report the same declarations under different names, and H2 adds indexes
+ * of its own for foreign keys. Entries matching {@code ignored} (a table, {@code table.column} or index
+ * name) are skipped.
+ */
+record SchemaSnapshot(Set<String> tables, Set<String> columns, Set<String> indexes, Set<String> sequences) {
+	private static final Set<String> TABLE_TYPES = Set.of("TABLE", "BASE TABLE", "PARTITIONED TABLE");
+	private static final Pattern H2_CONSTRAINT_INDEX = Pattern.compile("_index_[0-9a-z]$");
+
+	static SchemaSnapshot of(DataSource dataSource, Predicate<String> ignored) throws SQLException {
+		Set<String> tables = new TreeSet<>();
+		Set<String> columns = new TreeSet<>();
+		Set<String> indexes = new TreeSet<>();
+		Set<String> sequences = new TreeSet<>();
+		try (Connection connection = dataSource.getConnection()) {
+			DatabaseMetaData metaData = connection.getMetaData();
+			String schema = connection.getSchema();
+			List<String> names = new ArrayList<>();
+			try (ResultSet rows = metaData.getTables(null, schema, "%", null)) {
+				while (rows.next()) {
+					String name = rows.getString("TABLE_NAME");
+					// H2 reports BASE TABLE, PostgreSQL TABLE or PARTITIONED TABLE, and no type for partitioned indexes.
+					String type = rows.getString("TABLE_TYPE");
+					if (type != null && TABLE_TYPES.contains(type)
+						&& !lower(name).equals("flyway_schema_history")
+						&& !ignored.test(lower(name))) {
+						names.add(name);
+					}
+				}
+			}
+			for (String name : names) {
+				String table = lower(name);
+				tables.add(table);
+				try (ResultSet rows = metaData.getColumns(null, schema, name, "%")) {
+					while (rows.next()) {
+						String column = table + "." + lower(rows.getString("COLUMN_NAME"));
+						if (rows.getString("TABLE_NAME").equals(name) && !ignored.test(column)) {
+							columns.add(column + ("NO".equals(rows.getString("IS_NULLABLE")) ? " not null" : ""));
+						}
+					}
+				}
+				indexes.addAll(indexes(metaData, schema, name, ignored));
+			}
+			try (PreparedStatement statement = connection.prepareStatement(
+				"select sequence_name from information_schema.sequences where sequence_schema = ?")) {
+				statement.setString(1, schema);
+				try (ResultSet rows = statement.executeQuery()) {
+					while (rows.next()) {
+						// Sequences behind identity columns are named by each database differently.
+						String sequence = lower(rows.getString(1));
+						if (sequence.endsWith("_seq") && !sequence.endsWith("_id_seq")) {
+							sequences.add(sequence);
+						}
+					}
+				}
+			}
+		}
+		return new SchemaSnapshot(tables, columns, indexes, sequences);
+	}
+
+	private static Set<String> indexes(DatabaseMetaData metaData, String schema, String name, Predicate<String> ignored)
+		throws SQLException {
+		String table = lower(name);
+		Set<String> primaryKey = new HashSet<>();
+		try (ResultSet rows = metaData.getPrimaryKeys(null, schema, name)) {
+			while (rows.next()) {
+				primaryKey.add(lower(rows.getString("COLUMN_NAME")));
+			}
+		}
+		Map<String, Map<Integer, String>> columnsByIndex = new TreeMap<>();
+		Set<String> unique = new HashSet<>();
+		try (ResultSet rows = metaData.getIndexInfo(null, schema, name, false, false)) {
+			while (rows.next()) {
+				String index = rows.getString("INDEX_NAME");
+				String column = rows.getString("COLUMN_NAME");
+				if (index == null || column == null || !rows.getString("TABLE_NAME").equals(name)) {
+					continue;
+				}
+				// H2 names the index behind a unique constraint after the constraint, e.g. IDX_X_INDEX_C.
+				index = H2_CONSTRAINT_INDEX.matcher(lower(index)).replaceFirst("");
+				columnsByIndex.computeIfAbsent(index, key -> new TreeMap<>())
+					.put((int) rows.getShort("ORDINAL_POSITION"), lower(column));
+				if (!rows.getBoolean("NON_UNIQUE")) {
+					unique.add(index);
+				}
+			}
+		}
+		Set<String> indexes = new TreeSet<>();
+		columnsByIndex.forEach((index, columns) -> {
+			String columnList = "(" + String.join(", ", columns.values()) + ")";
+			if (ignored.test(index)) {
+				return;
+			}
+			if (index.startsWith("idx_")) {
+				indexes.add(table + "." + index + columnList + (unique.contains(index) ? " unique" : ""));
+			} else if (unique.contains(index) && !primaryKey.equals(new HashSet<>(columns.values()))) {
+				indexes.add(table + " unique" + columnList);
+			}
+		});
+		return indexes;
+	}
+
+	private static String lower(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+}
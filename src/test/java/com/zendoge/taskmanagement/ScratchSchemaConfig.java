@@ -0,0 +1,41 @@
+package com.zendoge.taskmanagement;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * For tests that may run against a database passed in with {@code -Dspring.datasource.url}, such as a
+ * PostgreSQL one for benchmarks: the schema is recreated so every run starts empty. A database that is
+ * not in-memory is only cleaned with {@code -Dspring.flyway.clean-disabled=false}; without it the
+ * context fails to start, so that a URL picked up from the environment cannot wipe a database by
+ * accident. In-memory H2 databases are fresh per context and are only migrated.
+ */
+@TestConfiguration
+class ScratchSchemaConfig {
+	@Bean
+	public FlywayMigrationStrategy cleanMigrateStrategy() {
+		return flyway -> {
+			String url = url(flyway);
+			if (!url.startsWith("jdbc:h2:mem:")) {
+				if (flyway.getConfiguration().isCleanDisabled()) {
+					throw new IllegalStateException("The test would recreate its database, but " + url
+						+ " is not in-memory. Pass -Dspring.flyway.clean-disabled=false if it is a scratch database.");
+				}
+				flyway.clean();
+			}
+			flyway.migrate();
+		};
+	}
+
+	private static String url(Flyway flyway) {
+		try (Connection connection = flyway.getConfiguration().getDataSource().getConnection()) {
+			return connection.getMetaData().getURL();
+		} catch (SQLException ex) {
+			throw new IllegalStateException("Cannot connect to the test database", ex);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.zendoge.taskmanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.AuditLogRepository;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecondLevelCacheTests {
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private AuditLogRepository auditLogRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private UserDetailsService userDetailsService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private Statistics statistics;
+	private User adminUser;
+	private User memberUser;
+
+	@BeforeEach
+	void setUp() {
+		auditLogRepository.deleteAll();
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+
+		adminUser = createUser("admin@example.com", UserRole.ADMIN);
+		memberUser = createUser("member@example.com", UserRole.MEMBER);
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void findByEmailIsServedFromTheNaturalIdCache() {
+		userRepository.findByEmail(memberUser.getEmail()).orElseThrow();
+		statistics.clear();
+
+		User cached = userRepository.findByEmail(memberUser.getEmail()).orElseThrow();
+
+		assertThat(cached.getId()).isEqualTo(memberUser.getId());
+		assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void roleChangeIsVisibleThroughTheCacheImmediately() throws Exception {
+		userRepository.findByEmail(memberUser.getEmail()).orElseThrow();
+		String adminToken = tokenFor(adminUser.getEmail());
+
+		mockMvc.perform(put("/api/users/{id}/role", memberUser.getId())
+				.header("Authorization", "Bearer " + adminToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"role\":\"MANAGER\"}"))
+			.andExpect(status().isOk());
+
+		assertThat(userRepository.findByEmail(memberUser.getEmail()).orElseThrow().getRole())
+			.isEqualTo(UserRole.MANAGER);
+		assertThat(userDetailsService.loadUserByUsername(memberUser.getEmail()).getAuthorities())
+			.extracting(Object::toString)
+			.containsExactly("ROLE_MANAGER");
+	}
+
+	@Test
+	void cacheStatisticsAreExposedToAdmins() throws Exception {
+		userRepository.findByEmail(memberUser.getEmail()).orElseThrow();
+
+		String response = mockMvc.perform(get("/api/system/entity-cache")
+				.header("Authorization", "Bearer " + tokenFor(adminUser.getEmail())))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		JsonNode root = objectMapper.readTree(response);
+		assertThat(root.findValuesAsText("region")).containsExactly(User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION, "tasks");
+		assertThat(root.get(0).get("size").asLong()).isPositive();
+
+		mockMvc.perform(get("/api/system/entity-cache")
+				.header("Authorization", "Bearer " + tokenFor(memberUser.getEmail())))
+			.andExpect(status().isForbidden());
+	}
+
+	private User createUser(String email, UserRole role) {
+		User user = new User();
+		user.setEmail(email);
+		user.setPasswordHash(passwordEncoder.encode("password123"));
+		user.setRole(role);
+		return userRepository.save(user);
+	}
+
+	private String tokenFor(String email) {
+		return jwtService.generateToken(userDetailsService.loadUserByUsername(email));
+	}
+}
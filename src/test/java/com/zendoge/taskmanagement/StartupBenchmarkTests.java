@@ -0,0 +1,191 @@
+package com.zendoge.taskmanagement;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures time to first request: each run starts the application in a fresh JVM and polls
+ * {@code /actuator/health} until it answers 200, then times the first {@code /v3/api-docs}, which is
+ * where lazily created beans show up. Modes are the default settings, the {@code fast-startup} profile
+ * and, once {@code mvn package -Pfast-startup} has built {@code target/fast-startup}, that jar with AOT
+ * and its CDS archive. Run with {@code mvn test -Pbenchmark}; {@code -Dspring.datasource.*} properties are passed on,
+ * so the modes can run against a scratch PostgreSQL database. The forked JVMs have the test classes on
+ * their class path and pick up {@link ScratchSchemaConfig}, which recreates it when
+ * {@code -Dspring.flyway.clean-disabled=false} is passed as well. The AOT jar has neither the test
+ * profile nor the test classes and needs the properties to reach one. The report goes to
+ * {@code target/startup-benchmark/report.txt}.
+ */
+@Tag("benchmark")
+class StartupBenchmarkTests {
+	private static final Logger log = LoggerFactory.getLogger(StartupBenchmarkTests.class);
+	private static final int RUNS = Integer.getInteger("benchmark.startup.runs", 5);
+	private static final Duration TIMEOUT = Duration.ofMinutes(2);
+	private static final Path REPORT_DIR = Path.of("target", "startup-benchmark");
+	private static final Path FAST_STARTUP_DIR = Path.of("target", "fast-startup");
+
+	private final HttpClient client = HttpClient.newBuilder()
+		.version(HttpClient.Version.HTTP_1_1)
+		.connectTimeout(Duration.ofSeconds(1))
+		.build();
+
+	@Test
+	void measuresTimeToFirstRequest() throws Exception {
+		Map<String, List<Result>> results = new LinkedHashMap<>();
+		results.put("default", runs(port -> command(port, classpath(), "test")));
+		results.put("fast-startup", runs(port -> command(port, classpath(), "test,fast-startup")));
+		Path jar = fastStartupJar();
+		if (jar != null) {
+			results.put("aot+cds", runs(port -> aotCommand(port, jar)));
+		} else {
+			log.info("No jar in {}; build it with mvn package -Pfast-startup to include the aot+cds mode",
+				FAST_STARTUP_DIR);
+		}
+
+		List<String> report = new ArrayList<>();
+		report.add(String.format("%-14s %6s %12s %12s %12s", "mode", "runs", "median ms", "min ms", "docs ms"));
+		results.forEach((name, runs) -> {
+			long[] ready = runs.stream().mapToLong(Result::readyMillis).sorted().toArray();
+			long[] docs = runs.stream().mapToLong(Result::docsMillis).sorted().toArray();
+			report.add(String.format("%-14s %6d %12d %12d %12d",
+				name, runs.size(), ready[ready.length / 2], ready[0], docs[docs.length / 2]));
+		});
+		report.forEach(log::info);
+		Files.createDirectories(REPORT_DIR);
+		Files.write(REPORT_DIR.resolve("report.txt"), report, StandardCharsets.UTF_8);
+		results.forEach((name, runs) -> assertThat(runs).as(name).hasSize(RUNS));
+	}
+
+	private List<Result> runs(IntFunction<List<String>> factory) throws Exception {
+		List<Result> results = new ArrayList<>();
+		for (int run = 0; run < RUNS; run++) {
+			results.add(start(factory));
+		}
+		return results;
+	}
+
+	private Result start(IntFunction<List<String>> factory) throws Exception {
+		int port = freePort();
+		Path output = Files.createTempFile("startup-benchmark", ".log");
+		long started = System.nanoTime();
+		Process process = new ProcessBuilder(factory.apply(port))
+			.redirectErrorStream(true)
+			.redirectOutput(output.toFile())
+			.start();
+		try {
+			String base = "http://localhost:" + port;
+			await(process, output, URI.create(base + "/actuator/health"), started);
+			long ready = System.nanoTime();
+			HttpResponse<Void> docs = client.send(HttpRequest.newBuilder(URI.create(base + "/v3/api-docs")).build(),
+				HttpResponse.BodyHandlers.discarding());
+			assertThat(docs.statusCode()).isEqualTo(200);
+			return new Result((ready - started) / 1_000_000, (System.nanoTime() - ready) / 1_000_000);
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+			Files.deleteIfExists(output);
+		}
+	}
+
+	private void await(Process process, Path output, URI health, long started) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(1)).build();
+		while (System.nanoTime() - started < TIMEOUT.toNanos()) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException("Application exited with " + process.exitValue() + ":\n"
+					+ Files.readString(output));
+			}
+			try {
+				if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+					return;
+				}
+			} catch (ConnectException ex) {
+				// Not listening yet.
+			}
+			Thread.sleep(10);
+		}
+		throw new IllegalStateException("Application not ready after " + TIMEOUT + ":\n" + Files.readString(output));
+	}
+
+	private static List<String> command(int port, String classpath, String profiles) {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-cp");
+		command.add(classpath);
+		command.add(TaskmanagementApplication.class.getName());
+		command.addAll(arguments(port, profiles));
+		return command;
+	}
+
+	private static List<String> aotCommand(int port, Path jar) {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-XX:SharedArchiveFile=" + FAST_STARTUP_DIR.resolve("application.jsa"));
+		command.add("-Dspring.aot.enabled=true");
+		command.add("-jar");
+		command.add(jar.toString());
+		// AOT fixed the profiles at build time; the jar carries no test profile.
+		command.addAll(arguments(port, "fast-startup"));
+		return command;
+	}
+
+	private static List<String> arguments(int port, String profiles) {
+		List<String> arguments = new ArrayList<>();
+		arguments.add("--server.port=" + port);
+		arguments.add("--spring.profiles.active=" + profiles);
+		arguments.add("--spring.devtools.restart.enabled=false");
+		arguments.add("--spring.docker.compose.enabled=false");
+		System.getProperties().stringPropertyNames().stream()
+			.filter(name -> name.startsWith("spring.datasource.") || name.equals("spring.flyway.clean-disabled"))
+			.sorted()
+			.forEach(name -> arguments.add("--" + name + "=" + System.getProperty(name)));
+		return arguments;
+	}
+
+	/**
+	 * Surefire starts tests from a manifest-only jar, so {@code java.class.path} alone would not reach
+	 * the application classes.
+	 */
+	private static String classpath() {
+		return System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+	}
+
+	private static Path fastStartupJar() {
+		if (!Files.isRegularFile(FAST_STARTUP_DIR.resolve("application.jsa"))) {
+			return null;
+		}
+		File[] jars = FAST_STARTUP_DIR.toFile().listFiles((dir, name) -> name.endsWith(".jar"));
+		return jars == null || jars.length == 0 ? null : jars[0].toPath();
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private record Result(long readyMillis, long docsMillis) {
+	}
+}
@@ -0,0 +1,238 @@
+package com.zendoge.taskmanagement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.security.AuthenticatedUser;
+import com.zendoge.taskmanagement.service.TaskChange;
+import com.zendoge.taskmanagement.service.TaskChangeFeed;
+import com.zendoge.taskmanagement.web.dto.TaskResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestUsers.class)
+class TaskChangeFeedTests {
+	@Autowired
+	private TestUsers users;
+
+	private static final Duration WAIT = Duration.ofSeconds(5);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private User admin;
+	private User member;
+
+	@BeforeEach
+	void setUp() {
+		users.reset();
+
+		admin = users.create("feed-admin@example.com", UserRole.ADMIN);
+		member = users.create("feed-member@example.com", UserRole.MEMBER);
+	}
+
+	@Test
+	void changesAreStreamedWithTheTaskListVisibility() throws Exception {
+		MvcResult adminStream = subscribe(admin);
+		MvcResult memberStream = subscribe(member);
+
+		long taskId = objectMapper.readTree(mockMvc.perform(post("/api/tasks")
+				.header("Authorization", "Bearer " + users.tokenFor(admin))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\":\"Streamed\"}"))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString()).get("id").asLong();
+		awaitEvent(adminStream, "created", "\"taskId\":" + taskId);
+
+		update(taskId, Map.of("assigneeId", member.getId()));
+		awaitEvent(adminStream, "updated", "\"assigneeId\":" + member.getId());
+		awaitEvent(memberStream, "updated", "\"taskId\":" + taskId);
+
+		update(taskId, Map.of("title", "Renamed"));
+		awaitEvent(memberStream, "updated", "\"title\":\"Renamed\"");
+
+		update(taskId, Map.of("assigneeId", admin.getId()));
+		awaitEvent(memberStream, "deleted", "\"taskId\":" + taskId);
+
+		mockMvc.perform(delete("/api/tasks/{id}", taskId).header("Authorization", "Bearer " + users.tokenFor(admin)))
+			.andExpect(status().isNoContent());
+		awaitEvent(adminStream, "deleted", "\"taskId\":" + taskId);
+
+		// The member only ever saw the task while it was assigned to them.
+		String memberEvents = memberStream.getResponse().getContentAsString();
+		assertThat(memberEvents).doesNotContain("event:created");
+		assertThat(count(memberEvents, "event:")).isEqualTo(3);
+	}
+
+	@Test
+	void largeBatchesAreAnnouncedAsResync() throws Exception {
+		MvcResult adminStream = subscribe(admin);
+
+		List<Map<String, Object>> operations = new ArrayList<>();
+		for (int i = 0; i < 101; i++) {
+			operations.add(Map.of("action", "CREATE", "title", "Bulk " + i));
+		}
+		mockMvc.perform(post("/api/tasks/batch")
+				.header("Authorization", "Bearer " + users.tokenFor(admin))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(Map.of("operations", operations))))
+			.andExpect(status().isOk());
+
+		awaitEvent(adminStream, "resync", "\"type\":\"RESYNC\"");
+		assertThat(adminStream.getResponse().getContentAsString()).doesNotContain("event:created");
+	}
+
+	@Test
+	void slowSubscribersAreDisconnected() {
+		List<Runnable> pending = new ArrayList<>();
+		Executor stalled = pending::add;
+		TaskChangeFeed feed = new TaskChangeFeed(objectMapper, stalled, 3, Duration.ofMinutes(1), Duration.ofSeconds(10), 10);
+		feed.subscribe(new AuthenticatedUser(admin.getId(), admin.getEmail(), UserRole.ADMIN, null));
+
+		TaskResponse task = new TaskResponse(1L, "Task", null, TaskStatus.TODO, null, admin.getId(), Instant.now(), Instant.now(), 0L);
+		feed.publish(TaskChange.created(task));
+		feed.publish(TaskChange.updated(task, null));
+		assertThat(feed.subscriberCount()).isEqualTo(1);
+		// One drain is scheduled for the subscriber, however many events are waiting.
+		assertThat(pending).hasSize(1);
+
+		feed.publish(TaskChange.updated(task, null));
+		assertThat(feed.subscriberCount()).isZero();
+		assertThat(feed.disconnectedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void subscribersWhoseWriteBlocksAreDisconnected() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		SseEmitter blocked = new SseEmitter() {
+			@Override
+			public void send(Set<DataWithMediaType> items) {
+				// A client that stopped reading: the write neither completes nor gives way to an interrupt.
+				while (release.getCount() > 0) {
+					try {
+						release.await();
+					} catch (InterruptedException ex) {
+						// Keep blocking.
+					}
+				}
+			}
+		};
+		List<Set<DataWithMediaType>> received = new CopyOnWriteArrayList<>();
+		SseEmitter healthy = new SseEmitter() {
+			@Override
+			public void send(Set<DataWithMediaType> items) {
+				received.add(items);
+			}
+		};
+		Queue<SseEmitter> emitters = new ArrayDeque<>(List.of(blocked, healthy));
+		ExecutorService dispatcher = Executors.newFixedThreadPool(1);
+		TaskChangeFeed feed = new TaskChangeFeed(objectMapper, dispatcher, 10, Duration.ofMinutes(1), Duration.ofMillis(50), 10) {
+			@Override
+			protected SseEmitter newEmitter(long timeoutMillis) {
+				return emitters.remove();
+			}
+		};
+		try {
+			feed.subscribe(new AuthenticatedUser(admin.getId(), admin.getEmail(), UserRole.ADMIN, null));
+			feed.subscribe(new AuthenticatedUser(member.getId(), member.getEmail(), UserRole.MEMBER, null));
+			// The only dispatch thread is stuck writing to the first subscriber.
+			Thread.sleep(200);
+			assertThat(received).isEmpty();
+
+			feed.disconnectStalled();
+
+			assertThat(feed.subscriberCount()).isEqualTo(1);
+			assertThat(feed.disconnectedCount()).isEqualTo(1);
+			Instant deadline = Instant.now().plus(WAIT);
+			while (received.isEmpty() && Instant.now().isBefore(deadline)) {
+				Thread.sleep(20);
+			}
+			assertThat(received).as("the connected event of the second subscriber").hasSize(1);
+
+			// Once the stuck write returns, the pool gives the extra thread back.
+			release.countDown();
+			ThreadPoolExecutor pool = (ThreadPoolExecutor) dispatcher;
+			while (pool.getCorePoolSize() > 1 && Instant.now().isBefore(deadline)) {
+				Thread.sleep(20);
+			}
+			assertThat(pool.getCorePoolSize()).isEqualTo(1);
+		} finally {
+			release.countDown();
+			dispatcher.shutdownNow();
+		}
+	}
+
+	private MvcResult subscribe(User user) throws Exception {
+		return mockMvc.perform(get("/api/tasks/stream").header("Authorization", "Bearer " + users.tokenFor(user)))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+	}
+
+	private void update(long taskId, Map<String, Object> body) throws Exception {
+		mockMvc.perform(put("/api/tasks/{id}", taskId)
+				.header("Authorization", "Bearer " + users.tokenFor(admin))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(body)))
+			.andExpect(status().isOk());
+	}
+
+	/**
+	 * Waits until the stream contains an event of the given name whose data contains {@code fragment}.
+	 */
+	private void awaitEvent(MvcResult stream, String name, String fragment) throws Exception {
+		Instant deadline = Instant.now().plus(WAIT);
+		while (Instant.now().isBefore(deadline)) {
+			for (String event : stream.getResponse().getContentAsString().split("\n\n")) {
+				if (event.contains("event:" + name + "\n") && event.contains(fragment)) {
+					return;
+				}
+			}
+			Thread.sleep(20);
+		}
+		throw new AssertionError("No " + name + " event containing " + fragment + " in:\n"
+			+ stream.getResponse().getContentAsString());
+	}
+
+	private static int count(String text, String fragment) {
+		return text.split(fragment, -1).length - 1;
+	}
+}
@@ -0,0 +1,187 @@
+package com.zendoge.taskmanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestUsers.class)
+class TaskChangeSyncTests {
+	@Autowired
+	private TestUsers users;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private User admin;
+	private User member;
+	private User other;
+
+	@BeforeEach
+	void setUp() {
+		users.reset();
+
+		admin = users.create("sync-admin@example.com", UserRole.ADMIN);
+		member = users.create("sync-member@example.com", UserRole.MEMBER);
+		other = users.create("sync-other@example.com", UserRole.MEMBER);
+	}
+
+	@Test
+	void returnsOnlyWritesAndDeletionsAfterTheToken() throws Exception {
+		long untouched = createTask("Untouched", null);
+		JsonNode start = changes(admin, null, null);
+		assertThat(start.get("upserts")).isEmpty();
+
+		long kept = createTask("Kept", null);
+		long removed = createTask("Removed", null);
+		update(kept, Map.of("status", "DOING"));
+		mockMvc.perform(delete("/api/tasks/{id}", removed).header("Authorization", "Bearer " + users.tokenFor(admin)))
+			.andExpect(status().isNoContent());
+
+		JsonNode changes = changes(admin, start.get("next").asText(), null);
+		assertThat(ids(changes.get("upserts"))).containsExactly(kept);
+		assertThat(changes.get("upserts").get(0).get("status").asText()).isEqualTo("DOING");
+		assertThat(changes.get("upserts").get(0).get("version").asLong()).isEqualTo(1);
+		assertThat(ids(changes.get("deletions"))).containsExactly(removed);
+		assertThat(changes.get("hasMore").asBoolean()).isFalse();
+		assertThat(ids(changes.get("upserts"))).doesNotContain(untouched);
+
+		JsonNode idle = changes(admin, changes.get("next").asText(), null);
+		assertThat(idle.get("upserts")).isEmpty();
+		assertThat(idle.get("deletions")).isEmpty();
+	}
+
+	@Test
+	void membersSeeTasksMoveInAndOutOfTheirView() throws Exception {
+		String token = changes(member, null, null).get("next").asText();
+		long mine = createTask("Mine", member.getId());
+		createTask("Theirs", other.getId());
+
+		JsonNode assigned = changes(member, token, null);
+		assertThat(ids(assigned.get("upserts"))).containsExactly(mine);
+		assertThat(assigned.get("deletions")).isEmpty();
+
+		update(mine, Map.of("assigneeId", other.getId()));
+		JsonNode unassigned = changes(member, assigned.get("next").asText(), null);
+		assertThat(unassigned.get("upserts")).isEmpty();
+		assertThat(ids(unassigned.get("deletions"))).containsExactly(mine);
+		// Not a deletion for anyone else.
+		assertThat(changes(admin, assigned.get("next").asText(), null).get("deletions")).isEmpty();
+
+		// Away and back within one sync: the current state wins.
+		update(mine, Map.of("assigneeId", member.getId()));
+		update(mine, Map.of("assigneeId", other.getId()));
+		update(mine, Map.of("assigneeId", member.getId()));
+		JsonNode returned = changes(member, unassigned.get("next").asText(), null);
+		assertThat(ids(returned.get("upserts"))).containsExactly(mine);
+		assertThat(returned.get("deletions")).isEmpty();
+
+		mockMvc.perform(delete("/api/tasks/{id}", mine).header("Authorization", "Bearer " + users.tokenFor(admin)))
+			.andExpect(status().isNoContent());
+		assertThat(ids(changes(member, returned.get("next").asText(), null).get("deletions"))).containsExactly(mine);
+	}
+
+	@Test
+	void pagesThroughChangesInWriteOrder() throws Exception {
+		String token = changes(admin, null, null).get("next").asText();
+		List<Long> created = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			created.add(createTask("Task " + i, null));
+		}
+		update(created.get(0), Map.of("title", "Touched last"));
+
+		List<Long> seen = new ArrayList<>();
+		JsonNode page;
+		int pages = 0;
+		do {
+			page = changes(admin, token, 2);
+			seen.addAll(ids(page.get("upserts")));
+			token = page.get("next").asText();
+			pages++;
+		} while (page.get("hasMore").asBoolean());
+
+		assertThat(pages).isEqualTo(3);
+		assertThat(seen).containsExactly(created.get(1), created.get(2), created.get(3), created.get(4), created.get(0));
+	}
+
+	@Test
+	void rejectsExpiredAndMalformedTokens() throws Exception {
+		Instant expired = Instant.now().minus(Duration.ofDays(31));
+		String raw = expired.getEpochSecond() + ":0:0";
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+		mockMvc.perform(get("/api/tasks/changes").param("since", token).header("Authorization", "Bearer " + users.tokenFor(admin)))
+			.andExpect(status().isGone());
+		mockMvc.perform(get("/api/tasks/changes").param("since", "not-a-token").header("Authorization", "Bearer " + users.tokenFor(admin)))
+			.andExpect(status().isBadRequest());
+	}
+
+	private JsonNode changes(User user, String since, Integer limit) throws Exception {
+		MockHttpServletRequestBuilder request = get("/api/tasks/changes").header("Authorization", "Bearer " + users.tokenFor(user));
+		if (since != null) {
+			request.param("since", since);
+		}
+		if (limit != null) {
+			request.param("limit", String.valueOf(limit));
+		}
+		return objectMapper.readTree(mockMvc.perform(request)
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString());
+	}
+
+	private long createTask(String title, Long assigneeId) throws Exception {
+		Map<String, Object> body = new HashMap<>();
+		body.put("title", title);
+		body.put("assigneeId", assigneeId);
+		return objectMapper.readTree(mockMvc.perform(post("/api/tasks")
+				.header("Authorization", "Bearer " + users.tokenFor(admin))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(body)))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString()).get("id").asLong();
+	}
+
+	private void update(long taskId, Map<String, Object> body) throws Exception {
+		mockMvc.perform(put("/api/tasks/{id}", taskId)
+				.header("Authorization", "Bearer " + users.tokenFor(admin))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(body)))
+			.andExpect(status().isOk());
+	}
+
+	private static List<Long> ids(JsonNode nodes) {
+		List<Long> ids = new ArrayList<>();
+		nodes.forEach(node -> ids.add(node.isNumber() ? node.asLong() : node.get("id").asLong()));
+		return ids;
+	}
+}
@@ -0,0 +1,234 @@
+package com.zendoge.taskmanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.Task;
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.AuditLogRepository;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestUsers.class)
+class TaskConditionalRequestTests {
+	@Autowired
+	private TestUsers users;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private AuditLogRepository auditLogRepository;
+
+	private User admin;
+	private String adminToken;
+	private Task task;
+
+	@BeforeEach
+	void setUp() {
+		users.reset();
+
+		admin = users.create("etag-admin@example.com", UserRole.ADMIN);
+		adminToken = users.tokenFor(admin);
+		task = createTask("Board card", null);
+	}
+
+	@Test
+	void singleTaskRevalidatesAgainstItsVersion() throws Exception {
+		mockMvc.perform(get("/api/tasks/{id}", task.getId()).header("Authorization", "Bearer " + adminToken))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+			.andExpect(jsonPath("$.title").value("Board card"))
+			.andExpect(jsonPath("$.version").value(0));
+
+		MvcResult notModified = mockMvc.perform(get("/api/tasks/{id}", task.getId())
+				.header("Authorization", "Bearer " + adminToken)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+			.andExpect(status().isNotModified())
+			.andReturn();
+		assertThat(notModified.getResponse().getContentAsString()).isEmpty();
+
+		update(task.getId(), "{\"title\":\"Renamed\"}", null)
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+			.andExpect(jsonPath("$.version").value(1));
+
+		mockMvc.perform(get("/api/tasks/{id}", task.getId())
+				.header("Authorization", "Bearer " + adminToken)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+			.andExpect(jsonPath("$.title").value("Renamed"));
+	}
+
+	@Test
+	void memberCannotReadUnassignedTask() throws Exception {
+		User member = users.create("etag-member@example.com", UserRole.MEMBER);
+		Task assigned = createTask("Assigned", member);
+
+		mockMvc.perform(get("/api/tasks/{id}", task.getId()).header("Authorization", "Bearer " + users.tokenFor(member)))
+			.andExpect(status().isForbidden());
+		mockMvc.perform(get("/api/tasks/{id}", assigned.getId()).header("Authorization", "Bearer " + users.tokenFor(member)))
+			.andExpect(status().isOk());
+		mockMvc.perform(get("/api/tasks/{id}", Long.MAX_VALUE).header("Authorization", "Bearer " + adminToken))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void ifMatchRejectsLostUpdates() throws Exception {
+		update(task.getId(), "{\"status\":\"DOING\"}", "\"0\"")
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+		// A second client still editing version 0 must not overwrite the first change.
+		update(task.getId(), "{\"title\":\"Stale edit\"}", "\"0\"")
+			.andExpect(status().isPreconditionFailed());
+		update(task.getId(), "{\"title\":\"Stale edit\"}", "W/\"1\"")
+			.andExpect(status().isPreconditionFailed());
+
+		Task stored = taskRepository.findById(task.getId()).orElseThrow();
+		assertThat(stored.getTitle()).isEqualTo("Board card");
+		assertThat(stored.getStatus()).isEqualTo(TaskStatus.DOING);
+		assertThat(auditLogRepository.findAll()).hasSize(1);
+
+		update(task.getId(), "{\"title\":\"Fresh edit\"}", "\"0\", \"1\"")
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.version").value(2));
+		update(task.getId(), "{\"status\":\"DONE\"}", "*")
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.version").value(3));
+	}
+
+	@Test
+	void staleWritesFailAtFlush() {
+		Task stale = taskRepository.findById(task.getId()).orElseThrow();
+		Task current = taskRepository.findById(task.getId()).orElseThrow();
+		current.setTitle("First");
+		taskRepository.save(current);
+
+		stale.setTitle("Second");
+		assertThatThrownBy(() -> taskRepository.save(stale)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		assertThat(taskRepository.findById(task.getId()).orElseThrow().getTitle()).isEqualTo("First");
+	}
+
+	@Test
+	void listRevalidatesAgainstWatermark() throws Exception {
+		String etag = listETag(adminToken, null);
+		mockMvc.perform(get("/api/tasks")
+				.header("Authorization", "Bearer " + adminToken)
+				.header(HttpHeaders.IF_NONE_MATCH, etag))
+			.andExpect(status().isNotModified());
+		assertThat(listETag(adminToken, "id,title")).isNotEqualTo(etag);
+
+		update(task.getId(), "{\"status\":\"DOING\"}", null).andExpect(status().isOk());
+		String afterUpdate = listETag(adminToken, null);
+		assertThat(afterUpdate).isNotEqualTo(etag);
+
+		Task other = createTask("Another card", null);
+		String afterCreate = listETag(adminToken, null);
+		assertThat(afterCreate).isNotEqualTo(afterUpdate);
+
+		mockMvc.perform(delete("/api/tasks/{id}", other.getId()).header("Authorization", "Bearer " + adminToken))
+			.andExpect(status().isNoContent());
+		assertThat(listETag(adminToken, null)).isNotEqualTo(afterCreate);
+	}
+
+	@Test
+	void memberListTagChangesWhenTasksSwapAssignees() throws Exception {
+		User member = users.create("etag-swap-member@example.com", UserRole.MEMBER);
+		Task leaving = createTask("Leaving", member);
+		leaving.setTitle("Leaving, edited");
+		leaving = taskRepository.save(leaving);
+		Task arriving = createTask("Arriving", admin);
+		createTask("Staying", member);
+		String before = listETag(users.tokenFor(member), null);
+
+		// Count, version sum and highest id of the member's tasks all stay the same; the task that moves
+		// in is the latest update.
+		leaving.setAssignee(admin);
+		taskRepository.save(leaving);
+		arriving.setAssignee(member);
+		taskRepository.save(arriving);
+
+		assertThat(listETag(users.tokenFor(member), null)).isNotEqualTo(before);
+	}
+
+	@Test
+	void batchResultsCarryFlushedVersions() throws Exception {
+		String body = "{\"operations\":[{\"action\":\"UPDATE\",\"id\":" + task.getId() + ",\"status\":\"DOING\"},"
+			+ "{\"action\":\"CREATE\",\"title\":\"Batch card\"}]}";
+		JsonNode response = objectMapper.readTree(mockMvc.perform(post("/api/tasks/batch")
+				.header("Authorization", "Bearer " + adminToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString());
+
+		assertThat(response.get("results").get(0).get("task").get("version").asLong()).isEqualTo(1);
+		assertThat(response.get("results").get(1).get("task").get("version").asLong()).isEqualTo(0);
+		assertThat(response.get("results").get(1).get("id").isNumber()).isTrue();
+	}
+
+	private String listETag(String token, String fields) throws Exception {
+		MockHttpServletRequestBuilder request = get("/api/tasks").header("Authorization", "Bearer " + token);
+		if (fields != null) {
+			request.param("fields", fields);
+		}
+		return mockMvc.perform(request)
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	private ResultActions update(Long id, String body, String ifMatch) throws Exception {
+		MockHttpServletRequestBuilder request = put("/api/tasks/{id}", id)
+			.header("Authorization", "Bearer " + adminToken)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(body);
+		if (ifMatch != null) {
+			request.header(HttpHeaders.IF_MATCH, ifMatch);
+		}
+		return mockMvc.perform(request);
+	}
+
+	private Task createTask(String title, User assignee) {
+		Task created = new Task();
+		created.setTitle(title);
+		created.setStatus(TaskStatus.TODO);
+		created.setCreatedBy(admin);
+		created.setAssignee(assignee);
+		return taskRepository.save(created);
+	}
+}
@@ -0,0 +1,167 @@
+package com.zendoge.taskmanagement;
+
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.web.dto.TaskFilter;
+import com.zendoge.taskmanagement.web.dto.TaskSort;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every combination of task list filters and sorts through {@link TaskRepository#findMatching},
+ * captures the SQL Hibernate sends and checks that PostgreSQL's generic plan for it reads {@code tasks}
+ * through one of its indexes. Sequential scans are disabled while planning, so the test asks whether an
+ * index can serve the query, not whether the planner prefers one for the handful of rows present. With
+ * at most one equality filter, and a creation window only when sorting by creation time, an index also
+ * has to deliver the rows in order: the plan may not sort them again for every page.
+ * Run with {@code mvn test -Ppostgres -Dspring.datasource.url=jdbc:postgresql://...} plus
+ * {@code -Dspring.datasource.driver-class-name=org.postgresql.Driver}, username and password, against a
+ * scratch database, and {@code -Dspring.flyway.clean-disabled=false} to let the schema be recreated.
+ */
+@Tag("postgres")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+	+ "com.zendoge.taskmanagement.TaskFilterIndexPlanTests$RecordingStatementInspector")
+@ActiveProfiles("test")
+@Import(ScratchSchemaConfig.class)
+class TaskFilterIndexPlanTests {
+	private static final List<String> statements = new CopyOnWriteArrayList<>();
+	private static final Instant FROM = Instant.parse("2026-01-01T00:00:00Z");
+	private static final Instant TO = Instant.parse("2026-02-01T00:00:00Z");
+	private static final Pattern SORT_NODE = Pattern.compile("(?m)^\\s*(->\\s*)?(Incremental )?Sort\\b");
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void everyFilterCombinationReadsThroughAnIndex() {
+		String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+			connection.getMetaData().getDatabaseProductName());
+		assertThat(product).as("spring.datasource.url must point at PostgreSQL").isEqualTo("PostgreSQL");
+
+		List<Set<TaskStatus>> statuses = List.of(
+			Set.of(), EnumSet.of(TaskStatus.TODO), EnumSet.of(TaskStatus.TODO, TaskStatus.DOING));
+		int checked = 0;
+		int ordered = 0;
+		for (Set<TaskStatus> status : statuses) {
+			for (int assignee = 0; assignee < 3; assignee++) {
+				for (Long createdBy : new Long[] { null, 1L }) {
+					for (boolean window : new boolean[] { false, true }) {
+						TaskFilter filter = new TaskFilter(
+							status,
+							assignee == 1 ? 1L : null,
+							assignee == 2,
+							createdBy,
+							window ? FROM : null,
+							window ? TO : null
+						);
+						for (TaskSort sort : TaskSort.values()) {
+							for (boolean page : new boolean[] { false, true }) {
+								String sql = capture(filter, sort, page);
+								String plan = plan(sql);
+								String description = String.format("%s %s %s\n%s\n%s",
+									filter, sort, page ? "next page" : "first page", sql, plan);
+								assertThat(plan).as(description).contains("Index").doesNotContain("Seq Scan");
+								if (servedInOrder(filter, sort)) {
+									assertThat(plan).as(description).doesNotContainPattern(SORT_NODE);
+									ordered++;
+								}
+								checked++;
+							}
+						}
+					}
+				}
+			}
+		}
+		assertThat(checked).isEqualTo(3 * 3 * 2 * 2 * TaskSort.values().length * 2);
+		assertThat(ordered).isPositive();
+	}
+
+	/**
+	 * Whether one index matches both the filter and the sort: at most one equality filter, and no range
+	 * on a column other than the sort key.
+	 */
+	private static boolean servedInOrder(TaskFilter filter, TaskSort sort) {
+		if (filter.status().size() > 1) {
+			return false;
+		}
+		int equalities = (filter.status().isEmpty() ? 0 : 1)
+			+ (filter.assigneeId() != null || filter.unassigned() ? 1 : 0)
+			+ (filter.createdBy() != null ? 1 : 0);
+		boolean window = filter.createdFrom() != null;
+		return equalities <= 1 && (!window || sort.attribute().equals("createdAt"));
+	}
+
+	private String capture(TaskFilter filter, TaskSort sort, boolean page) {
+		statements.clear();
+		taskRepository.findMatching(filter, sort, page ? FROM : null, page ? 1L : null, false, 50);
+		// Background jobs share the inspector; keep the task list query.
+		List<String> queries = statements.stream().filter(sql -> sql.contains("from tasks")).toList();
+		assertThat(queries).hasSize(1);
+		return queries.get(0);
+	}
+
+	/**
+	 * Prepares {@code sql} with its JDBC placeholders numbered and explains the generic plan, which does
+	 * not depend on the parameter values.
+	 */
+	private String plan(String sql) {
+		List<String> nulls = new ArrayList<>();
+		StringBuilder numbered = new StringBuilder();
+		for (char c : sql.toCharArray()) {
+			if (c == '?') {
+				nulls.add("null");
+				numbered.append('$').append(nulls.size());
+			} else {
+				numbered.append(c);
+			}
+		}
+		return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("set enable_seqscan = off");
+				statement.execute("set plan_cache_mode = force_generic_plan");
+				statement.execute("prepare task_filter_plan as " + numbered);
+				StringBuilder plan = new StringBuilder();
+				String execute = nulls.isEmpty() ? "" : "(" + String.join(", ", nulls) + ")";
+				try (ResultSet rows = statement.executeQuery("explain execute task_filter_plan" + execute)) {
+					while (rows.next()) {
+						plan.append(rows.getString(1)).append('\n');
+					}
+				} finally {
+					statement.execute("deallocate task_filter_plan");
+					statement.execute("reset plan_cache_mode");
+					statement.execute("reset enable_seqscan");
+				}
+				return plan.toString();
+			}
+		});
+	}
+
+	public static class RecordingStatementInspector implements StatementInspector {
+		@Override
+		public String inspect(String sql) {
+			statements.add(sql);
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package com.zendoge.taskmanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestUsers.class)
+class TaskFilterTests {
+	@Autowired
+	private TestUsers users;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private User admin;
+	private User manager;
+	private User member;
+
+	@BeforeEach
+	void setUp() {
+		users.reset();
+
+		admin = users.create("filter-admin@example.com", UserRole.ADMIN);
+		manager = users.create("filter-manager@example.com", UserRole.MANAGER);
+		member = users.create("filter-member@example.com", UserRole.MEMBER);
+	}
+
+	@Test
+	void combinesFiltersWithAnd() throws Exception {
+		long todoMine = createTask(admin, "Todo for member", member.getId());
+		long doingMine = createTask(manager, "Doing for member", member.getId());
+		long doneMine = createTask(admin, "Done for member", member.getId());
+		long todoUnassigned = createTask(manager, "Unassigned todo", null);
+		long doneAdmin = createTask(admin, "Done for admin", admin.getId());
+		update(doingMine, Map.of("status", "DOING"));
+		update(doneMine, Map.of("status", "DONE"));
+		update(doneAdmin, Map.of("status", "DONE"));
+
+		assertThat(list(admin, Map.of())).containsExactly(todoMine, doingMine, doneMine, todoUnassigned, doneAdmin);
+		assertThat(list(admin, Map.of("status", "TODO,DOING")))
+			.containsExactly(todoMine, doingMine, todoUnassigned);
+		assertThat(list(admin, Map.of("status", "DONE", "assigneeId", member.getId().toString())))
+			.containsExactly(doneMine);
+		assertThat(list(admin, Map.of("unassigned", "true"))).containsExactly(todoUnassigned);
+		assertThat(list(admin, Map.of("createdBy", manager.getId().toString(), "status", "TODO")))
+			.containsExactly(todoUnassigned);
+		assertThat(list(admin, Map.of("createdFrom", Instant.now().plusSeconds(60).toString()))).isEmpty();
+		assertThat(list(admin, Map.of("createdTo", Instant.now().plusSeconds(60).toString(), "sort", "-createdAt")))
+			.containsExactly(doneAdmin, todoUnassigned, doneMine, doingMine, todoMine);
+	}
+
+	@Test
+	void pagesThroughAFilteredSortedList() throws Exception {
+		List<Long> created = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			created.add(createTask(admin, "Assigned " + i, member.getId()));
+			createTask(admin, "Unassigned " + i, null);
+		}
+		// Touch the first task last, so updatedAt order differs from creation order.
+		update(created.get(0), Map.of("title", "Assigned 0, renamed"));
+
+		List<Long> seen = new ArrayList<>();
+		String cursor = null;
+		do {
+			MockHttpServletRequestBuilder request = get("/api/tasks")
+				.param("limit", "2")
+				.param("assigneeId", member.getId().toString())
+				.param("sort", "-updatedAt")
+				.param("fields", "id")
+				.header("Authorization", "Bearer " + users.tokenFor(admin));
+			if (cursor != null) {
+				request.param("cursor", cursor);
+			}
+			JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+			page.get("items").forEach(node -> seen.add(node.get("id").asLong()));
+			cursor = page.get("next").isNull() ? null : page.get("next").asText();
+		} while (cursor != null);
+
+		assertThat(seen).containsExactly(created.get(0), created.get(4), created.get(3), created.get(2), created.get(1));
+	}
+
+	@Test
+	void scopesMembersToTheirOwnTasks() throws Exception {
+		long mine = createTask(admin, "Mine", member.getId());
+		createTask(admin, "Someone else's", admin.getId());
+		createTask(admin, "Nobody's", null);
+
+		assertThat(list(member, Map.of())).containsExactly(mine);
+		assertThat(list(member, Map.of("assigneeId", member.getId().toString()))).containsExactly(mine);
+		mockMvc.perform(get("/api/tasks").param("assigneeId", admin.getId().toString())
+				.header("Authorization", "Bearer " + users.tokenFor(member)))
+			.andExpect(status().isForbidden());
+		mockMvc.perform(get("/api/tasks").param("unassigned", "true")
+				.header("Authorization", "Bearer " + users.tokenFor(member)))
+			.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void rejectsInvalidFiltersAndSorts() throws Exception {
+		String token = "Bearer " + users.tokenFor(admin);
+		mockMvc.perform(get("/api/tasks").param("sort", "title").header("Authorization", token))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/tasks").param("unassigned", "true").param("assigneeId", admin.getId().toString())
+				.header("Authorization", token))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/tasks")
+				.param("createdFrom", "2026-02-01T00:00:00Z")
+				.param("createdTo", "2026-01-01T00:00:00Z")
+				.header("Authorization", token))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void filteredListsHaveTheirOwnETag() throws Exception {
+		createTask(admin, "Tagged", null);
+		String token = "Bearer " + users.tokenFor(admin);
+		String all = mockMvc.perform(get("/api/tasks").header("Authorization", token))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader("ETag");
+		String todo = mockMvc.perform(get("/api/tasks").param("status", "TODO").header("Authorization", token))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader("ETag");
+
+		assertThat(todo).isNotEqualTo(all);
+		mockMvc.perform(get("/api/tasks").param("status", "TODO").header("Authorization", token)
+				.header("If-None-Match", todo))
+			.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/tasks").param("status", "DONE").header("Authorization", token)
+				.header("If-None-Match", todo))
+			.andExpect(status().isOk())
+			.andExpect(header().exists("ETag"));
+	}
+
+	private List<Long> list(User user, Map<String, String> params) throws Exception {
+		MockHttpServletRequestBuilder request = get("/api/tasks")
+			.param("fields", "id")
+			.header("Authorization", "Bearer " + users.tokenFor(user));
+		params.forEach(request::param);
+		JsonNode results = objectMapper.readTree(mockMvc.perform(request)
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString());
+		List<Long> ids = new ArrayList<>();
+		results.forEach(node -> ids.add(node.get("id").asLong()));
+		return ids;
+	}
+
+	private long createTask(User creator, String title, Long assigneeId) throws Exception {
+		Map<String, Object> body = new HashMap<>();
+		body.put("title", title);
+		body.put("assigneeId", assigneeId);
+		return objectMapper.readTree(mockMvc.perform(post("/api/tasks")
+				.header("Authorization", "Bearer " + users.tokenFor(creator))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(body)))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString()).get("id").asLong();
+	}
+
+	private void update(long taskId, Map<String, Object> body) throws Exception {
+		mockMvc.perform(put("/api/tasks/{id}", taskId)
+				.header("Authorization", "Bearer " + users.tokenFor(admin))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(body)))
+			.andExpect(status().isOk());
+	}
+}
@@ -10,22 +10,35 @@ import com.zendoge.taskmanagement.repository.AuditLogRepository;
 import com.zendoge.taskmanagement.repository.TaskRepository;
 import com.zendoge.taskmanagement.repository.UserRepository;
 import com.zendoge.taskmanagement.security.JwtService;
+import com.zendoge.taskmanagement.security.RoleChangeSync;
+import com.zendoge.taskmanagement.service.TaskService;
+import com.zendoge.taskmanagement.service.TaskStatistics;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -60,6 +73,15 @@ class TaskManagementIntegrationTests {
 	@Autowired
 	private ObjectMapper objectMapper;
 
+	@Autowired
+	private TaskStatistics taskStatistics;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private RoleChangeSync roleChangeSync;
+
 	private User adminUser;
 	private User managerUser;
 	private User memberUser;
@@ -92,6 +114,7 @@ class TaskManagementIntegrationTests {
 		openTask.setStatus(TaskStatus.TODO);
 		openTask.setCreatedBy(adminUser);
 		unassignedTask = taskRepository.save(openTask);
+		taskStatistics.invalidate();
 	}
 
 	@Test
@@ -295,6 +318,445 @@ class TaskManagementIntegrationTests {
 		assertThat(root.get(0).get("id").asLong()).isEqualTo(memberTask.getId());
 	}
 
+	@Test
+	void taskListPagesFollowCursorUntilExhausted() throws Exception {
+		String token = tokenFor(managerUser.getEmail());
+
+		JsonNode first = objectMapper.readTree(mockMvc.perform(get("/api/tasks")
+				.param("limit", "1")
+				.header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString());
+		assertThat(first.get("items").size()).isEqualTo(1);
+		assertThat(first.get("items").get(0).get("id").asLong()).isEqualTo(memberTask.getId());
+		assertThat(first.get("next").isNull()).isFalse();
+
+		JsonNode second = objectMapper.readTree(mockMvc.perform(get("/api/tasks")
+				.param("limit", "1")
+				.param("cursor", first.get("next").asText())
+				.header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString());
+		assertThat(second.get("items").size()).isEqualTo(1);
+		assertThat(second.get("items").get(0).get("id").asLong()).isEqualTo(unassignedTask.getId());
+		assertThat(second.get("next").isNull()).isTrue();
+	}
+
+	@Test
+	void taskListPageRejectsBadCursor() throws Exception {
+		String token = tokenFor(managerUser.getEmail());
+
+		mockMvc.perform(get("/api/tasks")
+				.param("limit", "10")
+				.param("cursor", "not-a-cursor")
+				.header("Authorization", "Bearer " + token))
+			.andExpect(status().isBadRequest());
+
+		mockMvc.perform(get("/api/tasks")
+				.param("limit", "0")
+				.header("Authorization", "Bearer " + token))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void memberTaskPageIsFiltered() throws Exception {
+		String token = tokenFor(memberUser.getEmail());
+
+		JsonNode page = objectMapper.readTree(mockMvc.perform(get("/api/tasks")
+				.param("limit", "10")
+				.header("Authorization", "Bearer " + token))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString());
+		assertThat(page.get("items").size()).isEqualTo(1);
+		assertThat(page.get("items").get(0).get("id").asLong()).isEqualTo(memberTask.getId());
+		assertThat(page.get("next").isNull()).isTrue();
+	}
+
+	@Test
+	void taskListStreamsNdjson() throws Exception {
+		String token = tokenFor(adminUser.getEmail());
+
+		MvcResult started = mockMvc.perform(get("/api/tasks")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.header("Authorization", "Bearer " + token))
+			.andReturn();
+		String body = mockMvc.perform(asyncDispatch(started))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		String[] lines = body.trim().split("\n");
+		assertThat(lines).hasSize(2);
+		assertThat(objectMapper.readTree(lines[0]).get("id").asLong()).isEqualTo(memberTask.getId());
+		assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(unassignedTask.getId());
+	}
+
+	@Test
+	void exportRoundTripsThroughImport() throws Exception {
+		String adminToken = tokenFor(adminUser.getEmail());
+
+		MvcResult started = mockMvc.perform(get("/api/tasks/export")
+				.param("gzip", "true")
+				.header("Authorization", "Bearer " + adminToken))
+			.andReturn();
+		byte[] compressed = mockMvc.perform(asyncDispatch(started))
+			.andExpect(status().isOk())
+			.andExpect(header().string("Content-Disposition", containsString("tasks.ndjson.gz")))
+			.andReturn()
+			.getResponse()
+			.getContentAsByteArray();
+		byte[] export;
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+			export = in.readAllBytes();
+		}
+		String[] lines = new String(export, StandardCharsets.UTF_8).trim().split("\n");
+		assertThat(lines).hasSize(2);
+		assertThat(objectMapper.readTree(lines[0]).get("assignee").asText()).isEqualTo(memberUser.getEmail());
+
+		JsonNode result = objectMapper.readTree(mockMvc.perform(post("/api/tasks/import")
+				.header("Authorization", "Bearer " + adminToken)
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.content(export))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString());
+
+		assertThat(result.get("completed").asBoolean()).isTrue();
+		assertThat(result.get("imported").asLong()).isEqualTo(2);
+		assertThat(taskRepository.count()).isEqualTo(4);
+		assertThat(taskRepository.findByAssigneeId(memberUser.getId())).hasSize(2)
+			.allSatisfy(task -> assertThat(task.getTitle()).isEqualTo("Initial Task"));
+		assertThat(auditLogRepository.findAll()).hasSize(2)
+			.allSatisfy(entry -> assertThat(entry.getAction()).isEqualTo("IMPORT"));
+	}
+
+	@Test
+	void importRejectsBadLinesAndResumesFromCheckpoint() throws Exception {
+		String managerToken = tokenFor(managerUser.getEmail());
+		String upload = String.join("\n",
+			"{\"title\":\"One\",\"status\":\"DOING\",\"assignee\":\"" + memberUser.getEmail() + "\"}",
+			"not json",
+			"{\"title\":\"Two\",\"assignee\":\"nobody@example.com\"}",
+			"",
+			"{\"description\":\"untitled\"}",
+			"{\"title\":\"Three\"}"
+		);
+
+		JsonNode result = objectMapper.readTree(mockMvc.perform(post("/api/tasks/import")
+				.param("chunkSize", "2")
+				.header("Authorization", "Bearer " + managerToken)
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.content(upload))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString());
+
+		assertThat(result.get("completed").asBoolean()).isTrue();
+		assertThat(result.get("lines").asLong()).isEqualTo(6);
+		assertThat(result.get("imported").asLong()).isEqualTo(2);
+		assertThat(result.get("rejected").asLong()).isEqualTo(3);
+		assertThat(result.get("checkpoint").asLong()).isEqualTo(6);
+		assertThat(result.get("errors").findValues("line")).extracting(JsonNode::asLong).containsExactly(2L, 3L, 5L);
+		assertThat(taskStatistics.countsFor(memberUser.getId())[TaskStatus.DOING.ordinal()]).isEqualTo(1);
+
+		JsonNode resumed = objectMapper.readTree(mockMvc.perform(post("/api/tasks/import")
+				.param("skip", "5")
+				.header("Authorization", "Bearer " + managerToken)
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.content(upload))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString());
+		assertThat(resumed.get("imported").asLong()).isEqualTo(1);
+		assertThat(taskRepository.count()).isEqualTo(5);
+
+		mockMvc.perform(post("/api/tasks/import")
+				.header("Authorization", "Bearer " + tokenFor(memberUser.getEmail()))
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.content(upload))
+			.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void statsAreScopedByRoleAndTrackWrites() throws Exception {
+		String adminToken = tokenFor(adminUser.getEmail());
+		String memberToken = tokenFor(memberUser.getEmail());
+
+		JsonNode adminStats = readJson(get("/api/tasks/stats").header("Authorization", "Bearer " + adminToken));
+		assertThat(adminStats.get("total").asLong()).isEqualTo(2);
+		assertThat(adminStats.get("byStatus").get("TODO").asLong()).isEqualTo(2);
+		assertThat(adminStats.get("byAssignee").size()).isEqualTo(2);
+		assertThat(adminStats.get("mine").asLong()).isZero();
+
+		JsonNode memberStats = readJson(get("/api/tasks/stats").header("Authorization", "Bearer " + memberToken));
+		assertThat(memberStats.get("total").asLong()).isEqualTo(1);
+		assertThat(memberStats.get("mine").asLong()).isEqualTo(1);
+		assertThat(memberStats.get("byAssignee").get(0).get("assigneeId").asLong()).isEqualTo(memberUser.getId());
+
+		mockMvc.perform(put("/api/tasks/{id}", memberTask.getId())
+				.header("Authorization", "Bearer " + memberToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"DOING\"}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(post("/api/tasks")
+				.header("Authorization", "Bearer " + adminToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\":\"Another\",\"assigneeId\":" + adminUser.getId() + "}"))
+			.andExpect(status().isCreated());
+		mockMvc.perform(delete("/api/tasks/{id}", unassignedTask.getId())
+				.header("Authorization", "Bearer " + adminToken))
+			.andExpect(status().isNoContent());
+
+		adminStats = readJson(get("/api/tasks/stats").header("Authorization", "Bearer " + adminToken));
+		assertThat(adminStats.get("total").asLong()).isEqualTo(2);
+		assertThat(adminStats.get("byStatus").get("TODO").asLong()).isEqualTo(1);
+		assertThat(adminStats.get("byStatus").get("DOING").asLong()).isEqualTo(1);
+		assertThat(adminStats.get("mine").asLong()).isEqualTo(1);
+	}
+
+	@Test
+	void adminBatchReportsEachOperation() throws Exception {
+		String adminToken = tokenFor(adminUser.getEmail());
+		String body = """
+			{"operations":[
+				{"action":"CREATE","title":"Batch A","assigneeId":%d},
+				{"action":"UPDATE","id":%d,"title":"Renamed","status":"DOING"},
+				{"action":"DELETE","id":%d},
+				{"action":"UPDATE","id":999999,"status":"DONE"},
+				{"action":"CREATE","title":"Bad assignee","assigneeId":999999},
+				{"action":"CREATE","description":"No title"}
+			]}
+			""".formatted(memberUser.getId(), unassignedTask.getId(), memberTask.getId());
+
+		JsonNode response = readJson(post("/api/tasks/batch")
+			.header("Authorization", "Bearer " + adminToken)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(body));
+
+		assertThat(response.get("succeeded").asInt()).isEqualTo(3);
+		assertThat(response.get("failed").asInt()).isEqualTo(3);
+		JsonNode results = response.get("results");
+		assertThat(results.get(0).get("status").asInt()).isEqualTo(201);
+		assertThat(results.get(0).get("task").get("assigneeId").asLong()).isEqualTo(memberUser.getId());
+		assertThat(results.get(1).get("task").get("title").asText()).isEqualTo("Renamed");
+		assertThat(results.get(2).get("status").asInt()).isEqualTo(204);
+		assertThat(results.get(3).get("status").asInt()).isEqualTo(404);
+		assertThat(results.get(4).get("status").asInt()).isEqualTo(404);
+		assertThat(results.get(5).get("status").asInt()).isEqualTo(400);
+
+		assertThat(taskRepository.count()).isEqualTo(2);
+		assertThat(taskRepository.findById(memberTask.getId())).isEmpty();
+		assertThat(taskRepository.findById(unassignedTask.getId()).orElseThrow().getStatus()).isEqualTo(TaskStatus.DOING);
+		assertThat(auditLogRepository.count()).isEqualTo(3);
+
+		JsonNode stats = readJson(get("/api/tasks/stats").header("Authorization", "Bearer " + adminToken));
+		assertThat(stats.get("byStatus").get("TODO").asLong()).isEqualTo(1);
+		assertThat(stats.get("byStatus").get("DOING").asLong()).isEqualTo(1);
+	}
+
+	@Test
+	void batchAppliesSingleItemRoleRules() throws Exception {
+		String memberToken = tokenFor(memberUser.getEmail());
+		String body = """
+			{"operations":[
+				{"action":"UPDATE","id":%1$d,"status":"DOING"},
+				{"action":"UPDATE","id":%1$d,"status":"DONE"},
+				{"action":"UPDATE","id":%2$d,"status":"DOING"},
+				{"action":"UPDATE","id":%1$d,"title":"Mine now"},
+				{"action":"CREATE","title":"Not allowed"},
+				{"action":"DELETE","id":%1$d}
+			]}
+			""".formatted(memberTask.getId(), unassignedTask.getId());
+
+		JsonNode response = readJson(post("/api/tasks/batch")
+			.header("Authorization", "Bearer " + memberToken)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(body));
+
+		JsonNode results = response.get("results");
+		assertThat(results.get(0).get("status").asInt()).isEqualTo(200);
+		assertThat(results.get(1).get("status").asInt()).isEqualTo(200);
+		assertThat(results.get(2).get("status").asInt()).isEqualTo(403);
+		assertThat(results.get(3).get("status").asInt()).isEqualTo(403);
+		assertThat(results.get(4).get("status").asInt()).isEqualTo(403);
+		assertThat(results.get(5).get("status").asInt()).isEqualTo(403);
+		Task updated = taskRepository.findById(memberTask.getId()).orElseThrow();
+		assertThat(updated.getStatus()).isEqualTo(TaskStatus.DONE);
+		assertThat(updated.getTitle()).isEqualTo("Initial Task");
+
+		mockMvc.perform(post("/api/tasks/batch")
+				.header("Authorization", "Bearer " + tokenFor(viewerUser.getEmail()))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"operations\":[{\"action\":\"CREATE\",\"title\":\"x\"}]}"))
+			.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void batchCreatesAThousandTasksAndRejectsLargerBatches() throws Exception {
+		String managerToken = tokenFor(managerUser.getEmail());
+		StringBuilder operations = new StringBuilder();
+		for (int i = 0; i < TaskService.MAX_BATCH_SIZE; i++) {
+			operations.append(i == 0 ? "" : ",")
+				.append("{\"action\":\"CREATE\",\"title\":\"Bulk ").append(i).append("\"}");
+		}
+
+		JsonNode response = readJson(post("/api/tasks/batch")
+			.header("Authorization", "Bearer " + managerToken)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"operations\":[" + operations + "]}"));
+
+		assertThat(response.get("succeeded").asInt()).isEqualTo(TaskService.MAX_BATCH_SIZE);
+		assertThat(taskRepository.count()).isEqualTo(TaskService.MAX_BATCH_SIZE + 2);
+		assertThat(auditLogRepository.count()).isEqualTo(TaskService.MAX_BATCH_SIZE);
+
+		mockMvc.perform(post("/api/tasks/batch")
+				.header("Authorization", "Bearer " + managerToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"operations\":[" + operations + ",{\"action\":\"DELETE\",\"id\":1}]}"))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void taskListHonoursSparseFieldsets() throws Exception {
+		String token = tokenFor(managerUser.getEmail());
+
+		JsonNode root = readJson(get("/api/tasks")
+			.param("fields", "id,title,status")
+			.header("Authorization", "Bearer " + token));
+		assertThat(root.size()).isEqualTo(2);
+		assertThat(root.get(0).has("title")).isTrue();
+		assertThat(root.get(0).has("description")).isFalse();
+		assertThat(root.get(0).has("assigneeId")).isFalse();
+
+		JsonNode page = readJson(get("/api/tasks")
+			.param("limit", "1")
+			.param("fields", "id")
+			.header("Authorization", "Bearer " + token));
+		assertThat(page.get("items").get(0).size()).isEqualTo(1);
+		assertThat(page.get("next").isNull()).isFalse();
+
+		mockMvc.perform(get("/api/tasks")
+				.param("fields", "id,secret")
+				.header("Authorization", "Bearer " + token))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void auditListCanSkipPayloads() throws Exception {
+		String memberToken = tokenFor(memberUser.getEmail());
+		mockMvc.perform(put("/api/tasks/{id}", memberTask.getId())
+				.header("Authorization", "Bearer " + memberToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"DOING\"}"))
+			.andExpect(status().isOk());
+
+		JsonNode full = readJson(get("/api/audit").header("Authorization", "Bearer " + tokenFor(adminUser.getEmail())));
+		assertThat(full.get(0).get("newData").asText()).contains("DOING");
+
+		JsonNode sparse = readJson(get("/api/audit/me")
+			.param("fields", "id,action,entityId")
+			.header("Authorization", "Bearer " + memberToken));
+		assertThat(sparse.size()).isEqualTo(1);
+		assertThat(sparse.get(0).get("action").asText()).isEqualTo("UPDATE");
+		assertThat(sparse.get(0).has("oldData")).isFalse();
+		assertThat(sparse.get(0).has("newData")).isFalse();
+	}
+
+	@Test
+	void auditQueryFiltersAndPagesNewestFirst() throws Exception {
+		String adminToken = tokenFor(adminUser.getEmail());
+		for (String title : List.of("First", "Second", "Third")) {
+			mockMvc.perform(put("/api/tasks/{id}", memberTask.getId())
+					.header("Authorization", "Bearer " + adminToken)
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("{\"title\":\"" + title + "\"}"))
+				.andExpect(status().isOk());
+		}
+		mockMvc.perform(put("/api/tasks/{id}", unassignedTask.getId())
+				.header("Authorization", "Bearer " + adminToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\":\"Elsewhere\"}"))
+			.andExpect(status().isOk());
+
+		JsonNode first = readJson(get("/api/audit")
+			.param("entity", "TASK")
+			.param("entityId", String.valueOf(memberTask.getId()))
+			.param("limit", "2")
+			.header("Authorization", "Bearer " + adminToken));
+		assertThat(first.get("items")).hasSize(2);
+		assertThat(first.get("items").get(0).get("newData").asText()).contains("Third");
+		assertThat(first.get("items").get(1).get("newData").asText()).contains("Second");
+
+		JsonNode second = readJson(get("/api/audit")
+			.param("entity", "TASK")
+			.param("entityId", String.valueOf(memberTask.getId()))
+			.param("limit", "2")
+			.param("cursor", first.get("next").asText())
+			.header("Authorization", "Bearer " + adminToken));
+		assertThat(second.get("items")).hasSize(1);
+		assertThat(second.get("items").get(0).get("newData").asText()).contains("First");
+		assertThat(second.get("next").isNull()).isTrue();
+
+		JsonNode window = readJson(get("/api/audit")
+			.param("action", "UPDATE")
+			.param("from", "2000-01-01T00:00:00Z")
+			.param("to", "2000-02-01T00:00:00Z")
+			.param("limit", "10")
+			.header("Authorization", "Bearer " + adminToken));
+		assertThat(window.get("items")).isEmpty();
+
+		mockMvc.perform(get("/api/audit")
+				.param("from", "2000-02-01T00:00:00Z")
+				.param("to", "2000-01-01T00:00:00Z")
+				.param("limit", "10")
+				.header("Authorization", "Bearer " + adminToken))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void auditQueryKeepsNonAdminsToTheirOwnActions() throws Exception {
+		String memberToken = tokenFor(memberUser.getEmail());
+		mockMvc.perform(put("/api/tasks/{id}", memberTask.getId())
+				.header("Authorization", "Bearer " + memberToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"DOING\"}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(put("/api/tasks/{id}", memberTask.getId())
+				.header("Authorization", "Bearer " + tokenFor(adminUser.getEmail()))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\":\"Admin edit\"}"))
+			.andExpect(status().isOk());
+
+		JsonNode mine = readJson(get("/api/audit")
+			.param("entity", "TASK")
+			.param("entityId", String.valueOf(memberTask.getId()))
+			.param("limit", "10")
+			.header("Authorization", "Bearer " + memberToken));
+		assertThat(mine.get("items")).hasSize(1);
+		assertThat(mine.get("items").get(0).get("userId").asLong()).isEqualTo(memberUser.getId());
+
+		mockMvc.perform(get("/api/audit")
+				.param("userId", String.valueOf(adminUser.getId()))
+				.param("limit", "10")
+				.header("Authorization", "Bearer " + memberToken))
+			.andExpect(status().isForbidden());
+		mockMvc.perform(get("/api/audit")
+				.param("limit", "10")
+				.header("Authorization", "Bearer " + tokenFor(viewerUser.getEmail())))
+			.andExpect(status().isForbidden());
+	}
+
 	@Test
 	void auditAccessRulesEnforced() throws Exception {
 		String memberToken = tokenFor(memberUser.getEmail());
@@ -329,6 +791,58 @@ class TaskManagementIntegrationTests {
 		assertThat(updated.getRole()).isEqualTo(UserRole.MANAGER);
 	}
 
+	@Test
+	void legacyTokenWithoutEmbeddedClaimsStillAuthenticates() throws Exception {
+		UserDetails legacy = new org.springframework.security.core.userdetails.User(
+			memberUser.getEmail(), "", List.of()
+		);
+		String token = jwtService.generateToken(legacy);
+
+		JsonNode root = readJson(get("/api/tasks").header("Authorization", "Bearer " + token));
+		assertThat(root.size()).isEqualTo(1);
+		assertThat(root.get(0).get("id").asLong()).isEqualTo(memberTask.getId());
+	}
+
+	@Test
+	void roleChangeAppliesToAlreadyIssuedTokens() throws Exception {
+		String adminToken = tokenFor(adminUser.getEmail());
+		String managerToken = tokenFor(managerUser.getEmail());
+
+		mockMvc.perform(post("/api/tasks")
+				.header("Authorization", "Bearer " + managerToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\":\"Before demotion\"}"))
+			.andExpect(status().isCreated());
+
+		mockMvc.perform(put("/api/users/{id}/role", managerUser.getId())
+				.header("Authorization", "Bearer " + adminToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"role\":\"VIEWER\"}"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(post("/api/tasks")
+				.header("Authorization", "Bearer " + managerToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\":\"After demotion\"}"))
+			.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void roleChangeByAnotherInstanceAppliesAfterSync() throws Exception {
+		String managerToken = tokenFor(managerUser.getEmail());
+
+		// Another instance demotes the manager: the row changes, but this instance's cache and registry do not.
+		jdbcTemplate.update("update users set role = ?, role_changed_at = ? where id = ?",
+			UserRole.VIEWER.name(), Timestamp.from(Instant.now()), managerUser.getId());
+		roleChangeSync.poll();
+
+		mockMvc.perform(post("/api/tasks")
+				.header("Authorization", "Bearer " + managerToken)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\":\"After remote demotion\"}"))
+			.andExpect(status().isForbidden());
+	}
+
 	@Test
 	void onlyAdminCanListUsers() throws Exception {
 		String adminToken = tokenFor(adminUser.getEmail());
@@ -392,6 +906,14 @@ class TaskManagementIntegrationTests {
 		return userRepository.save(user);
 	}
 
+	private JsonNode readJson(RequestBuilder request) throws Exception {
+		return objectMapper.readTree(mockMvc.perform(request)
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString());
+	}
+
 	private String tokenFor(String email) {
 		UserDetails userDetails = userDetailsService.loadUserByUsername(email);
 		return jwtService.generateToken(userDetails);
@@ -0,0 +1,135 @@
+package com.zendoge.taskmanagement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestUsers.class)
+class TaskSearchTests {
+	@Autowired
+	private TestUsers users;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private User admin;
+	private User member;
+
+	@BeforeEach
+	void setUp() {
+		users.reset();
+
+		admin = users.create("search-admin@example.com", UserRole.ADMIN);
+		member = users.create("search-member@example.com", UserRole.MEMBER);
+	}
+
+	@Test
+	void ranksTitleMatchesFirstAndRequiresEveryWord() throws Exception {
+		long inDescription = createTask("Quarterly report", "Mention the invoice backlog", null);
+		long inTitle = createTask("Invoice backlog", "Clear it before Friday", null);
+		createTask("Invoice template", "Unrelated", null);
+
+		assertThat(search(admin, "invoice backlog")).containsExactly(inTitle, inDescription);
+		assertThat(search(admin, "INVOICE, backlog!")).containsExactly(inTitle, inDescription);
+		// The last word matches as a prefix while the user is typing.
+		assertThat(search(admin, "quarterly rep")).containsExactly(inDescription);
+		assertThat(search(admin, "backlog missing")).isEmpty();
+	}
+
+	@Test
+	void followsCreatesUpdatesAndDeletes() throws Exception {
+		long task = createTask("Renew certificate", null, null);
+		assertThat(search(admin, "certificate")).containsExactly(task);
+
+		update(task, Map.of("title", "Rotate signing keys"));
+		assertThat(search(admin, "certificate")).isEmpty();
+		assertThat(search(admin, "signing")).containsExactly(task);
+
+		mockMvc.perform(delete("/api/tasks/{id}", task).header("Authorization", "Bearer " + users.tokenFor(admin)))
+			.andExpect(status().isNoContent());
+		assertThat(search(admin, "signing")).isEmpty();
+	}
+
+	@Test
+	void membersFindOnlyTheirTasks() throws Exception {
+		long mine = createTask("Deploy gateway", null, member.getId());
+		long unassigned = createTask("Deploy dashboard", null, null);
+
+		assertThat(search(member, "deploy")).containsExactly(mine);
+		assertThat(search(admin, "deploy")).containsExactlyInAnyOrder(mine, unassigned);
+
+		update(mine, Map.of("assigneeId", admin.getId()));
+		assertThat(search(member, "deploy")).isEmpty();
+	}
+
+	@Test
+	void validatesTheRequest() throws Exception {
+		mockMvc.perform(get("/api/tasks/search").param("q", " ").header("Authorization", "Bearer " + users.tokenFor(admin)))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/tasks/search").param("q", "x").param("limit", "0")
+				.header("Authorization", "Bearer " + users.tokenFor(admin)))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/tasks/search").param("q", "x"))
+			.andExpect(status().isUnauthorized());
+	}
+
+	private List<Long> search(User user, String query) throws Exception {
+		JsonNode results = objectMapper.readTree(mockMvc.perform(get("/api/tasks/search")
+				.param("q", query)
+				.param("fields", "id")
+				.header("Authorization", "Bearer " + users.tokenFor(user)))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString());
+		List<Long> ids = new ArrayList<>();
+		results.forEach(node -> ids.add(node.get("id").asLong()));
+		return ids;
+	}
+
+	private long createTask(String title, String description, Long assigneeId) throws Exception {
+		Map<String, Object> body = new HashMap<>();
+		body.put("title", title);
+		body.put("description", description);
+		body.put("assigneeId", assigneeId);
+		return objectMapper.readTree(mockMvc.perform(post("/api/tasks")
+				.header("Authorization", "Bearer " + users.tokenFor(admin))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(body)))
+			.andExpect(status().isCreated())
+			.andReturn().getResponse().getContentAsString()).get("id").asLong();
+	}
+
+	private void update(long taskId, Map<String, Object> body) throws Exception {
+		mockMvc.perform(put("/api/tasks/{id}", taskId)
+				.header("Authorization", "Bearer " + users.tokenFor(admin))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(body)))
+			.andExpect(status().isOk());
+	}
+}
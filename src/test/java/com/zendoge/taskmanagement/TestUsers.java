@@ -0,0 +1,66 @@
+package com.zendoge.taskmanagement;
+
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.AuditLogRepository;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.repository.TaskTombstoneRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import com.zendoge.taskmanagement.security.JwtService;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * Users and bearer tokens for MockMvc tests, plus the reset that empties the tables those tests write.
+ * Add it to a test context with {@code @Import(TestUsers.class)}.
+ */
+@TestComponent
+class TestUsers {
+	private final UserRepository userRepository;
+	private final TaskRepository taskRepository;
+	private final TaskTombstoneRepository taskTombstoneRepository;
+	private final AuditLogRepository auditLogRepository;
+	private final JwtService jwtService;
+	private final UserDetailsService userDetailsService;
+
+	TestUsers(
+		UserRepository userRepository,
+		TaskRepository taskRepository,
+		TaskTombstoneRepository taskTombstoneRepository,
+		AuditLogRepository auditLogRepository,
+		JwtService jwtService,
+		UserDetailsService userDetailsService
+	) {
+		this.userRepository = userRepository;
+		this.taskRepository = taskRepository;
+		this.taskTombstoneRepository = taskTombstoneRepository;
+		this.auditLogRepository = auditLogRepository;
+		this.jwtService = jwtService;
+		this.userDetailsService = userDetailsService;
+	}
+
+	/**
+	 * Deletes audit entries, tombstones, tasks and users, in that order for the foreign keys.
+	 */
+	void reset() {
+		auditLogRepository.deleteAll();
+		taskTombstoneRepository.deleteAll();
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	/**
+	 * A user whose password hash matches nothing; sign in with {@link #tokenFor} instead.
+	 */
+	User create(String email, UserRole role) {
+		User user = new User();
+		user.setEmail(email);
+		user.setPasswordHash("x");
+		user.setRole(role);
+		return userRepository.save(user);
+	}
+
+	String tokenFor(User user) {
+		return jwtService.generateToken(userDetailsService.loadUserByUsername(user.getEmail()));
+	}
+}
@@ -0,0 +1,216 @@
+package com.zendoge.taskmanagement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zendoge.taskmanagement.domain.Task;
+import com.zendoge.taskmanagement.domain.TaskStatus;
+import com.zendoge.taskmanagement.domain.User;
+import com.zendoge.taskmanagement.domain.UserRole;
+import com.zendoge.taskmanagement.repository.TaskRepository;
+import com.zendoge.taskmanagement.repository.UserRepository;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares platform and virtual request threads under many concurrent clients: {@code GET /api/tasks}
+ * (JDBC-bound) and {@code POST /api/auth/login} (BCrypt-bound). Each mode gets its own application on a
+ * random port; the virtual run also records {@code jdk.VirtualThreadPinned} events and reports where they
+ * happened. Run with {@code mvn test -Pbenchmark}; pass {@code -Dspring.datasource.url=...} (plus
+ * driver, username and password) to run against a scratch PostgreSQL database, which is recreated; add
+ * {@code -Dspring.flyway.clean-disabled=false} to allow that.
+ */
+@Tag("benchmark")
+class ThreadingBenchmarkTests {
+	private static final Logger log = LoggerFactory.getLogger(ThreadingBenchmarkTests.class);
+	private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+	private static final int LIST_REQUESTS = Integer.getInteger("benchmark.list-requests", 4000);
+	private static final int LOGIN_REQUESTS = Integer.getInteger("benchmark.login-requests", 400);
+	private static final int TASKS = 200;
+	private static final String PASSWORD = "benchmark-password";
+
+	@Test
+	void comparesPlatformAndVirtualThreads() throws Exception {
+		Map<String, Result> results = new LinkedHashMap<>();
+		for (boolean virtual : new boolean[] { false, true }) {
+			results.putAll(run(virtual));
+		}
+
+		log.info(String.format("%-16s %8s %8s %10s %10s %10s", "run", "ok", "503", "req/s", "p50 ms", "p99 ms"));
+		results.forEach((name, result) -> log.info(String.format("%-16s %8d %8d %10.0f %10.1f %10.1f",
+			name, result.ok(), result.busy(), result.throughput(), result.p50Millis(), result.p99Millis())));
+		// Virtual mode may shed load with 503, but nothing may fail otherwise.
+		results.values().forEach(result -> assertThat(result.failed()).isZero());
+	}
+
+	private Map<String, Result> run(boolean virtual) throws Exception {
+		String mode = virtual ? "virtual" : "platform";
+		Map<String, Result> results = new LinkedHashMap<>();
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmanagementApplication.class, ScratchSchemaConfig.class)
+			.profiles("test")
+			.properties(
+				"server.port=0",
+				"spring.jmx.enabled=false",
+				"spring.threads.virtual.enabled=" + virtual,
+				"spring.datasource.url=jdbc:h2:mem:threads-" + mode + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+				// Contexts in one JVM share the JCache manager, so keep them from seeing each other's entities.
+				"spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+			)
+			.run()) {
+			String email = seed(context, mode);
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+			String base = "http://localhost:" + port;
+			String loginBody = "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}";
+			HttpRequest login = HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(loginBody))
+				.build();
+			String token = new ObjectMapper().readTree(client.send(login, HttpResponse.BodyHandlers.ofString()).body())
+				.get("token").asText();
+			HttpRequest list = HttpRequest.newBuilder(URI.create(base + "/api/tasks"))
+				.header("Authorization", "Bearer " + token)
+				.build();
+
+			// Warm-up: JIT, connection pool and client connections.
+			load(client, () -> list, Math.min(LIST_REQUESTS, 500));
+
+			Recording recording = new Recording();
+			recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+			recording.start();
+			results.put(mode + " list", load(client, () -> list, LIST_REQUESTS));
+			results.put(mode + " login", load(client, () -> login, LOGIN_REQUESTS));
+			recording.stop();
+			reportPinning(mode, recording);
+		}
+		return results;
+	}
+
+	private String seed(ConfigurableApplicationContext context, String mode) {
+		UserRepository userRepository = context.getBean(UserRepository.class);
+		TaskRepository taskRepository = context.getBean(TaskRepository.class);
+		User user = new User();
+		user.setEmail("threads-" + mode + "@example.com");
+		user.setPasswordHash(context.getBean(PasswordEncoder.class).encode(PASSWORD));
+		user.setRole(UserRole.ADMIN);
+		user = userRepository.save(user);
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < TASKS; i++) {
+			Task task = new Task();
+			task.setTitle("Task " + i);
+			task.setDescription("Benchmark task " + i);
+			task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+			task.setCreatedBy(user);
+			tasks.add(task);
+		}
+		taskRepository.saveAll(tasks);
+		return user.getEmail();
+	}
+
+	/**
+	 * Sends {@code total} requests from {@link #CONCURRENCY} clients at once and records each latency.
+	 */
+	private Result load(HttpClient client, Supplier<HttpRequest> request, int total) throws Exception {
+		long[] latencies = new long[total];
+		AtomicInteger next = new AtomicInteger();
+		AtomicInteger ok = new AtomicInteger();
+		AtomicInteger busy = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+		long started = System.nanoTime();
+		// Platform threads, so that the clients do not compete with the server for virtual thread carriers.
+		try (ExecutorService clients = Executors.newThreadPerTaskExecutor(Thread.ofPlatform().factory())) {
+			List<Future<?>> workers = new ArrayList<>();
+			for (int worker = 0; worker < CONCURRENCY; worker++) {
+				workers.add(clients.submit(() -> {
+					int index;
+					while ((index = next.getAndIncrement()) < total) {
+						long sent = System.nanoTime();
+						try {
+							int status = client.send(request.get(), HttpResponse.BodyHandlers.discarding()).statusCode();
+							(status == 200 ? ok : status == 503 ? busy : failed).incrementAndGet();
+						} catch (Exception ex) {
+							failed.incrementAndGet();
+						}
+						latencies[index] = System.nanoTime() - sent;
+					}
+					return null;
+				}));
+			}
+			for (Future<?> worker : workers) {
+				worker.get();
+			}
+		}
+		double seconds = (System.nanoTime() - started) / 1e9;
+		Arrays.sort(latencies);
+		return new Result(
+			ok.get(),
+			busy.get(),
+			failed.get(),
+			total / seconds,
+			latencies[total / 2] / 1e6,
+			latencies[(int) (total * 0.99)] / 1e6
+		);
+	}
+
+	private void reportPinning(String mode, Recording recording) throws Exception {
+		Path file = Files.createTempFile("threads-" + mode, ".jfr");
+		try {
+			recording.dump(file);
+			recording.close();
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			Map<String, Integer> sites = new LinkedHashMap<>();
+			for (RecordedEvent event : events) {
+				sites.merge(pinningSite(event), 1, Integer::sum);
+			}
+			log.info("{}: {} pinned virtual thread parks", mode, events.size());
+			sites.forEach((site, count) -> log.info("  {} x {}", count, site));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * The innermost frame outside the JDK, which is usually the code holding the monitor.
+	 */
+	private static String pinningSite(RecordedEvent event) {
+		if (event.getStackTrace() == null) {
+			return "unknown";
+		}
+		for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+			String type = frame.getMethod().getType().getName();
+			if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+				return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+			}
+		}
+		return "jdk";
+	}
+
+	private record Result(int ok, int busy, int failed, double throughput, double p50Millis, double p99Millis) {
+	}
+}